@@ -1,7 +1,9 @@
 package com.zoi4erom.animalnetworkbook;
 
 import com.zoi4erom.animalnetworkbook.aui.AuthenticationAndRegistrationView;
+import com.zoi4erom.animalnetworkbook.businesslogic.ShelterService;
 import com.zoi4erom.animalnetworkbook.persistence.jsonhandler.FileCheckerUtil;
+import com.zoi4erom.animalnetworkbook.persistence.store.Repositories;
 import java.io.IOException;
 
 /**
@@ -18,6 +20,10 @@ public class Main {
 	 * @throws IOException If an I/O error occurs during file and directory initialization.
 	 */
 	public static void main(String[] args) throws IOException {
+		FileCheckerUtil.checkAndCreateDirectoriesAndFiles();
+		Repositories.loadAll();
+		ShelterService.reconcileOccupancy();
+
 		while (true) {
 			System.setProperty("console.encoding", "Cp1251");
 
@@ -10,6 +10,7 @@ import com.zoi4erom.animalnetworkbook.businesslogic.ShelterService;
 import com.zoi4erom.animalnetworkbook.persistence.entity.Animal;
 import com.zoi4erom.animalnetworkbook.persistence.entity.Shelter;
 import com.zoi4erom.animalnetworkbook.persistence.entity.User;
+import com.zoi4erom.animalnetworkbook.persistence.exception.QuerySyntaxException;
 
 import de.codeshelf.consoleui.prompt.builder.ListPromptBuilder;
 import de.codeshelf.consoleui.prompt.builder.PromptBuilder;
@@ -26,6 +27,7 @@ import static java.lang.System.out;
  */
 public class AnimalView implements Renderable {
 
+	private static final int SEARCH_LIMIT = 20;
 	private static User activeUser;
 
 	/**
@@ -49,6 +51,7 @@ public class AnimalView implements Renderable {
 		promptBuilder.createInputPrompt()
 		    .name("animalName")
 		    .message("Введіть імя тварини: ")
+		    .addCompleter(new NameCompleter(AnimalService::completeAnimalNames))
 		    .addPrompt();
 
 		var result = prompt.prompt(promptBuilder.build());
@@ -94,6 +97,25 @@ public class AnimalView implements Renderable {
 		return breedInput.getInput();
 	}
 
+	/**
+	 * Collects an advanced search query from the user through the console prompt.
+	 *
+	 * @return The query entered by the user.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	public static String searchQuery() throws IOException {
+		ConsolePrompt prompt = new ConsolePrompt();
+		PromptBuilder promptBuilder = prompt.getPromptBuilder();
+		promptBuilder.createInputPrompt()
+		    .name("searchQuery")
+		    .message("Введіть запит (напр. species=Кіт and year>=2023 order by name limit 10): ")
+		    .addPrompt();
+
+		var result = prompt.prompt(promptBuilder.build());
+		var queryInput = (InputResult) result.get("searchQuery");
+		return queryInput.getInput();
+	}
+
 	/**
 	 * Collects the age of an animal from the user through the console prompt.
 	 *
@@ -119,69 +141,8 @@ public class AnimalView implements Renderable {
 	 * @throws IOException If an I/O error occurs during the input process.
 	 */
 	public static Shelter selectShelterFromList() throws IOException {
-		List<Shelter> allShelters = ShelterService.getAllShelters();
-
-		if (allShelters.isEmpty()) {
-			System.out.println("Немає доступних притулку.");
-			return null;
-		}
-
-		try {
-			ConsolePrompt prompt = new ConsolePrompt();
-			PromptBuilder promptBuilder = prompt.getPromptBuilder();
-
-			ListPromptBuilder listPromptBuilder = promptBuilder.createListPrompt();
-			listPromptBuilder
-			    .name("shelterList")
-			    .message("Виберіть притулок за номером:");
-
-			for (Shelter shelter : allShelters) {
-				listPromptBuilder.newItem().text(shelter.getName()).add();
-			}
-
-			listPromptBuilder.addPrompt();
-
-			var result = prompt.prompt(promptBuilder.build());
-			ListResult listResult = (ListResult) result.get("shelterList");
-
-			if (listResult != null) {
-				Shelter selectedShelter = getSelectedShelter(allShelters,
-				    listResult.getSelectedId());
-
-				if (selectedShelter != null) {
-					return selectedShelter;
-				} else {
-					System.out.println("Вибір притулку скасовано або виникла помилка.");
-					return null;
-				}
-			} else {
-				System.out.println("Вибір притулку скасовано або виникла помилка.");
-				return null;
-			}
-		}catch (Exception e){
-			out.println(e);
-		}
-		return null;
-	}
-	/**
-	 * Gets the selected shelter based on the given list of shelters and the selected identifier.
-	 *
-	 * @param allShelters List of all available shelters.
-	 * @param selectedId  Selected identifier for the shelter.
-	 * @return Selected shelter or null if not found.
-	 */
-	private static Shelter getSelectedShelter(List<Shelter> allShelters, Object selectedId) {
-		if (selectedId instanceof String) {
-			String selectedShelterName = (String) selectedId;
-			return allShelters.stream()
-			    .filter(shelter -> shelter.getName().equals(selectedShelterName))
-			    .findFirst()
-			    .orElse(null);
-		} else if (selectedId instanceof Shelter) {
-			return (Shelter) selectedId;
-		} else {
-			return null;
-		}
+		return PagedSelector.select("Виберіть притулок:", "Немає доступних притулку.",
+		    "Вибір притулку скасовано або виникла помилка.", ShelterService::getSheltersPage, Shelter::getName);
 	}
 	/**
 	 * Gets a unique identifier for an animal.
@@ -245,13 +206,9 @@ public class AnimalView implements Renderable {
 				case "4":
 					Shelter oldShelter = selectedAnimal.getShelter();
 					Shelter newShelter = selectShelterFromList();
-					if (newShelter != null && !newShelter.equals(oldShelter)) {
-
-						AnimalService.decrementNumbersOfAnimalsInShelter(oldShelter);
-
+					if (newShelter != null && !newShelter.equals(oldShelter)
+					    && ShelterService.getOccupancy(newShelter) < newShelter.getCapacityOfAnimals()) {
 						selectedAnimal.setShelter(newShelter);
-
-						newShelter.setNumbersOfAnimals(newShelter.getNumbersOfAnimals() + 1);
 					} else {
 						System.out.println("Помилка: Новий притулок не обраний або вже заповнений.");
 					}
@@ -276,71 +233,12 @@ public class AnimalView implements Renderable {
 	 * @throws IOException If an I/O error occurs.
 	 */
 	private Animal selectAnimalFromList() throws IOException {
-		List<Animal> allAnimals = AnimalService.getAllAnimals();
-
-		if (allAnimals.isEmpty()) {
-			System.out.println("Немає доступних тварин.");
-			return null;
-		}
-
-		try {
-			ConsolePrompt prompt = new ConsolePrompt();
-			PromptBuilder promptBuilder = prompt.getPromptBuilder();
-
-			ListPromptBuilder listPromptBuilder = promptBuilder.createListPrompt();
-			listPromptBuilder
-			    .name("animalList")
-			    .message("Виберіть тварину за номером:");
-
-			for (Animal animal : allAnimals) {
-				String displayText = String.format("%s(%s-%s, Вік: %d років)", animal.getName(), animal.getSpecies(), animal.getBreed(), animal.getAge());
-				listPromptBuilder.newItem().text(displayText).add();
-			}
-
-			listPromptBuilder.addPrompt();
-
-			var result = prompt.prompt(promptBuilder.build());
-			ListResult listResult = (ListResult) result.get("animalList");
-
-			if (listResult != null) {
-				String selectedAnimalText = listResult.getSelectedId();
-				Animal selectedAnimal = getSelectedAnimal(allAnimals, selectedAnimalText);
-
-				if (selectedAnimal != null) {
-					return selectedAnimal;
-				} else {
-					System.out.println("Вибір тварини скасовано або виникла помилка.");
-					return null;
-				}
-			} else {
-				System.out.println("Вибір тварини скасовано або виникла помилка.");
-				return null;
-			}
-		} catch (Exception e) {
-			out.println(e);
-		}
-		return null;
+		return PagedSelector.select("Виберіть тварину:", "Немає доступних тварин.",
+		    "Вибір тварини скасовано або виникла помилка.", AnimalService::getAnimalsPage,
+		    animal -> String.format("%s(%s-%s, Вік: %d років)", animal.getName(), animal.getSpecies(),
+			  animal.getBreed(), animal.getAge()));
 	}
 
-	/**
-	 * Gets the selected animal based on the given list of animals and the selected text.
-	 *
-	 * @param allAnimals           List of all available animals.
-	 * @param selectedAnimalText  Selected text representing the animal.
-	 * @return Selected animal or null if not found.
-	 */
-	private static Animal getSelectedAnimal(List<Animal> allAnimals, String selectedAnimalText) {
-		if (selectedAnimalText != null) {
-			for (Animal animal : allAnimals) {
-				String displayText = String.format("%s(%s-%s, Вік: %d років)",
-				    animal.getName(), animal.getSpecies(), animal.getBreed(), animal.getAge());
-				if (displayText.equals(selectedAnimalText.trim())) {
-					return animal;
-				}
-			}
-		}
-		return null;
-	}
 	/**
 	 * Processes the selected menu item from the main menu.
 	 *
@@ -350,18 +248,8 @@ public class AnimalView implements Renderable {
 	private void process(AnimalMenu selectedItem) throws IOException {
 		switch (selectedItem) {
 			case VIEW_ALL_ANIMAL -> {
-				List<Animal> animals = AnimalService.getAllAnimals();
-
-				if (animals != null && !animals.isEmpty()) {
-					System.out.print("\033[H\033[2J");
-					out.println("Знайдені тварини: ");
-					for (Animal animal : animals) {
-						out.println(animal);
-					}
-				} else {
-					System.out.print("\033[H\033[2J");
-					out.println("В системі ще немає тварин.");
-				}
+				PagedListing.show("Знайдені тварини", "В системі ще немає тварин.",
+				    AnimalService::getAnimalsPage, Animal::toString);
 				render();
 			}
 			case FIND_ANIMAL -> {
@@ -428,9 +316,12 @@ public class AnimalView implements Renderable {
 		switch (selectedItem) {
 			case FIND_BY_ANIMAL_BY_NAME -> {
 				System.out.print("\033[H\033[2J");
-				Animal animal = AnimalService.findAnimalByName(animalName());
-				if(animal != null){
-					out.println(animal);
+				List<Animal> animals = AnimalService.searchAnimals(animalName(), SEARCH_LIMIT);
+				if(!animals.isEmpty()){
+					out.println("Знайдені тварини: ");
+					for (Animal animal: animals){
+						out.println(animal);
+					}
 				}else{
 					out.println("Тварин по цьому імені не знайдено");
 				}
@@ -492,6 +383,25 @@ public class AnimalView implements Renderable {
 				}
 				renderSearch();
 			}
+			case ADVANCED_SEARCH -> {
+				System.out.print("\033[H\033[2J");
+				String query = searchQuery();
+				try {
+					out.println("План виконання:\n" + AnimalService.explainSearch(query));
+					List<Animal> animals = AnimalService.advancedSearch(query);
+					if (!animals.isEmpty()) {
+						out.println("Знайдені тварини: ");
+						for (Animal animal : animals) {
+							out.println(animal);
+						}
+					} else {
+						out.println("Тварин за цим запитом не знайдено!");
+					}
+				} catch (QuerySyntaxException e) {
+					out.println("Помилка в запиті: " + e.getMessage());
+				}
+				renderSearch();
+			}
 			case BACK -> {
 				System.out.print("\033[H\033[2J");
 				render();
@@ -560,6 +470,8 @@ public class AnimalView implements Renderable {
 		    .add()
 		    .newItem(FIND_BY_SHELTER.toString()).text(FIND_BY_SHELTER.getName())
 		    .add()
+		    .newItem(ADVANCED_SEARCH.toString()).text(ADVANCED_SEARCH.getName())
+		    .add()
 		    .newItem(BACK.toString()).text(BACK.getName()).add()
 		    .addPrompt();
 
@@ -586,7 +498,8 @@ public class AnimalView implements Renderable {
 		FIND_BY_SPECIES("Пошук за видом тварини"),
 		FIND_BY_BREED("Пошук за породою"),
 		FIND_BY_AGE("Пошук за роками"),
-		FIND_BY_SHELTER("Пошук за притулком");
+		FIND_BY_SHELTER("Пошук за притулком"),
+		ADVANCED_SEARCH("Розширений пошук");
 
 		/**
 		 * The display name of the menu option.
@@ -0,0 +1,41 @@
+package com.zoi4erom.animalnetworkbook.aui;
+
+import java.util.List;
+import java.util.function.BiFunction;
+import jline.console.completer.Completer;
+
+/**
+ * The NameCompleter class completes the name typed at a console prompt with the names known to the
+ * system, when the user presses Tab.
+ */
+public class NameCompleter implements Completer {
+
+	private static final int COMPLETION_LIMIT = 30;
+
+	private final BiFunction<String, Integer, List<String>> names;
+
+	/**
+	 * Constructor for the NameCompleter class.
+	 *
+	 * @param names The function returning at most the given number of names starting with a prefix.
+	 */
+	public NameCompleter(BiFunction<String, Integer, List<String>> names) {
+		this.names = names;
+	}
+
+	/**
+	 * Completes the text before the cursor with the names starting with it. The whole text is
+	 * replaced, so names made of several words are completed as one.
+	 *
+	 * @param buffer     The text typed so far.
+	 * @param cursor     The position of the cursor in the text.
+	 * @param candidates The list to add the completions to.
+	 * @return The position the completions start at, or -1 if there are none.
+	 */
+	@Override
+	public int complete(String buffer, int cursor, List<CharSequence> candidates) {
+		String prefix = buffer == null ? "" : buffer.substring(0, cursor);
+		candidates.addAll(names.apply(prefix, COMPLETION_LIMIT));
+		return candidates.isEmpty() ? -1 : 0;
+	}
+}
@@ -0,0 +1,99 @@
+package com.zoi4erom.animalnetworkbook.aui;
+
+import com.zoi4erom.animalnetworkbook.persistence.store.Page;
+import de.codeshelf.consoleui.prompt.ConsolePrompt;
+import de.codeshelf.consoleui.prompt.ListResult;
+import de.codeshelf.consoleui.prompt.builder.ListPromptBuilder;
+import de.codeshelf.consoleui.prompt.builder.PromptBuilder;
+import java.io.IOException;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import static java.lang.System.out;
+
+/**
+ * The PagedListing class displays a listing one page at a time, letting the user move to the next
+ * and previous pages, so that only the page on screen is read from the system.
+ */
+public final class PagedListing {
+
+	private static final int PAGE_SIZE = 20;
+	private static final String NEXT = "NEXT";
+	private static final String PREVIOUS = "PREVIOUS";
+	private static final String BACK = "BACK";
+
+	private PagedListing() {
+	}
+
+	/**
+	 * Displays a listing page by page until the user goes back.
+	 *
+	 * @param title        The title printed above every page.
+	 * @param emptyMessage The message printed if there is nothing to list.
+	 * @param pages        The function returning the page at a cursor, with at most the given number of
+	 *                     items.
+	 * @param format       The function formatting an item as a line of the listing.
+	 * @param <T>          The type of items.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	public static <T> void show(String title, String emptyMessage,
+	    BiFunction<String, Integer, Page<T>> pages, Function<T, String> format) throws IOException {
+		String cursor = null;
+		int number = 1;
+		while (true) {
+			Page<T> page = pages.apply(cursor, PAGE_SIZE);
+			System.out.print("\033[H\033[2J");
+			if (page.items().isEmpty() && !page.hasNext() && !page.hasPrevious()) {
+				out.println(emptyMessage);
+				return;
+			}
+			out.println(title + " (сторінка " + number + "):");
+			for (T item : page.items()) {
+				out.println(format.apply(item));
+			}
+			if (!page.hasNext() && !page.hasPrevious()) {
+				return;
+			}
+			switch (navigate(page)) {
+				case NEXT -> {
+					cursor = page.next();
+					number++;
+				}
+				case PREVIOUS -> {
+					cursor = page.previous();
+					number = Math.max(1, number - 1);
+				}
+				default -> {
+					return;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Asks the user where to go from a page.
+	 *
+	 * @param page The page on screen.
+	 * @return The identifier of the selected item: NEXT, PREVIOUS or BACK.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	private static String navigate(Page<?> page) throws IOException {
+		ConsolePrompt prompt = new ConsolePrompt();
+		PromptBuilder promptBuilder = prompt.getPromptBuilder();
+
+		ListPromptBuilder listPromptBuilder = promptBuilder.createListPrompt()
+		    .name("page-menu")
+		    .message("Навігація");
+		if (page.hasNext()) {
+			listPromptBuilder.newItem(NEXT).text("Наступна сторінка").add();
+		}
+		if (page.hasPrevious()) {
+			listPromptBuilder.newItem(PREVIOUS).text("Попередня сторінка").add();
+		}
+		listPromptBuilder.newItem(BACK).text("Повернутись назад").add();
+		listPromptBuilder.addPrompt();
+
+		var result = prompt.prompt(promptBuilder.build());
+		return ((ListResult) result.get("page-menu")).getSelectedId();
+	}
+}
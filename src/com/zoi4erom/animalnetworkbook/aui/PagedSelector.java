@@ -0,0 +1,147 @@
+package com.zoi4erom.animalnetworkbook.aui;
+
+import com.zoi4erom.animalnetworkbook.persistence.entity.Entity;
+import com.zoi4erom.animalnetworkbook.persistence.store.Page;
+import de.codeshelf.consoleui.prompt.ConsolePrompt;
+import de.codeshelf.consoleui.prompt.InputResult;
+import de.codeshelf.consoleui.prompt.ListResult;
+import de.codeshelf.consoleui.prompt.builder.ListPromptBuilder;
+import de.codeshelf.consoleui.prompt.builder.PromptBuilder;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import static java.lang.System.out;
+
+/**
+ * The PagedSelector class lets the user pick an entity from a list shown one page at a time. Only the
+ * page on screen is fetched from the system, the list can be narrowed to the names starting with a
+ * typed prefix, and the selection is resolved by the identifier of the entity.
+ */
+public final class PagedSelector {
+
+	private static final int PAGE_SIZE = 15;
+	private static final String NEXT = "NEXT";
+	private static final String PREVIOUS = "PREVIOUS";
+	private static final String FILTER = "FILTER";
+	private static final String CANCEL = "CANCEL";
+
+	private PagedSelector() {
+	}
+
+	/**
+	 * The source of the pages to select from.
+	 *
+	 * @param <T> The type of entities.
+	 */
+	@FunctionalInterface
+	public interface Source<T> {
+
+		/**
+		 * Gets a page of the entities whose name starts with a prefix.
+		 *
+		 * @param namePrefix The beginning of the names, or null for all entities.
+		 * @param cursor     The cursor of the page, or null for the first page.
+		 * @param limit      The maximal number of entities on the page.
+		 * @return The page of entities.
+		 */
+		Page<T> page(String namePrefix, String cursor, int limit);
+	}
+
+	/**
+	 * Lets the user select an entity, moving between pages and filtering by name until an entity is
+	 * picked or the selection is cancelled.
+	 *
+	 * @param message       The message of the prompt.
+	 * @param emptyMessage  The message printed if there is nothing to select from.
+	 * @param cancelMessage The message printed if the user cancels the selection.
+	 * @param source        The source of the pages.
+	 * @param format        The function formatting an entity as an item of the list.
+	 * @param <T>           The type of entities.
+	 * @return The selected entity, or null if there is nothing to select from or the selection is
+	 *     cancelled.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	public static <T extends Entity> T select(String message, String emptyMessage, String cancelMessage,
+	    Source<T> source, Function<T, String> format) throws IOException {
+		String filter = null;
+		String cursor = null;
+		int number = 1;
+		while (true) {
+			Page<T> page = source.page(filter, cursor, PAGE_SIZE);
+			if (filter == null && page.items().isEmpty() && !page.hasNext() && !page.hasPrevious()) {
+				out.println(emptyMessage);
+				return null;
+			}
+
+			ConsolePrompt prompt = new ConsolePrompt();
+			PromptBuilder promptBuilder = prompt.getPromptBuilder();
+
+			ListPromptBuilder listPromptBuilder = promptBuilder.createListPrompt()
+			    .name("entityList")
+			    .message(message + " (сторінка " + number + (filter == null ? "" : ", фільтр: " + filter) + ")");
+			Map<String, T> entitiesById = new HashMap<>();
+			for (T entity : page.items()) {
+				entitiesById.put(entity.getId().toString(), entity);
+				listPromptBuilder.newItem(entity.getId().toString()).text(format.apply(entity)).add();
+			}
+			if (page.hasNext()) {
+				listPromptBuilder.newItem(NEXT).text("» Наступна сторінка").add();
+			}
+			if (page.hasPrevious()) {
+				listPromptBuilder.newItem(PREVIOUS).text("« Попередня сторінка").add();
+			}
+			listPromptBuilder.newItem(FILTER).text("Фільтр за назвою").add();
+			listPromptBuilder.newItem(CANCEL).text("Скасувати").add();
+			listPromptBuilder.addPrompt();
+
+			var result = prompt.prompt(promptBuilder.build());
+			ListResult listResult = (ListResult) result.get("entityList");
+			String selectedId = listResult == null ? CANCEL : listResult.getSelectedId();
+
+			switch (selectedId) {
+				case NEXT -> {
+					cursor = page.next();
+					number++;
+				}
+				case PREVIOUS -> {
+					cursor = page.previous();
+					number = Math.max(1, number - 1);
+				}
+				case FILTER -> {
+					filter = namePrefix();
+					cursor = null;
+					number = 1;
+				}
+				case CANCEL -> {
+					out.println(cancelMessage);
+					return null;
+				}
+				default -> {
+					return entitiesById.get(selectedId);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Collects the prefix to filter names by.
+	 *
+	 * @return The prefix, or null to show all entities.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	private static String namePrefix() throws IOException {
+		ConsolePrompt prompt = new ConsolePrompt();
+		PromptBuilder promptBuilder = prompt.getPromptBuilder();
+
+		promptBuilder.createInputPrompt()
+		    .name("namePrefix")
+		    .message("Введіть початок назви (порожньо - усі): ")
+		    .addPrompt();
+
+		var result = prompt.prompt(promptBuilder.build());
+		String input = ((InputResult) result.get("namePrefix")).getInput();
+		return input == null || input.isBlank() ? null : input.trim();
+	}
+}
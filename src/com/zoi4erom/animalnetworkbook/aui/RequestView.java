@@ -67,46 +67,9 @@ public class RequestView implements Renderable{
 	 * @throws IOException If an I/O error occurs.
 	 */
 	public static Animal selectAnimalFromList() throws IOException {
-		List<Animal> allAnimals = AnimalService.getAllAnimals();
-
-		if (allAnimals.isEmpty()) {
-			System.out.println("Немає доступних тварин.");
-			return null;
-		}
-
-		try {
-			ConsolePrompt prompt = new ConsolePrompt();
-			PromptBuilder promptBuilder = prompt.getPromptBuilder();
-
-			ListPromptBuilder listPromptBuilder = promptBuilder.createListPrompt();
-			listPromptBuilder
-			    .name("animalList")
-			    .message("Виберіть тварину:");
-
-			for (Animal animal : allAnimals) {
-				String displayText = String.format("%s(%s-%s)", animal.getName(), animal.getSpecies(), animal.getBreed());
-				listPromptBuilder.newItem().text(displayText).add();
-			}
-
-			listPromptBuilder.addPrompt();
-
-			var result = prompt.prompt(promptBuilder.build());
-			ListResult listResult = (ListResult) result.get("animalList");
-
-			if (listResult != null) {
-				String selectedAnimalText = listResult.getSelectedId();
-				Animal selectedAnimal = getSelectedAnimal(allAnimals, selectedAnimalText);
-
-				if (selectedAnimal != null) {
-					return selectedAnimal;
-				}
-			}
-		} catch (Exception e) {
-			System.out.println(e);
-		}
-
-		System.out.println("Вибір тварини скасовано або виникла помилка.");
-		return null;
+		return PagedSelector.select("Виберіть тварину:", "Немає доступних тварин.",
+		    "Вибір тварини скасовано або виникла помилка.", AnimalService::getAnimalsPage,
+		    animal -> String.format("%s(%s-%s)", animal.getName(), animal.getSpecies(), animal.getBreed()));
 	}
 	/**
 	 * Renders the main menu for request management, allowing users to perform various operations.
@@ -114,24 +77,6 @@ public class RequestView implements Renderable{
 	 *
 	 * @throws IOException If an I/O error occurs.
 	 */
-	/**
-	 * Retrieves the selected animal from the provided list of animals based on the formatted text.
-	 *
-	 * @param allAnimals        The list of all available animals.
-	 * @param selectedAnimalText The formatted text representing the selected animal.
-	 * @return The selected animal, or null if not found.
-	 */
-	private static Animal getSelectedAnimal(List<Animal> allAnimals, String selectedAnimalText) {
-		String[] parts = selectedAnimalText.split("\\(");
-		if (parts.length > 0) {
-			String selectedAnimalName = parts[0].trim();
-			return allAnimals.stream()
-			    .filter(animal -> animal.getName().equals(selectedAnimalName))
-			    .findFirst()
-			    .orElse(null);
-		}
-		return null;
-	}
 	/**
 	 * Allows the user to select a request from the list of all available requests.
 	 *
@@ -139,58 +84,8 @@ public class RequestView implements Renderable{
 	 * @throws IOException If an I/O error occurs during user interaction.
 	 */
 	private Request selectRequestFromList() throws IOException {
-		List<Request> allRequests = RequestService.getAllRequests();
-
-		if (allRequests.isEmpty()) {
-			System.out.println("Немає доступних запитів.");
-			return null;
-		}
-
-		try {
-			ConsolePrompt prompt = new ConsolePrompt();
-			PromptBuilder promptBuilder = prompt.getPromptBuilder();
-
-			ListPromptBuilder listPromptBuilder = promptBuilder.createListPrompt();
-			listPromptBuilder
-			    .name("requestList")
-			    .message("Виберіть запит за номером:");
-
-			for (Request request : allRequests) {
-				out.println("");
-				listPromptBuilder.newItem().text(request.toString()).add();
-			}
-
-			listPromptBuilder.addPrompt();
-
-			var result = prompt.prompt(promptBuilder.build());
-			ListResult listResult = (ListResult) result.get("requestList");
-
-			if (listResult != null) {
-				String selectedRequestText = listResult.getSelectedId();
-				return getSelectedRequest(allRequests, selectedRequestText);
-			} else {
-				System.out.println("Вибір запиту скасовано або виникла помилка.");
-				return null;
-			}
-		} catch (Exception e) {
-			out.println(e);
-		}
-		return null;
-	}
-	/**
-	 * Retrieves the selected request from the provided list of requests based on the formatted text.
-	 *
-	 * @param allRequests          The list of all available requests.
-	 * @param selectedRequestText The formatted text representing the selected request.
-	 * @return The selected request, or null if not found.
-	 */
-	private static Request getSelectedRequest(List<Request> allRequests, String selectedRequestText) {
-		for (Request request : allRequests) {
-			if (request.toString().equals(selectedRequestText)) {
-				return request;
-			}
-		}
-		return null;
+		return PagedSelector.select("Виберіть запит:", "Немає доступних запитів.",
+		    "Вибір запиту скасовано або виникла помилка.", RequestService::getRequestsPage, Request::toString);
 	}
 	/**
 	 * Allows the user to edit a selected request by providing options for different modifications.
@@ -269,68 +164,8 @@ public class RequestView implements Renderable{
 	 * @throws IOException If an I/O error occurs during user interaction.
 	 */
 	public static User selectUserFromList() throws IOException {
-		List<User> allUsers = UserService.getAllUsers();
-
-		if (allUsers.isEmpty()) {
-			System.out.println("Немає доступних користувачів.");
-			return null;
-		}
-
-		try {
-			ConsolePrompt prompt = new ConsolePrompt();
-			PromptBuilder promptBuilder = prompt.getPromptBuilder();
-
-			ListPromptBuilder listPromptBuilder = promptBuilder.createListPrompt();
-			listPromptBuilder
-			    .name("userList")
-			    .message("Виберіть користувача за номером:");
-
-			for (User user : allUsers) {
-				listPromptBuilder.newItem().text(user.getFullName()).add();
-			}
-
-			listPromptBuilder.addPrompt();
-
-			var result = prompt.prompt(promptBuilder.build());
-			ListResult listResult = (ListResult) result.get("userList");
-
-			if (listResult != null) {
-				User selectedUser = getSelectedUser(allUsers, listResult.getSelectedId());
-
-				if (selectedUser != null) {
-					return selectedUser;
-				} else {
-					System.out.println("Вибір користувача скасовано або виникла помилка.");
-					return null;
-				}
-			} else {
-				System.out.println("Вибір користувача скасовано або виникла помилка.");
-				return null;
-			}
-		} catch (Exception e) {
-			out.println(e);
-		}
-		return null;
-	}
-	/**
-	 * Retrieves the selected user from the provided list of users based on the selected identifier.
-	 *
-	 * @param allUsers    The list of all available users.
-	 * @param selectedId The selected identifier, which can be either a username (String) or a User object.
-	 * @return The selected user, or null if not found.
-	 */
-	private static User getSelectedUser(List<User> allUsers, Object selectedId) {
-		if (selectedId instanceof String) {
-			String selectedUserName = (String) selectedId;
-			return allUsers.stream()
-			    .filter(user -> user.getFullName().equals(selectedUserName))
-			    .findFirst()
-			    .orElse(null);
-		} else if (selectedId instanceof User) {
-			return (User) selectedId;
-		} else {
-			return null;
-		}
+		return PagedSelector.select("Виберіть користувача:", "Немає доступних користувачів.",
+		    "Вибір користувача скасовано або виникла помилка.", UserService::getUsersPage, User::getFullName);
 	}
 	/**
 	 * Prompts the user to select a request status from a list of options.
@@ -370,16 +205,8 @@ public class RequestView implements Renderable{
 	private void process(RequestMenu selectedItem) throws IOException {
 		switch (selectedItem) {
 			case VIEW_ALL_REQUEST -> {
-				List<Request> requests = RequestService.getAllRequests();
-				if(!requests.isEmpty()){
-					System.out.print("\033[H\033[2J");
-					out.println("Знайдені запити: ");
-					for (Request request: requests){
-						out.println("-" + request);
-					}
-				}else{
-					out.println("В системі не знайдено запитів!");
-				}
+				PagedListing.show("Знайдені запити", "В системі не знайдено запитів!",
+				    RequestService::getRequestsPage, request -> "-" + request);
 				render();
 			}
 			case ADD_REQUEST -> {
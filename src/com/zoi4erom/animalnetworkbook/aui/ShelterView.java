@@ -50,6 +50,7 @@ public class ShelterView implements Renderable{
 		promptBuilder.createInputPrompt()
 		    .name("shelterName")
 		    .message("Впишіть назву притулку: ")
+		    .addCompleter(new NameCompleter(ShelterService::completeShelterNames))
 		    .addPrompt();
 
 		var result = prompt.prompt(promptBuilder.build());
@@ -157,58 +158,8 @@ public class ShelterView implements Renderable{
 	 * @throws IOException If an I/O error occurs.
 	 */
 	public static Shelter selectShelterFromList() throws IOException {
-		List<Shelter> allShelters = ShelterService.getAllShelters();
-
-		if (allShelters.isEmpty()) {
-			System.out.println("Немає доступних притулку.");
-			return null;
-		}
-
-		try {
-			ConsolePrompt prompt = new ConsolePrompt();
-			PromptBuilder promptBuilder = prompt.getPromptBuilder();
-
-			ListPromptBuilder listPromptBuilder = promptBuilder.createListPrompt();
-			listPromptBuilder
-			    .name("shelterList")
-			    .message("Виберіть притулок:");
-
-			for (Shelter shelter : allShelters) {
-				listPromptBuilder.newItem().text(shelter.getName()).add();
-			}
-
-			listPromptBuilder.addPrompt();
-
-			var result = prompt.prompt(promptBuilder.build());
-			ListResult listResult = (ListResult) result.get("shelterList");
-
-			if (listResult != null) {
-				return getSelectedShelter(allShelters, listResult.getSelectedId());
-			} else {
-				System.out.println("Вибір притулку скасовано або виникла помилка.");
-				return null;
-			}
-		} catch (Exception e) {
-			e.printStackTrace();
-		}
-		return null;
-	}
-	/**
-	 * Gets the selected shelter from the list of shelters based on the selectedId.
-	 *
-	 * @param allShelters The list of all shelters.
-	 * @param selectedId  The selected identifier (shelter name in this case).
-	 * @return The selected shelter, or null if not found.
-	 */
-	private static Shelter getSelectedShelter(List<Shelter> allShelters, Object selectedId) {
-		if (selectedId instanceof String) {
-			String selectedShelterName = (String) selectedId;
-			return allShelters.stream()
-			    .filter(shelter -> shelter.getName().equals(selectedShelterName))
-			    .findFirst()
-			    .orElse(null);
-		}
-		return null;
+		return PagedSelector.select("Виберіть притулок:", "Немає доступних притулку.",
+		    "Вибір притулку скасовано або виникла помилка.", ShelterService::getSheltersPage, Shelter::getName);
 	}
 	/**
 	 * Allows the user to edit the properties of a selected shelter interactively.
@@ -273,17 +224,8 @@ public class ShelterView implements Renderable{
 	private void process(ShelterMenu selectedItem) throws IOException {
 		switch (selectedItem) {
 			case VIEW_ALL_SHELTER -> {
-				System.out.print("\033[H\033[2J");
-				List<Shelter> shelters = ShelterService.getAllShelters();
-				if(!shelters.isEmpty()){
-					System.out.print("\033[H\033[2J");
-					out.println("Знайдені притулки: ");
-					for (Shelter shelter: shelters){
-						out.println("-" + shelter);
-					}
-				}else{
-					out.println("В системі не знайдено притулку!");
-				}
+				PagedListing.show("Знайдені притулки", "В системі не знайдено притулку!",
+				    ShelterService::getSheltersPage, shelter -> "-" + shelter);
 				render();
 			}
 			case FIND_SHELTER -> {
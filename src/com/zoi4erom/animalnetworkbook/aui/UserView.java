@@ -41,6 +41,7 @@ public class UserView implements Renderable{
 		promptBuilder.createInputPrompt()
 		    .name("userName")
 		    .message("Введіть ім'я користувача: ")
+		    .addCompleter(new NameCompleter(UserService::completeUserNames))
 		    .addPrompt();
 
 		var result = prompt.prompt(promptBuilder.build());
@@ -163,16 +164,8 @@ public class UserView implements Renderable{
 	private void process(UserMenu selectedItem) throws IOException {
 		switch (selectedItem) {
 			case VIEW_ALL_USER -> {
-				System.out.print("\033[H\033[2J");
-				List<User> users = UserService.getAllUsers();
-				if(!users.isEmpty()){
-					out.println("Знайдені користувачі: ");
-					for (User user: users){
-						out.println(user);
-					}
-				}else {
-					out.println("Юзерів не знайдено!");
-				}
+				PagedListing.show("Знайдені користувачі", "Юзерів не знайдено!",
+				    UserService::getUsersPage, User::toString);
 				render();
 			}
 			case FIND_USER_BY_NAME -> {
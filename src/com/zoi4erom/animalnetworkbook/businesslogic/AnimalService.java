@@ -1,26 +1,33 @@
 package com.zoi4erom.animalnetworkbook.businesslogic;
 
-import static com.zoi4erom.animalnetworkbook.businesslogic.ShelterService.shelters;
-
 import com.zoi4erom.animalnetworkbook.businesslogic.exception.ExceptionTemplate;
 import com.zoi4erom.animalnetworkbook.persistence.entity.Animal;
 import com.zoi4erom.animalnetworkbook.persistence.entity.Shelter;
-import com.zoi4erom.animalnetworkbook.persistence.jsonhandler.JsonConverter;
+import com.zoi4erom.animalnetworkbook.persistence.exception.QuerySyntaxException;
 import com.zoi4erom.animalnetworkbook.persistence.jsonhandler.JsonPaths;
+import com.zoi4erom.animalnetworkbook.persistence.query.Query;
+import com.zoi4erom.animalnetworkbook.persistence.query.Schemas;
+import com.zoi4erom.animalnetworkbook.persistence.store.AnimalAttribute;
+import com.zoi4erom.animalnetworkbook.persistence.store.BitmapIndex;
+import com.zoi4erom.animalnetworkbook.persistence.store.Indexes;
+import com.zoi4erom.animalnetworkbook.persistence.store.Page;
+import com.zoi4erom.animalnetworkbook.persistence.store.Repositories;
+import com.zoi4erom.animalnetworkbook.persistence.store.Repository;
+import com.zoi4erom.animalnetworkbook.persistence.store.Transaction;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 /**
  * The {@code AnimalService} class provides business logic for managing and interacting with animals in a shelter.
  * It includes methods for adding, updating, searching, and deleting animals, as well as validation checks for
  * various fields related to animals.
  * <p>
- * This class utilizes a {@code JsonConverter} for serialization and deserialization of animal data. The data is
- * stored in JSON format, and interactions with shelters are coordinated with the {@code ShelterService}.
+ * This class reads and writes animal data through the process-wide {@code Repository} of animals,
+ * and interactions with shelters are coordinated with the {@code ShelterService}. Changes spanning an animal and
+ * its shelter are committed together in one {@code Transaction}.
  * <p>
  * The class follows a singleton pattern, and instances cannot be created as the constructor is private.
  *
@@ -31,6 +38,8 @@ import java.util.stream.Collectors;
 public class AnimalService {
 
 	private static final List<String> errors = new ArrayList<>();
+	private static final Repository<Animal> store = Repositories.of(JsonPaths.ANIMAL, Animal.class);
+	private static final Repository<Shelter> shelterStore = Repositories.of(JsonPaths.SHELTERS, Shelter.class);
 
 	private AnimalService() {
 	}
@@ -75,134 +84,164 @@ public class AnimalService {
 	 * @param shelter        The shelter where the animal is located.
 	 */
 	private static void addAnimal(String name, int age, String species, String breed, LocalDate dateOfDelivery, Shelter shelter) {
-		List<Animal> animals = animals();
-		List<Shelter> shelters = shelters();
-
-		Shelter selectedShelter = null;
-		for (Shelter s : shelters) {
-			if (s.equals(shelter)) {
-				selectedShelter = s;
-				break;
-			}
-		}
+		Shelter selectedShelter = ShelterService.getShelterById(shelter.getId());
 
 		if (selectedShelter == null) {
 			System.out.println("Error: The specified shelter does not exist.");
 			return;
 		}
 
-		if (selectedShelter.getNumbersOfAnimals() >= selectedShelter.getCapacityOfAnimals()) {
+		if (ShelterOccupancy.of(selectedShelter) >= selectedShelter.getCapacityOfAnimals()) {
 			System.out.println("Error: The shelter has no available space for the animal.");
 			return;
 		}
 
 		Animal animal = new Animal(UUID.randomUUID(), name, age, species, breed, dateOfDelivery, selectedShelter);
-		animals.add(animal);
-
-		selectedShelter.setNumbersOfAnimals(selectedShelter.getNumbersOfAnimals() + 1);
 
-		JsonConverter.serialization(animals, JsonPaths.ANIMAL);
-		JsonConverter.serialization(shelters, JsonPaths.SHELTERS);
+		new ShelterOccupancy()
+		    .enter(selectedShelter.getId())
+		    .commit(new Transaction().save(store, animal), shelterStore);
 	}
 
 	/**
-	 * Updates information about an existing animal in the system.
+	 * Updates information about an existing animal in the system. If the animal moves to another
+	 * shelter, the numbers of animals of both shelters are updated in the same transaction.
 	 *
 	 * @param updatedAnimal The updated information for the animal.
 	 * @return The updated animal object.
 	 */
 	public static Animal updateAnimal(Animal updatedAnimal) {
-		List<Animal> allAnimals = AnimalService.getAllAnimals();
-
-		allAnimals.removeIf(animal -> animal.getId().equals(updatedAnimal.getId()));
-
-		allAnimals.add(updatedAnimal);
-
-		JsonConverter.serialization(allAnimals, JsonPaths.ANIMAL);
-
-		ShelterService.updateShelter(updatedAnimal.getShelter());
+		Shelter shelter = updatedAnimal.getShelter();
+		new ShelterOccupancy()
+		    .move(ShelterOccupancy.shelterOf(updatedAnimal.getId()), shelter != null ? shelter.getId() : null)
+		    .commit(new Transaction().save(store, updatedAnimal), shelterStore);
 
 		return updatedAnimal;
 	}
 
 	/**
-	 * Decrements the number of animals in the specified shelter if there are animals present.
+	 * Searches for animals based on the specified species, ignoring letter case, through the species
+	 * index.
 	 *
-	 * @param shelter The shelter from which to decrement the number of animals.
+	 * @param species The species to search for.
+	 * @return A list of animals matching the specified species.
 	 */
-	public static void decrementNumbersOfAnimals(Shelter shelter) {
-		if (shelter != null) {
-			int currentNumbersOfAnimals = shelter.getNumbersOfAnimals();
-			if (currentNumbersOfAnimals > 0) {
-				shelter.setNumbersOfAnimals(currentNumbersOfAnimals - 1);
-				ShelterService.updateShelter(shelter);
-			}
-		}
+	public static List<Animal> searchBySpecies(String species) {
+		return store.findAllById(Indexes.ANIMAL_SPECIES.find(species));
 	}
 
 	/**
-	 * Decrements the number of animals in the specified shelter by iterating through all animals in the shelter.
+	 * Finds an animal by its name.
 	 *
-	 * @param shelter The shelter from which to decrement the number of animals.
+	 * @param name The name of the animal to find.
+	 * @return The animal with the specified name or null if not found.
 	 */
-	public static void decrementNumbersOfAnimalsInShelter(Shelter shelter) {
-		List<Animal> animalsInShelter = searchByShelter(shelter);
+	public static Animal findAnimalByName(String name) {
+		return store.findAllById(Indexes.ANIMAL_NAME.find(name)).stream()
+		    .filter(animal -> animal.getName().equalsIgnoreCase(name))
+		    .findFirst()
+		    .orElse(null);
+	}
 
-		for (Animal animal : animalsInShelter) {
-			decrementNumbersOfAnimals(animal.getShelter());
-		}
+	/**
+	 * Completes the beginning of an animal name with the names of the animals starting with it,
+	 * through the prefix index of names.
+	 *
+	 * @param prefix The beginning of the name.
+	 * @param limit  The maximal number of names to return.
+	 * @return The distinct matching names, in alphabetical order.
+	 */
+	public static List<String> completeAnimalNames(String prefix, int limit) {
+		return Indexes.ANIMAL_NAME.complete(prefix, limit);
 	}
 
 	/**
-	 * Searches for animals based on the specified species.
+	 * Searches animals by the words of their name, species and breed, through the full-text index.
+	 * Words match exactly, by prefix, or with a few typos, and matches in the name rank highest.
 	 *
-	 * @param species The species to search for.
-	 * @return A list of animals matching the specified species.
+	 * @param query The words to search for.
+	 * @param limit The maximal number of animals to return.
+	 * @return The matching animals, best match first.
 	 */
-	public static List<Animal> searchBySpecies(String species) {
-		return animals().stream()
-		    .filter(animal -> animal.getSpecies().equalsIgnoreCase(species))
-		    .collect(Collectors.toList());
+	public static List<Animal> searchAnimals(String query, int limit) {
+		return store.findAllById(Indexes.ANIMAL_TEXT.search(query, limit));
 	}
 
 	/**
-	 * Finds an animal by its name.
+	 * Runs a query written in the query language over the animals, such as
+	 * {@code species = Кіт and year >= 2023 and shelter = "Приют радісник" order by name limit 20}.
+	 * The query is answered through the most selective index available.
 	 *
-	 * @param name The name of the animal to find.
-	 * @return The animal with the specified name or null if not found.
+	 * @param expression The query.
+	 * @return The matching animals, in the requested order.
+	 * @throws QuerySyntaxException If the query is malformed or refers to unknown fields.
 	 */
-	public static Animal findAnimalByName(String name) {
-		return animals().stream()
-		    .filter(animal -> animal.getName().equalsIgnoreCase(name))
-		    .findFirst()
-		    .orElse(null);
+	public static List<Animal> advancedSearch(String expression) {
+		return Query.parse(Schemas.ANIMAL, expression).list();
+	}
+
+	/**
+	 * Describes how a query written in the query language over the animals would run.
+	 *
+	 * @param expression The query.
+	 * @return The plan of the query, one step per line.
+	 * @throws QuerySyntaxException If the query is malformed or refers to unknown fields.
+	 */
+	public static String explainSearch(String expression) {
+		return Query.parse(Schemas.ANIMAL, expression).explain();
 	}
 
 	/**
-	 * Deletes an animal with the specified ID from the system.
+	 * Deletes an animal with the specified ID from the system, and removes it from the number of
+	 * animals of its shelter in the same transaction.
 	 *
 	 * @param animalId The ID of the animal to delete.
 	 * @return True if the animal is deleted successfully, false otherwise.
 	 */
 	public static boolean deleteAnimalById(UUID animalId) {
-		List<Animal> animalList = animals();
-
-		animalList.removeIf(animal -> animal.getId().equals(animalId));
-
-		JsonConverter.serialization(animalList, JsonPaths.ANIMAL);
-		return false;
+		if (store.findById(animalId) == null) {
+			return false;
+		}
+		new ShelterOccupancy()
+		    .leave(ShelterOccupancy.shelterOf(animalId))
+		    .commit(new Transaction().delete(store, animalId), shelterStore);
+		return true;
 	}
 
 	/**
-	 * Finds animals born in a specific year.
+	 * Finds animals born in a specific year, through the delivery date index.
 	 *
 	 * @param birthYear The birth year to search for.
 	 * @return A list of animals born in the specified year.
 	 */
 	public static List<Animal> findAnimalByYear(int birthYear) {
-		return animals().stream()
-		    .filter(animal -> animal.getDateOfDelivery().getYear() == birthYear)
-		    .collect(Collectors.toList());
+		return findAnimalsDeliveredBetween(LocalDate.of(birthYear, 1, 1), LocalDate.of(birthYear, 12, 31));
+	}
+
+	/**
+	 * Finds animals delivered within a date range, through the delivery date index.
+	 *
+	 * @param from The first date of the range, inclusive.
+	 * @param to   The last date of the range, inclusive.
+	 * @return A list of animals delivered within the range, by ascending delivery date.
+	 */
+	public static List<Animal> findAnimalsDeliveredBetween(LocalDate from, LocalDate to) {
+		return store.findAllById(Indexes.ANIMAL_DELIVERY.between(from, to));
+	}
+
+	/**
+	 * Finds animals delivered within the last days, today included.
+	 *
+	 * @param days The number of days to look back, today included.
+	 * @return A list of animals delivered within the last days, by ascending delivery date, or an empty
+	 *         list if the number of days is not positive.
+	 */
+	public static List<Animal> findAnimalsDeliveredInLastDays(int days) {
+		if (days <= 0) {
+			return new ArrayList<>();
+		}
+		LocalDate today = LocalDate.now(ZoneId.systemDefault());
+		return findAnimalsDeliveredBetween(today.minusDays(days - 1L), today);
 	}
 
 	/**
@@ -211,41 +250,126 @@ public class AnimalService {
 	 * @return A list of all animals in the system.
 	 */
 	public static List<Animal> getAllAnimals() {
-		List<Animal> animalsList = animals();
-		return animalsList != null ? animalsList : new ArrayList<>();
+		return store.findAll();
+	}
+
+	/**
+	 * Retrieves a page of the animals in the system, in a stable order.
+	 *
+	 * @param cursor The cursor of the page, as returned with a previous page, or null for the first page.
+	 * @param limit  The maximal number of animals on the page.
+	 * @return The page of animals.
+	 * @throws IllegalArgumentException If the cursor is malformed or the limit is not positive.
+	 */
+	public static Page<Animal> getAnimalsPage(String cursor, int limit) {
+		return Indexes.ANIMAL_ORDER.page(cursor, limit).map(store::findAllById);
 	}
 
 	/**
-	 * Searches for animals based on the specified breed.
+	 * Retrieves a page of the animals whose name starts with a prefix, in the same stable order as
+	 * {@link #getAnimalsPage(String, int)}.
+	 *
+	 * @param namePrefix The beginning of the names, in any letter case, or null or blank for all animals.
+	 * @param cursor     The cursor of the page, as returned with a previous page of the same prefix, or
+	 *                   null for the first page.
+	 * @param limit      The maximal number of animals on the page.
+	 * @return The page of animals.
+	 * @throws IllegalArgumentException If the cursor is malformed or the limit is not positive.
+	 */
+	public static Page<Animal> getAnimalsPage(String namePrefix, String cursor, int limit) {
+		if (namePrefix == null || namePrefix.isBlank()) {
+			return getAnimalsPage(cursor, limit);
+		}
+		return Indexes.ANIMAL_ORDER.page(Indexes.ANIMAL_NAME.findByPrefix(namePrefix), cursor, limit)
+		    .map(store::findAllById);
+	}
+
+	/**
+	 * Searches for animals based on the specified breed, ignoring letter case, through the breed index.
 	 *
 	 * @param breed The breed to search for.
 	 * @return A list of animals matching the specified breed.
 	 */
 	public static List<Animal> searchByBreed(String breed) {
-		return animals().stream()
-		    .filter(animal -> animal.getBreed().equalsIgnoreCase(breed))
-		    .collect(Collectors.toList());
+		return store.findAllById(Indexes.ANIMAL_BREED.find(breed));
 	}
 
 	/**
-	 * Searches for animals in a specific shelter.
+	 * Searches for animals in a specific shelter, through the shelter index.
 	 *
 	 * @param shelter The shelter to search for.
 	 * @return A list of animals located in the specified shelter.
 	 */
 	public static List<Animal> searchByShelter(Shelter shelter) {
-		return animals().stream()
-		    .filter(animal -> animal.getShelter().equals(shelter))
-		    .collect(Collectors.toList());
+		if (shelter == null) {
+			return new ArrayList<>();
+		}
+		return store.findAllById(Indexes.ANIMAL_SHELTER.find(shelter.getId()));
+	}
+
+	/**
+	 * Finds animals matching all of the specified criteria through the attribute bitmap index. A null
+	 * criterion matches any animal.
+	 *
+	 * @param species The species to match, ignoring letter case, or null.
+	 * @param breed   The breed to match, ignoring letter case, or null.
+	 * @param shelter The shelter to match, or null.
+	 * @param year    The delivery year to match, or null.
+	 * @return A list of animals matching all criteria.
+	 */
+	public static List<Animal> filterAnimals(String species, String breed, Shelter shelter, Integer year) {
+		return store.findAllById(animalFilter(species, breed, shelter, year).ids());
+	}
+
+	/**
+	 * Counts animals matching all of the specified criteria through the attribute bitmap index, without
+	 * reading any animal. A null criterion matches any animal.
+	 *
+	 * @param species The species to match, ignoring letter case, or null.
+	 * @param breed   The breed to match, ignoring letter case, or null.
+	 * @param shelter The shelter to match, or null.
+	 * @param year    The delivery year to match, or null.
+	 * @return The number of animals matching all criteria.
+	 */
+	public static int countAnimals(String species, String breed, Shelter shelter, Integer year) {
+		return animalFilter(species, breed, shelter, year).count();
 	}
 
 	/**
-	 * Deserializes and retrieves a list of animals from the JSON file.
+	 * Checks whether any animal is located in a specific shelter, through the shelter index.
 	 *
-	 * @return A list of animals.
+	 * @param shelter The shelter to check.
+	 * @return True if the shelter has animals, false otherwise.
 	 */
-	private static List<Animal> animals() {
-		return JsonConverter.deserialization(JsonPaths.ANIMAL, Animal.class);
+	public static boolean hasAnimalsInShelter(Shelter shelter) {
+		return shelter != null && Indexes.ANIMAL_SHELTER.count(shelter.getId()) > 0;
+	}
+
+	/**
+	 * Builds the bitmap index filter for the specified criteria.
+	 *
+	 * @param species The species to match, or null.
+	 * @param breed   The breed to match, or null.
+	 * @param shelter The shelter to match, or null.
+	 * @param year    The delivery year to match, or null.
+	 * @return The filter over the attribute bitmap index.
+	 */
+	private static BitmapIndex<Animal, AnimalAttribute>.Filter animalFilter(String species, String breed,
+	    Shelter shelter, Integer year) {
+		BitmapIndex<Animal, AnimalAttribute>.Filter filter = Indexes.ANIMAL_ATTRIBUTES.filter();
+		if (species != null) {
+			filter.where(AnimalAttribute.SPECIES, species);
+		}
+		if (breed != null) {
+			filter.where(AnimalAttribute.BREED, breed);
+		}
+		if (shelter != null) {
+			filter.where(AnimalAttribute.SHELTER, shelter.getId().toString());
+		}
+		if (year != null) {
+			filter.where(AnimalAttribute.DELIVERY_YEAR, String.valueOf(year));
+		}
+		return filter;
 	}
 
 	/**
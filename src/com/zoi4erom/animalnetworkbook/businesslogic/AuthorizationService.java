@@ -1,17 +1,19 @@
 package com.zoi4erom.animalnetworkbook.businesslogic;
 
 import com.zoi4erom.animalnetworkbook.persistence.entity.User;
-import com.zoi4erom.animalnetworkbook.persistence.jsonhandler.JsonConverter;
 import com.zoi4erom.animalnetworkbook.persistence.jsonhandler.JsonPaths;
+import com.zoi4erom.animalnetworkbook.persistence.store.Indexes;
+import com.zoi4erom.animalnetworkbook.persistence.store.Repositories;
+import com.zoi4erom.animalnetworkbook.persistence.store.Repository;
 import org.mindrot.bcrypt.BCrypt;
 
-import java.util.List;
-
 /**
  * Provides authentication services for user authorization.
  */
 public class AuthorizationService {
 
+	private static final Repository<User> store = Repositories.of(JsonPaths.USER, User.class);
+
 	/**
 	 * Checks if the provided plain password matches the hashed password.
 	 *
@@ -24,7 +26,9 @@ public class AuthorizationService {
 	}
 
 	/**
-	 * Authenticates a user based on the provided full name, password, and email.
+	 * Authenticates a user based on the provided full name, password, and email. The user is looked up
+	 * through the email index, ignoring the letter case of the email, and the full name is then checked
+	 * among the users with that email.
 	 *
 	 * @param fullName the full name of the user
 	 * @param password the password of the user
@@ -32,12 +36,11 @@ public class AuthorizationService {
 	 * @return the authenticated user or null if authentication fails
 	 */
 	public static User authorization(String fullName, String password, String email) {
-		List<User> userList = JsonConverter.deserialization(JsonPaths.USER, User.class);
-
-		return userList.stream()
-		    .filter(user -> user.getFullName().equals(fullName) && user.getEmail().equals(email))
+		User user = store.findAllById(Indexes.USER_EMAIL.find(email)).stream()
+		    .filter(candidate -> candidate.getFullName().equals(fullName))
 		    .findFirst()
-		    .filter(user -> checkPassword(password, user.getPassword()))
 		    .orElse(null);
+
+		return user != null && checkPassword(password, user.getPassword()) ? user : null;
 	}
 }
@@ -1,12 +1,9 @@
 package com.zoi4erom.animalnetworkbook.businesslogic;
 
 import com.zoi4erom.animalnetworkbook.businesslogic.exception.SignUpException;
-import com.zoi4erom.animalnetworkbook.persistence.entity.Animal;
-import com.zoi4erom.animalnetworkbook.persistence.entity.Request;
-import com.zoi4erom.animalnetworkbook.persistence.entity.Shelter;
-import com.zoi4erom.animalnetworkbook.persistence.entity.User;
-import com.zoi4erom.animalnetworkbook.persistence.jsonhandler.JsonConverter;
+import com.zoi4erom.animalnetworkbook.persistence.entity.Entity;
 import com.zoi4erom.animalnetworkbook.persistence.jsonhandler.JsonPaths;
+import com.zoi4erom.animalnetworkbook.persistence.store.Repositories;
 import org.apache.poi.hssf.usermodel.HSSFWorkbook;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.Row;
@@ -20,10 +17,12 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.nio.file.Path;
 import java.time.LocalDateTime;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
- * Generates Excel reports from a list of entities.
+ * Generates Excel reports from a list or a stream of entities.
  */
 public class GenerateReport {
 
@@ -32,35 +31,32 @@ public class GenerateReport {
 
 	/**
 	 * Initiates the process of generating reports for users, animals, shelters, and requests.
+	 * Each report iterates the {@code scan()} stream of its repository, so it holds no more of the
+	 * entities than the storage backend itself keeps in memory.
 	 */
 	public static void start() {
-		List<User> users = JsonConverter.deserialization(JsonPaths.USER, User.class);
-		List<Animal> animals = JsonConverter.deserialization(JsonPaths.ANIMAL, Animal.class);
-		List<Shelter> shelters = JsonConverter.deserialization(JsonPaths.SHELTERS, Shelter.class);
-		List<Request> requests = JsonConverter.deserialization(JsonPaths.REQUEST, Request.class);
-
-		if (!users.isEmpty()) {
-			generateReport(users, "UsersReport");
-		} else {
-			System.out.println("The list of users is empty. No data for the report.");
-		}
-
-		if (!animals.isEmpty()) {
-			generateReport(animals, "AnimalsReport");
-		} else {
-			System.out.println("The list of animals is empty. No data for the report.");
-		}
-
-		if (!shelters.isEmpty()) {
-			generateReport(shelters, "SheltersReport");
-		} else {
-			System.out.println("The list of shelters is empty. No data for the report.");
-		}
+		generateReport(JsonPaths.USER, "UsersReport", "users");
+		generateReport(JsonPaths.ANIMAL, "AnimalsReport", "animals");
+		generateReport(JsonPaths.SHELTERS, "SheltersReport", "shelters");
+		generateReport(JsonPaths.REQUEST, "RequestsReport", "requests");
+	}
 
-		if (!requests.isEmpty()) {
-			generateReport(requests, "RequestsReport");
-		} else {
-			System.out.println("The list of requests is empty. No data for the report.");
+	/**
+	 * Generates an Excel report for the entities of a JSON file, iterating the scan stream of its
+	 * repository.
+	 *
+	 * @param jsonPaths  the JSON file to report on
+	 * @param filename   the name of the generated Excel file
+	 * @param entityName the plural name of the entities, used when the file is empty
+	 */
+	private static void generateReport(JsonPaths jsonPaths, String filename, String entityName) {
+		try (Stream<? extends Entity> entities = Repositories.of(jsonPaths, jsonPaths.getEntityClass()).scan()) {
+			Iterator<? extends Entity> iterator = entities.iterator();
+			if (iterator.hasNext()) {
+				generateReport(iterator, filename);
+			} else {
+				System.out.println("The list of %s is empty. No data for the report.".formatted(entityName));
+			}
 		}
 	}
 
@@ -71,7 +67,18 @@ public class GenerateReport {
 	 * @param filename the name of the generated Excel file
 	 */
 	public static void generateReport(List<?> entities, String filename) {
-		Class<?> entityClass = entities.get(0).getClass();
+		generateReport(entities.iterator(), filename);
+	}
+
+	/**
+	 * Generates an Excel report for a sequence of entities, reading each entity once.
+	 *
+	 * @param entities the non-empty sequence of entities to include in the report
+	 * @param filename the name of the generated Excel file
+	 */
+	public static void generateReport(Iterator<?> entities, String filename) {
+		Object first = entities.next();
+		Class<?> entityClass = first.getClass();
 
 		Workbook workbook = new HSSFWorkbook();
 		Sheet sheet = workbook.createSheet(entityClass.getSimpleName() + "s");
@@ -90,7 +97,7 @@ public class GenerateReport {
 			cell.setCellValue(headers[i]);
 		}
 
-		for (Object entity : entities) {
+		for (Object entity = first; entity != null; entity = entities.hasNext() ? entities.next() : null) {
 			Row row = sheet.createRow(rowNum++);
 			row.createCell(0).setCellValue(rowNum - 1);
 
@@ -3,8 +3,8 @@ package com.zoi4erom.animalnetworkbook.businesslogic;
 import com.zoi4erom.animalnetworkbook.businesslogic.exception.ExceptionTemplate;
 import com.zoi4erom.animalnetworkbook.businesslogic.exception.VerificationException;
 import com.zoi4erom.animalnetworkbook.persistence.entity.User;
-import com.zoi4erom.animalnetworkbook.persistence.jsonhandler.JsonConverter;
 import com.zoi4erom.animalnetworkbook.persistence.jsonhandler.JsonPaths;
+import com.zoi4erom.animalnetworkbook.persistence.store.Repositories;
 import de.codeshelf.consoleui.prompt.ConsolePrompt;
 import de.codeshelf.consoleui.prompt.InputResult;
 import de.codeshelf.consoleui.prompt.builder.PromptBuilder;
@@ -97,15 +97,7 @@ public class RegistrationService {
 	 * @param user the user to create
 	 */
 	private static void createUser(User user) {
-		List<User> userList = JsonConverter.deserialization(JsonPaths.USER, User.class);
-
-		if (userList.isEmpty()) {
-			userList = new ArrayList<>();
-		}
-
-		userList.add(user);
-
-		JsonConverter.serialization(userList, JsonPaths.USER);
+		Repositories.of(JsonPaths.USER, User.class).insert(user);
 	}
 
 	/**
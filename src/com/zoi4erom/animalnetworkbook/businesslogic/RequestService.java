@@ -5,14 +5,19 @@ import com.zoi4erom.animalnetworkbook.persistence.entity.Animal;
 import com.zoi4erom.animalnetworkbook.persistence.entity.Request;
 import com.zoi4erom.animalnetworkbook.persistence.entity.Request.RequestStatus;
 import com.zoi4erom.animalnetworkbook.persistence.entity.User;
-import com.zoi4erom.animalnetworkbook.persistence.jsonhandler.JsonConverter;
+import com.zoi4erom.animalnetworkbook.persistence.exception.QuerySyntaxException;
 import com.zoi4erom.animalnetworkbook.persistence.jsonhandler.JsonPaths;
+import com.zoi4erom.animalnetworkbook.persistence.query.Query;
+import com.zoi4erom.animalnetworkbook.persistence.query.Schemas;
+import com.zoi4erom.animalnetworkbook.persistence.store.Indexes;
+import com.zoi4erom.animalnetworkbook.persistence.store.Page;
+import com.zoi4erom.animalnetworkbook.persistence.store.Repositories;
+import com.zoi4erom.animalnetworkbook.persistence.store.Repository;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 /**
  * Provides functionality related to animal adoption requests.
@@ -20,6 +25,7 @@ import java.util.stream.Collectors;
 public class RequestService {
 
 	private static final List<String> errors = new ArrayList<>();
+	private static final Repository<Request> store = Repositories.of(JsonPaths.REQUEST, Request.class);
 
 	private RequestService() {
 	}
@@ -56,13 +62,9 @@ public class RequestService {
 	 * @param user   the user making the request
 	 */
 	private static void createRequest(String name, Animal animal, User user) {
-		List<Request> requests = requests();
-
 		Request request = new Request(UUID.randomUUID(), name, animal, user, LocalDate.now());
 
-		requests.add(request);
-
-		JsonConverter.serialization(requests, JsonPaths.REQUEST);
+		store.insert(request);
 	}
 
 	/**
@@ -72,13 +74,7 @@ public class RequestService {
 	 * @return the updated request
 	 */
 	public static Request updateRequest(Request updatedRequest) {
-		List<Request> allRequests = requests();
-
-		allRequests.removeIf(request -> request.getId().equals(updatedRequest.getId()));
-
-		allRequests.add(updatedRequest);
-
-		JsonConverter.serialization(allRequests, JsonPaths.REQUEST);
+		store.save(updatedRequest);
 
 		return updatedRequest;
 	}
@@ -90,54 +86,78 @@ public class RequestService {
 	 * @return the adoption request or null if not found
 	 */
 	public static Request findRequestByName(String name) {
-		List<Request> requests = requests();
+		return store.findFirst(request -> request.getName().equals(name));
+	}
+
+	/**
+	 * Searches adoption requests by the words of their name, through the full-text index. Words match
+	 * exactly, by prefix, or with a few typos.
+	 *
+	 * @param query the words to search for
+	 * @param limit the maximal number of adoption requests to return
+	 * @return the matching adoption requests, best match first
+	 */
+	public static List<Request> searchRequests(String query, int limit) {
+		return store.findAllById(Indexes.REQUEST_TEXT.search(query, limit));
+	}
+
+	/**
+	 * Runs a query written in the query language over the requests, such as
+	 * {@code status = pending and animal = Мурзік}.
+	 *
+	 * @param expression The query.
+	 * @return The matching requests, in the requested order.
+	 * @throws QuerySyntaxException If the query is malformed or refers to unknown fields.
+	 */
+	public static List<Request> advancedSearch(String expression) {
+		return Query.parse(Schemas.REQUEST, expression).list();
+	}
 
-		return requests.stream()
-		    .filter(request -> request.getName().equals(name))
-		    .findFirst()
-		    .orElse(null);
+	/**
+	 * Describes how a query written in the query language over the requests would run.
+	 *
+	 * @param expression The query.
+	 * @return The plan of the query, one step per line.
+	 * @throws QuerySyntaxException If the query is malformed or refers to unknown fields.
+	 */
+	public static String explainSearch(String expression) {
+		return Query.parse(Schemas.REQUEST, expression).explain();
 	}
 
 	/**
-	 * Finds adoption requests by their status.
+	 * Finds adoption requests by their status, through the status index.
 	 *
 	 * @param requestStatus the status of the adoption requests to find
 	 * @return a list of adoption requests with the specified status
 	 */
 	public static List<Request> findRequestsByStatus(RequestStatus requestStatus) {
-		List<Request> requests = requests();
-
-		return requests.stream()
-		    .filter(request -> request.getStatus() == requestStatus)
-		    .collect(Collectors.toList());
+		return store.findAllById(Indexes.REQUEST_STATUS.find(requestStatus));
 	}
 
 	/**
-	 * Finds adoption requests by the specified animal.
+	 * Finds adoption requests by the specified animal, through the animal index.
 	 *
 	 * @param animal the animal in the adoption requests to find
 	 * @return a list of adoption requests with the specified animal
 	 */
 	public static List<Request> findRequestsByAnimal(Animal animal) {
-		List<Request> requests = getAllRequests();
-
-		return requests.stream()
-		    .filter(request -> request.getAnimal().equals(animal))
-		    .collect(Collectors.toList());
+		if (animal == null) {
+			return new ArrayList<>();
+		}
+		return store.findAllById(Indexes.REQUEST_ANIMAL.find(animal.getId()));
 	}
 
 	/**
-	 * Finds adoption requests by the specified user.
+	 * Finds adoption requests by the specified user, through the user index.
 	 *
 	 * @param user the user making the adoption requests to find
 	 * @return a list of adoption requests made by the specified user
 	 */
 	public static List<Request> findRequestsByUser(User user) {
-		List<Request> requests = getAllRequests();
-
-		return requests.stream()
-		    .filter(request -> request.getUser().equals(user))
-		    .collect(Collectors.toList());
+		if (user == null) {
+			return new ArrayList<>();
+		}
+		return store.findAllById(Indexes.REQUEST_USER.find(user.getId()));
 	}
 
 	/**
@@ -146,13 +166,38 @@ public class RequestService {
 	 * @return a list of all adoption requests
 	 */
 	public static List<Request> getAllRequests() {
-		List<Request> allRequests = requests();
+		return store.findAll();
+	}
 
-		if (allRequests == null) {
-			allRequests = new ArrayList<>();
-		}
+	/**
+	 * Retrieves a page of the adoption requests, in a stable order.
+	 *
+	 * @param cursor the cursor of the page, as returned with a previous page, or null for the first page
+	 * @param limit  the maximal number of requests on the page
+	 * @return the page of adoption requests
+	 * @throws IllegalArgumentException if the cursor is malformed or the limit is not positive
+	 */
+	public static Page<Request> getRequestsPage(String cursor, int limit) {
+		return Indexes.REQUEST_ORDER.page(cursor, limit).map(store::findAllById);
+	}
 
-		return allRequests;
+	/**
+	 * Retrieves a page of the adoption requests whose name starts with a prefix, in the same stable
+	 * order as {@link #getRequestsPage(String, int)}.
+	 *
+	 * @param namePrefix the beginning of the names, in any letter case, or null or blank for all requests
+	 * @param cursor     the cursor of the page, as returned with a previous page of the same prefix, or
+	 *                   null for the first page
+	 * @param limit      the maximal number of requests on the page
+	 * @return the page of adoption requests
+	 * @throws IllegalArgumentException if the cursor is malformed or the limit is not positive
+	 */
+	public static Page<Request> getRequestsPage(String namePrefix, String cursor, int limit) {
+		if (namePrefix == null || namePrefix.isBlank()) {
+			return getRequestsPage(cursor, limit);
+		}
+		return Indexes.REQUEST_ORDER.page(Indexes.REQUEST_NAME.findByPrefix(namePrefix), cursor, limit)
+		    .map(store::findAllById);
 	}
 
 	/**
@@ -162,11 +207,7 @@ public class RequestService {
 	 * @return a list of adoption requests with the specified animal
 	 */
 	public static List<Request> getRequestsByAnimal(Animal animal) {
-		List<Request> allRequests = getAllRequests();
-
-		return allRequests.stream()
-		    .filter(request -> request.getAnimal().equals(animal))
-		    .collect(Collectors.toList());
+		return findRequestsByAnimal(animal);
 	}
 
 	/**
@@ -176,11 +217,7 @@ public class RequestService {
 	 * @return a list of adoption requests made by the specified user
 	 */
 	public static List<Request> getRequestsByUser(User user) {
-		List<Request> allRequests = getAllRequests();
-
-		return allRequests.stream()
-		    .filter(request -> request.getUser().equals(user))
-		    .collect(Collectors.toList());
+		return findRequestsByUser(user);
 	}
 
 	/**
@@ -190,20 +227,16 @@ public class RequestService {
 	 * @return a list of adoption requests with the specified status
 	 */
 	public static List<Request> getRequestsByStatus(RequestStatus status) {
-		List<Request> allRequests = getAllRequests();
-
-		return allRequests.stream()
-		    .filter(request -> request.getStatus().equals(status))
-		    .collect(Collectors.toList());
+		return findRequestsByStatus(status);
 	}
 
 	/**
-	 * Retrieves the list of adoption requests from the JSON file.
+	 * Retrieves the list of adoption requests from the request store.
 	 *
 	 * @return a list of adoption requests
 	 */
 	public static List<Request> requests() {
-		return JsonConverter.deserialization(JsonPaths.REQUEST, Request.class);
+		return store.findAll();
 	}
 
 	/**
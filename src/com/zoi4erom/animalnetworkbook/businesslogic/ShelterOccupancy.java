@@ -0,0 +1,189 @@
+package com.zoi4erom.animalnetworkbook.businesslogic;
+
+import com.zoi4erom.animalnetworkbook.persistence.entity.Animal;
+import com.zoi4erom.animalnetworkbook.persistence.entity.Shelter;
+import com.zoi4erom.animalnetworkbook.persistence.store.Indexes;
+import com.zoi4erom.animalnetworkbook.persistence.store.Repository;
+import com.zoi4erom.animalnetworkbook.persistence.store.Transaction;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the number of animals stored with each shelter in step with the animals themselves.
+ * <p>
+ * The number of animals in a shelter is derived from the index of animals by shelter, which is
+ * updated whenever an animal is committed and read in constant time. The copy stored with the shelter
+ * is written in the same transaction as the animals that change it: the moves of a transaction are
+ * summed per shelter first, so that a shelter is saved once per transaction however many of its
+ * animals change. Transactions changing occupancy are committed one at a time, so that each one
+ * computes its counts from the state left by the previous one.
+ */
+final class ShelterOccupancy {
+
+	private static final Object lock = new Object();
+
+	private final Map<UUID, Integer> deltas = new LinkedHashMap<>();
+
+	/**
+	 * Counts the animals in a shelter.
+	 *
+	 * @param shelter The shelter.
+	 * @return The number of animals in the shelter, or 0 if the shelter is null.
+	 */
+	static int of(Shelter shelter) {
+		return shelter == null ? 0 : Indexes.ANIMAL_SHELTER.count(shelter.getId());
+	}
+
+	/**
+	 * Records that an animal enters a shelter.
+	 *
+	 * @param shelterId The identifier of the shelter, or null if the animal enters none.
+	 * @return This occupancy change.
+	 */
+	ShelterOccupancy enter(UUID shelterId) {
+		return change(shelterId, 1);
+	}
+
+	/**
+	 * Records that an animal leaves a shelter.
+	 *
+	 * @param shelterId The identifier of the shelter, or null if the animal leaves none.
+	 * @return This occupancy change.
+	 */
+	ShelterOccupancy leave(UUID shelterId) {
+		return change(shelterId, -1);
+	}
+
+	/**
+	 * Records that an animal moves between shelters. Nothing changes if the shelters are the same.
+	 *
+	 * @param fromShelterId The identifier of the shelter the animal leaves, or null if it was in none.
+	 * @param toShelterId   The identifier of the shelter the animal enters, or null if it goes to none.
+	 * @return This occupancy change.
+	 */
+	ShelterOccupancy move(UUID fromShelterId, UUID toShelterId) {
+		if (Objects.equals(fromShelterId, toShelterId)) {
+			return this;
+		}
+		return leave(fromShelterId).enter(toShelterId);
+	}
+
+	/**
+	 * Gets the identifier of the shelter an animal is in, as committed, even if the animal has been
+	 * moved in place since.
+	 *
+	 * @param animalId The identifier of the animal.
+	 * @return The identifier of the shelter, or null if the animal is in none.
+	 */
+	static UUID shelterOf(UUID animalId) {
+		return Indexes.ANIMAL_SHELTER.referenceOf(animalId);
+	}
+
+	/**
+	 * Commits a transaction of animal changes together with the new numbers of animals of the shelters
+	 * they change. The new numbers are set on the shelters the repository holds, so that the animals
+	 * referring to them see the numbers, and are set back if the transaction fails to commit.
+	 *
+	 * @param transaction The transaction of animal changes recorded in this occupancy change.
+	 * @param shelters    The repository of shelters.
+	 */
+	void commit(Transaction transaction, Repository<Shelter> shelters) {
+		synchronized (lock) {
+			Map<Shelter, Integer> counts = new LinkedHashMap<>();
+			for (Map.Entry<UUID, Integer> delta : deltas.entrySet()) {
+				if (delta.getValue() == 0) {
+					continue;
+				}
+				Shelter shelter = shelters.findById(delta.getKey());
+				if (shelter != null) {
+					int count = Math.max(0, Indexes.ANIMAL_SHELTER.count(shelter.getId()) + delta.getValue());
+					counts.put(shelter, count);
+				}
+			}
+			write(counts, () -> {
+				counts.keySet().forEach(shelter -> transaction.save(shelters, shelter));
+				transaction.commit();
+			});
+		}
+	}
+
+	/**
+	 * Saves a shelter with its current number of animals, whatever number it carries, so that a stale
+	 * copy of the shelter cannot overwrite the number.
+	 *
+	 * @param shelter  The shelter to save.
+	 * @param shelters The repository of shelters.
+	 */
+	static void save(Shelter shelter, Repository<Shelter> shelters) {
+		synchronized (lock) {
+			write(Map.of(shelter, of(shelter)), () -> shelters.save(shelter));
+		}
+	}
+
+	/**
+	 * Recounts the animals of every shelter in one parallel pass over the animals, and saves the
+	 * shelters whose stored number of animals differs, all at once.
+	 *
+	 * @param animals  The repository of animals.
+	 * @param shelters The repository of shelters.
+	 * @return The number of shelters whose number of animals was corrected.
+	 */
+	static int reconcile(Repository<Animal> animals, Repository<Shelter> shelters) {
+		synchronized (lock) {
+			ConcurrentMap<UUID, Long> counts = animals.findAll().parallelStream()
+			    .filter(animal -> animal.getShelter() != null)
+			    .collect(Collectors.groupingByConcurrent(animal -> animal.getShelter().getId(),
+				  Collectors.counting()));
+			Map<Shelter, Integer> stale = new LinkedHashMap<>();
+			for (Shelter shelter : shelters.findAll()) {
+				int count = counts.getOrDefault(shelter.getId(), 0L).intValue();
+				if (shelter.getNumbersOfAnimals() != count) {
+					stale.put(shelter, count);
+				}
+			}
+			if (!stale.isEmpty()) {
+				write(stale, () -> shelters.saveAll(stale.keySet()));
+			}
+			return stale.size();
+		}
+	}
+
+	/**
+	 * Sets new numbers of animals on shelters and writes them, setting the previous numbers back if
+	 * the write fails, so that the shelters in memory never carry numbers that were not written.
+	 *
+	 * @param counts The new number of animals of each shelter.
+	 * @param write  The write persisting the shelters with their new numbers.
+	 */
+	private static void write(Map<Shelter, Integer> counts, Runnable write) {
+		Map<Shelter, Integer> previous = new LinkedHashMap<>();
+		counts.forEach((shelter, count) -> {
+			previous.put(shelter, shelter.getNumbersOfAnimals());
+			shelter.setNumbersOfAnimals(count);
+		});
+		try {
+			write.run();
+		} catch (RuntimeException e) {
+			previous.forEach(Shelter::setNumbersOfAnimals);
+			throw e;
+		}
+	}
+
+	/**
+	 * Adds to the change of the number of animals of a shelter.
+	 *
+	 * @param shelterId The identifier of the shelter, or null for none.
+	 * @param delta     The number of animals entering the shelter, negative for animals leaving it.
+	 * @return This occupancy change.
+	 */
+	private ShelterOccupancy change(UUID shelterId, int delta) {
+		if (shelterId != null) {
+			deltas.merge(shelterId, delta, Integer::sum);
+		}
+		return this;
+	}
+}
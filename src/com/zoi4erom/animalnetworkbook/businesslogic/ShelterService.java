@@ -3,10 +3,15 @@ package com.zoi4erom.animalnetworkbook.businesslogic;
 import com.zoi4erom.animalnetworkbook.businesslogic.exception.ExceptionTemplate;
 import com.zoi4erom.animalnetworkbook.persistence.entity.Animal;
 import com.zoi4erom.animalnetworkbook.persistence.entity.Shelter;
-import com.zoi4erom.animalnetworkbook.persistence.jsonhandler.JsonConverter;
+import com.zoi4erom.animalnetworkbook.persistence.exception.QuerySyntaxException;
 import com.zoi4erom.animalnetworkbook.persistence.jsonhandler.JsonPaths;
+import com.zoi4erom.animalnetworkbook.persistence.query.Query;
+import com.zoi4erom.animalnetworkbook.persistence.query.Schemas;
+import com.zoi4erom.animalnetworkbook.persistence.store.Indexes;
+import com.zoi4erom.animalnetworkbook.persistence.store.Page;
+import com.zoi4erom.animalnetworkbook.persistence.store.Repositories;
+import com.zoi4erom.animalnetworkbook.persistence.store.Repository;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
@@ -17,6 +22,7 @@ import java.util.UUID;
 public class ShelterService {
 
 	private static final List<String> errors = new ArrayList<>();
+	private static final Repository<Shelter> store = Repositories.of(JsonPaths.SHELTERS, Shelter.class);
 
 	private ShelterService() {
 	}
@@ -56,12 +62,9 @@ public class ShelterService {
 	 * @param capacityOfAnimals the capacity of animals that the shelter can accommodate
 	 */
 	private static void createShelter(String name, String address, String phone, int capacityOfAnimals) {
-		List<Shelter> shelters = shelters();
-
 		Shelter shelter = new Shelter(UUID.randomUUID(), name, address, phone, 0, capacityOfAnimals);
 
-		shelters.add(shelter);
-		JsonConverter.serialization(shelters, JsonPaths.SHELTERS);
+		store.insert(shelter);
 	}
 
 	/**
@@ -71,39 +74,49 @@ public class ShelterService {
 	 * @return true if the shelter is successfully deleted, false otherwise
 	 */
 	public static Boolean deleteShelterByName(String name) {
-		List<Shelter> shelters = shelters();
-		List<Animal> animals = AnimalService.getAllAnimals();
+		List<Shelter> shelters = store.findAllById(Indexes.SHELTER_NAME.find(name)).stream()
+		    .filter(shelter -> Objects.equals(shelter.getName(), name))
+		    .toList();
 
 		for (Shelter shelter : shelters) {
-			if (Objects.equals(shelter.getName(), name)) {
-				for (Animal animal : animals) {
-					if (Objects.equals(animal.getShelter().getName(), name)) {
-						return false;
-					}
-				}
+			if (AnimalService.hasAnimalsInShelter(shelter)) {
+				return false;
 			}
 		}
 
-		shelters.removeIf(shelter -> shelter.getName().equals(name));
-
-		JsonConverter.serialization(shelters, JsonPaths.SHELTERS);
+		store.deleteAll(shelters.stream().map(Shelter::getId).toList());
 
 		return true;
 	}
 
 	/**
-	 * Updates an existing animal shelter.
+	 * Updates an existing animal shelter. the number of animals is not taken from the shelter but
+	 * kept as counted from its animals.
 	 *
 	 * @param updatedShelter the updated shelter
 	 */
 	public static void updateShelter(Shelter updatedShelter) {
-		List<Shelter> allShelters = shelters();
-
-		allShelters.removeIf(shelter -> shelter.getId().equals(updatedShelter.getId()));
+		ShelterOccupancy.save(updatedShelter, store);
+	}
 
-		allShelters.add(updatedShelter);
+	/**
+	 * Counts the animals in a shelter, in constant time.
+	 *
+	 * @param shelter the shelter
+	 * @return the number of animals in the shelter, or 0 if the shelter is null
+	 */
+	public static int getOccupancy(Shelter shelter) {
+		return ShelterOccupancy.of(shelter);
+	}
 
-		JsonConverter.serialization(allShelters, JsonPaths.SHELTERS);
+	/**
+	 * Recounts the animals of every shelter in one parallel pass, and saves the shelters whose stored
+	 * number of animals has drifted from it.
+	 *
+	 * @return the number of shelters corrected
+	 */
+	public static int reconcileOccupancy() {
+		return ShelterOccupancy.reconcile(Repositories.of(JsonPaths.ANIMAL, Animal.class), store);
 	}
 
 	/**
@@ -113,10 +126,7 @@ public class ShelterService {
 	 * @return the shelter with the specified ID, or null if not found
 	 */
 	public static Shelter getShelterById(UUID shelterId) {
-		return shelters().stream()
-		    .filter(shelter -> shelter.getId().equals(shelterId))
-		    .findFirst()
-		    .orElse(null);
+		return store.findById(shelterId);
 	}
 
 	/**
@@ -126,14 +136,47 @@ public class ShelterService {
 	 * @return the shelter with the specified name, or null if not found
 	 */
 	public static Shelter findShelterByName(String name) {
-		List<Shelter> shelters = shelters();
-
-		return shelters.stream()
+		return store.findAllById(Indexes.SHELTER_NAME.find(name)).stream()
 		    .filter(shelter -> shelter.getName().equals(name))
 		    .findFirst()
 		    .orElse(null);
 	}
 
+	/**
+	 * Completes the beginning of a shelter name with the names of the shelters starting with it,
+	 * through the prefix index of names.
+	 *
+	 * @param prefix the beginning of the name
+	 * @param limit  the maximal number of names to return
+	 * @return the distinct matching names, in alphabetical order
+	 */
+	public static List<String> completeShelterNames(String prefix, int limit) {
+		return Indexes.SHELTER_NAME.complete(prefix, limit);
+	}
+
+	/**
+	 * Runs a query written in the query language over the shelters, such as
+	 * {@code name = "Приют радісник" or capacity >= 50 order by animals desc}.
+	 *
+	 * @param expression the query
+	 * @return the matching shelters, in the requested order
+	 * @throws QuerySyntaxException if the query is malformed or refers to unknown fields
+	 */
+	public static List<Shelter> advancedSearch(String expression) {
+		return Query.parse(Schemas.SHELTER, expression).list();
+	}
+
+	/**
+	 * Describes how a query written in the query language over the shelters would run.
+	 *
+	 * @param expression the query
+	 * @return the plan of the query, one step per line
+	 * @throws QuerySyntaxException if the query is malformed or refers to unknown fields
+	 */
+	public static String explainSearch(String expression) {
+		return Query.parse(Schemas.SHELTER, expression).explain();
+	}
+
 	/**
 	 * Finds an animal shelter by its maximum capacity of animals.
 	 *
@@ -141,12 +184,7 @@ public class ShelterService {
 	 * @return the shelter with the specified maximum capacity of animals, or null if not found
 	 */
 	public static Shelter findShelterByMaxAnimals(int maxAnimals) {
-		List<Shelter> shelters = shelters();
-
-		return shelters.stream()
-		    .filter(shelter -> shelter.getCapacityOfAnimals() == maxAnimals)
-		    .findFirst()
-		    .orElse(null);
+		return store.findFirst(shelter -> shelter.getCapacityOfAnimals() == maxAnimals);
 	}
 
 	/**
@@ -156,12 +194,7 @@ public class ShelterService {
 	 * @return the shelter with the specified phone number, or null if not found
 	 */
 	public static Shelter findShelterByPhoneNumber(String phoneNumber) {
-		List<Shelter> shelters = shelters();
-
-		return shelters.stream()
-		    .filter(shelter -> shelter.getPhone().equals(phoneNumber))
-		    .findFirst()
-		    .orElse(null);
+		return store.findFirst(shelter -> shelter.getPhone().equals(phoneNumber));
 	}
 
 	/**
@@ -171,12 +204,7 @@ public class ShelterService {
 	 * @return the shelter with the specified address, or null if not found
 	 */
 	public static Shelter findShelterByAddress(String address) {
-		List<Shelter> shelters = shelters();
-
-		return shelters.stream()
-		    .filter(shelter -> shelter.getAddress().equals(address))
-		    .findFirst()
-		    .orElse(null);
+		return store.findFirst(shelter -> shelter.getAddress().equals(address));
 	}
 
 	/**
@@ -185,22 +213,38 @@ public class ShelterService {
 	 * @return a list of all animal shelters
 	 */
 	public static List<Shelter> getAllShelters() {
-		List<Shelter> allShelters = shelters();
-
-		if (allShelters == null) {
-			allShelters = new ArrayList<>();
-		}
+		return store.findAll();
+	}
 
-		return allShelters;
+	/**
+	 * Retrieves a page of the animal shelters, in a stable order.
+	 *
+	 * @param cursor the cursor of the page, as returned with a previous page, or null for the first page
+	 * @param limit  the maximal number of shelters on the page
+	 * @return the page of animal shelters
+	 * @throws IllegalArgumentException if the cursor is malformed or the limit is not positive
+	 */
+	public static Page<Shelter> getSheltersPage(String cursor, int limit) {
+		return Indexes.SHELTER_ORDER.page(cursor, limit).map(store::findAllById);
 	}
 
 	/**
-	 * Retrieves a list of all animal shelters.
+	 * Retrieves a page of the animal shelters whose name starts with a prefix, in the same stable
+	 * order as {@link #getSheltersPage(String, int)}.
 	 *
-	 * @return a list of all animal shelters
+	 * @param namePrefix the beginning of the names, in any letter case, or null or blank for all shelters
+	 * @param cursor     the cursor of the page, as returned with a previous page of the same prefix, or
+	 *                   null for the first page
+	 * @param limit      the maximal number of shelters on the page
+	 * @return the page of animal shelters
+	 * @throws IllegalArgumentException if the cursor is malformed or the limit is not positive
 	 */
-	static List<Shelter> shelters() {
-		return JsonConverter.deserialization(JsonPaths.SHELTERS, Shelter.class);
+	public static Page<Shelter> getSheltersPage(String namePrefix, String cursor, int limit) {
+		if (namePrefix == null || namePrefix.isBlank()) {
+			return getSheltersPage(cursor, limit);
+		}
+		return Indexes.SHELTER_ORDER.page(Indexes.SHELTER_NAME.findByPrefix(namePrefix), cursor, limit)
+		    .map(store::findAllById);
 	}
 
 	/**
@@ -213,8 +257,6 @@ public class ShelterService {
 		final int MIN_SIZE = 3;
 		final int MAX_SIZE = 50;
 
-		List<Shelter> allShelters = getAllShelters();
-
 		if (Boolean.TRUE.equals(ValidatorServiceUtil.isFieldBlankValidate(name))) {
 			errors.add(ExceptionTemplate.EMPTY_FIELD_EXCEPTION.getTemplate().formatted(FIELD_NAME));
 		}
@@ -222,7 +264,8 @@ public class ShelterService {
 			errors.add(ExceptionTemplate.TOO_SHORT_LONG_EXCEPTION.getTemplate()
 			    .formatted(FIELD_NAME, MIN_SIZE, MAX_SIZE));
 		}
-		if (allShelters.stream().anyMatch(shelter -> shelter.getName().equalsIgnoreCase(name))) {
+		if (store.findAllById(Indexes.SHELTER_NAME.find(name)).stream()
+		    .anyMatch(shelter -> shelter.getName().equalsIgnoreCase(name))) {
 			errors.add("Притулок з таким іменем вже існує.");
 		}
 	}
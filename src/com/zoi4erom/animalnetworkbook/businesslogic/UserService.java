@@ -1,30 +1,61 @@
 package com.zoi4erom.animalnetworkbook.businesslogic;
 
 import com.zoi4erom.animalnetworkbook.persistence.entity.User;
-import com.zoi4erom.animalnetworkbook.persistence.jsonhandler.JsonConverter;
 import com.zoi4erom.animalnetworkbook.persistence.jsonhandler.JsonPaths;
+import com.zoi4erom.animalnetworkbook.persistence.store.Indexes;
+import com.zoi4erom.animalnetworkbook.persistence.store.Page;
+import com.zoi4erom.animalnetworkbook.persistence.store.Repositories;
+import com.zoi4erom.animalnetworkbook.persistence.store.Repository;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 /**
  * The {@code UserService} class provides methods for managing user data.
  */
 public class UserService {
 
+	private static final Repository<User> store = Repositories.of(JsonPaths.USER, User.class);
+
 	/**
 	 * Retrieves a list of all users.
 	 *
 	 * @return A list of all users.
 	 */
 	public static List<User> getAllUsers() {
-		List<User> allUsers = users();
-		if (allUsers == null) {
-			allUsers = new ArrayList<>();
+		return store.findAll();
+	}
+
+	/**
+	 * Retrieves a page of the users, in a stable order.
+	 *
+	 * @param cursor The cursor of the page, as returned with a previous page, or null for the first page.
+	 * @param limit  The maximal number of users on the page.
+	 * @return The page of users.
+	 * @throws IllegalArgumentException If the cursor is malformed or the limit is not positive.
+	 */
+	public static Page<User> getUsersPage(String cursor, int limit) {
+		return Indexes.USER_ORDER.page(cursor, limit).map(store::findAllById);
+	}
+
+	/**
+	 * Retrieves a page of the users whose full name starts with a prefix, in the same stable order as
+	 * {@link #getUsersPage(String, int)}.
+	 *
+	 * @param namePrefix The beginning of the full names, in any letter case, or null or blank for all
+	 *                   users.
+	 * @param cursor     The cursor of the page, as returned with a previous page of the same prefix, or
+	 *                   null for the first page.
+	 * @param limit      The maximal number of users on the page.
+	 * @return The page of users.
+	 * @throws IllegalArgumentException If the cursor is malformed or the limit is not positive.
+	 */
+	public static Page<User> getUsersPage(String namePrefix, String cursor, int limit) {
+		if (namePrefix == null || namePrefix.isBlank()) {
+			return getUsersPage(cursor, limit);
 		}
-		return allUsers;
+		return Indexes.USER_ORDER.page(Indexes.USER_NAME.findByPrefix(namePrefix), cursor, limit)
+		    .map(store::findAllById);
 	}
 
 	/**
@@ -34,10 +65,21 @@ public class UserService {
 	 * @return A list of users matching the given full name.
 	 */
 	public static List<User> findUserByName(String fullName) {
-		List<User> users = users();
-		return users.stream()
-		    .filter(user -> user.getFullName().equals(fullName))
-		    .collect(Collectors.toList());
+		List<User> users = store.findAllById(Indexes.USER_NAME.find(fullName));
+		users.removeIf(user -> !user.getFullName().equals(fullName));
+		return users;
+	}
+
+	/**
+	 * Completes the beginning of a full name with the full names of the users starting with it,
+	 * through the prefix index of names.
+	 *
+	 * @param prefix The beginning of the full name.
+	 * @param limit  The maximal number of names to return.
+	 * @return The distinct matching full names, in alphabetical order.
+	 */
+	public static List<String> completeUserNames(String prefix, int limit) {
+		return Indexes.USER_NAME.complete(prefix, limit);
 	}
 
 	/**
@@ -46,17 +88,8 @@ public class UserService {
 	 * @param updatedUser The updated user information.
 	 */
 	public static void updateUser(User updatedUser) {
-		List<User> allUsers = users();
-		if (allUsers != null) {
-			for (int i = 0; i < allUsers.size(); i++) {
-				User user = allUsers.get(i);
-				if (user.getId().equals(updatedUser.getId())) {
-					allUsers.remove(i);
-					allUsers.add(updatedUser);
-					JsonConverter.serialization(allUsers, JsonPaths.USER);
-					return;
-				}
-			}
+		if (store.findById(updatedUser.getId()) != null) {
+			store.save(updatedUser);
 		}
 	}
 
@@ -67,25 +100,11 @@ public class UserService {
 	 * @return The user corresponding to the given UUID, or {@code null} if not found.
 	 */
 	public static User findUserByUUID(String uuidString) {
-		List<User> users = users();
 		try {
-			UUID uuid = UUID.fromString(uuidString);
-			return users.stream()
-			    .filter(user -> user.getId().equals(uuid))
-			    .findFirst()
-			    .orElse(null);
+			return store.findById(UUID.fromString(uuidString));
 		} catch (IllegalArgumentException e) {
 			System.err.println("Invalid UUID format");
 			return null;
 		}
 	}
-
-	/**
-	 * Utility method that deserializes user data from JSON using {@link JsonConverter}.
-	 *
-	 * @return A list of user objects.
-	 */
-	private static List<User> users() {
-		return JsonConverter.deserialization(JsonPaths.USER, User.class);
-	}
 }
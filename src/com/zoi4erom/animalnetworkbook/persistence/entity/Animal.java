@@ -147,10 +147,10 @@ public class Animal extends Entity {
 		    "Age: " + age + '\n' +
 		    "Species: " + species + '\n' +
 		    "Breed: " + breed + '\n' +
-		    "Shelter: \n" +
+		    "Shelter: \n" + (shelter == null || shelter.getName() == null ? "  - deleted shelter\n" :
 		    "  - Shelter Name: " + shelter.getName() + '\n' +
 		    "  - Shelter Address: " + shelter.getAddress() + '\n' +
-		    "  - Shelter Phone Number: " + shelter.getPhone() + '\n' +
+		    "  - Shelter Phone Number: " + shelter.getPhone() + '\n') +
 		    "Date of Delivery: " + dateOfDelivery + '\n' +
 		    "Identifier: " + id + '\n' +
 		    "-------------------------------------------\n";
@@ -122,7 +122,8 @@ public class Request extends Entity {
 	}
 
 	/**
-	 * Returns a string representation of the Request object.
+	 * Returns a string representation of the Request object. An animal or user that no longer
+	 * exists, and so could not be resolved from its identifier, is shown as deleted.
 	 *
 	 * @return A string containing detailed information about the request.
 	 */
@@ -130,22 +131,44 @@ public class Request extends Entity {
 	public String toString() {
 		return '\n' + "-------------------------------------------\n" +
 		    "Request Name: " + name + '\n' +
-		    "Animal: \n" +
-		    "  - Name: " + animal.getName() + '\n' +
-		    "  - Species: " + animal.getSpecies() + '\n' +
-		    "  - Breed: " + animal.getBreed() + '\n' +
-		    "  - Shelter: " + animal.getShelter().getName() + '\n' +
-		    "User: \n" +
-		    "  - Full Name: " + user.getFullName() + '\n' +
-		    "  - Home Address: " + user.getHomeAddress() + '\n' +
-		    "  - Phone Number: " + user.getPhoneNumber() + '\n' +
-		    "  - Birthdate: " + user.getBirthdate() + '\n' +
+		    "Animal: \n" + describeAnimal() +
+		    "User: \n" + describeUser() +
 		    "Status: " + status + '\n' +
 		    "Request Creation Date: " + requestCreateDate + '\n' +
 		    "Identifier: " + id + '\n' +
 		    "-------------------------------------------" + '\n';
 	}
 
+	/**
+	 * Describes the requested animal for {@link #toString()}.
+	 *
+	 * @return The lines describing the animal.
+	 */
+	private String describeAnimal() {
+		if (animal == null || animal.getName() == null) {
+			return "  - deleted animal" + (animal != null ? " (" + animal.getId() + ")" : "") + '\n';
+		}
+		return "  - Name: " + animal.getName() + '\n' +
+		    "  - Species: " + animal.getSpecies() + '\n' +
+		    "  - Breed: " + animal.getBreed() + '\n' +
+		    "  - Shelter: " + (animal.getShelter() != null ? animal.getShelter().getName() : "deleted shelter") + '\n';
+	}
+
+	/**
+	 * Describes the requesting user for {@link #toString()}.
+	 *
+	 * @return The lines describing the user.
+	 */
+	private String describeUser() {
+		if (user == null || user.getFullName() == null) {
+			return "  - deleted user" + (user != null ? " (" + user.getId() + ")" : "") + '\n';
+		}
+		return "  - Full Name: " + user.getFullName() + '\n' +
+		    "  - Home Address: " + user.getHomeAddress() + '\n' +
+		    "  - Phone Number: " + user.getPhoneNumber() + '\n' +
+		    "  - Birthdate: " + user.getBirthdate() + '\n';
+	}
+
 	/**
 	 * Represents the status of a request.
 	 */
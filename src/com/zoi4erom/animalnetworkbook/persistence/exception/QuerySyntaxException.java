@@ -0,0 +1,26 @@
+package com.zoi4erom.animalnetworkbook.persistence.exception;
+
+/**
+ * An exception class for handling malformed query expressions.
+ */
+public class QuerySyntaxException extends RuntimeException {
+
+	/**
+	 * Constructs a QuerySyntaxException with the specified message.
+	 *
+	 * @param message The detail message.
+	 */
+	public QuerySyntaxException(String message) {
+		super(message);
+	}
+
+	/**
+	 * Constructs a QuerySyntaxException with the specified message and cause.
+	 *
+	 * @param message The detail message.
+	 * @param cause   The cause of the exception.
+	 */
+	public QuerySyntaxException(String message, Throwable cause) {
+		super(message, cause);
+	}
+}
@@ -0,0 +1,68 @@
+package com.zoi4erom.animalnetworkbook.persistence.jsonhandler;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.zoi4erom.animalnetworkbook.persistence.entity.Animal;
+import com.zoi4erom.animalnetworkbook.persistence.entity.Request;
+import com.zoi4erom.animalnetworkbook.persistence.entity.Shelter;
+import com.zoi4erom.animalnetworkbook.persistence.entity.User;
+import com.zoi4erom.animalnetworkbook.persistence.jsonhandler.adapter.AnimalAdapter;
+import com.zoi4erom.animalnetworkbook.persistence.jsonhandler.adapter.LocalDateAdapter;
+import com.zoi4erom.animalnetworkbook.persistence.jsonhandler.adapter.RequestAdapter;
+import com.zoi4erom.animalnetworkbook.persistence.jsonhandler.adapter.ShelterAdapter;
+import com.zoi4erom.animalnetworkbook.persistence.jsonhandler.adapter.UserAdapter;
+
+import java.time.LocalDate;
+
+/**
+ * Shared, thread-safe JSON codec of the entity classes.
+ * <p>
+ * The {@link Gson} instances are built once with hand-written streaming adapters for every
+ * {@link com.zoi4erom.animalnetworkbook.persistence.entity.Entity} subclass, so neither the builder
+ * nor reflective field binding is paid for on each read or write.
+ */
+public final class EntityCodec {
+
+	private static final ShelterAdapter SHELTER_ADAPTER = new ShelterAdapter();
+	private static final AnimalAdapter ANIMAL_ADAPTER = new AnimalAdapter(SHELTER_ADAPTER);
+	private static final UserAdapter USER_ADAPTER = new UserAdapter();
+	private static final RequestAdapter REQUEST_ADAPTER = new RequestAdapter(ANIMAL_ADAPTER, USER_ADAPTER);
+
+	private static final Gson GSON = builder().create();
+	private static final Gson PRETTY_GSON = builder().setPrettyPrinting().create();
+
+	private EntityCodec() {
+	}
+
+	/**
+	 * Gets the codec writing compact JSON.
+	 *
+	 * @return The shared compact {@link Gson} instance.
+	 */
+	public static Gson gson() {
+		return GSON;
+	}
+
+	/**
+	 * Gets the codec writing pretty-printed JSON, as used for the data files.
+	 *
+	 * @return The shared pretty-printing {@link Gson} instance.
+	 */
+	public static Gson prettyGson() {
+		return PRETTY_GSON;
+	}
+
+	/**
+	 * Creates a builder with the adapters of the entity classes registered.
+	 *
+	 * @return A configured {@link GsonBuilder}.
+	 */
+	private static GsonBuilder builder() {
+		return new GsonBuilder()
+		    .registerTypeAdapter(LocalDate.class, new LocalDateAdapter())
+		    .registerTypeAdapter(Shelter.class, SHELTER_ADAPTER)
+		    .registerTypeAdapter(Animal.class, ANIMAL_ADAPTER)
+		    .registerTypeAdapter(User.class, USER_ADAPTER)
+		    .registerTypeAdapter(Request.class, REQUEST_ADAPTER);
+	}
+}
@@ -0,0 +1,161 @@
+package com.zoi4erom.animalnetworkbook.persistence.jsonhandler;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.zoi4erom.animalnetworkbook.persistence.entity.Entity;
+import com.zoi4erom.animalnetworkbook.persistence.exception.DeserializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Forward-only cursor over the entities of a JSON array file.
+ * <p>
+ * Entities are decoded one at a time from a buffered UTF-8 reader, so a scan holds a single entity in
+ * memory regardless of the file size. The cursor closes its file once the end of the array is reached;
+ * callers stopping early must close it themselves.
+ *
+ * @param <T> The type of entities in the file.
+ */
+public final class EntityCursor<T extends Entity> implements Iterator<T>, Closeable {
+
+	private final JsonReader reader;
+	private final TypeAdapter<T> adapter;
+	private final Path filePath;
+	private boolean open;
+
+	private EntityCursor(JsonReader reader, TypeAdapter<T> adapter, Path filePath) {
+		this.reader = reader;
+		this.adapter = adapter;
+		this.filePath = filePath;
+		this.open = reader != null;
+	}
+
+	/**
+	 * Opens a cursor over a JSON array file. A missing or empty file yields an empty cursor.
+	 *
+	 * @param filePath The path to the JSON file.
+	 * @param clazz    The class type of entities.
+	 * @param <T>      The type of entities.
+	 * @return A cursor positioned before the first entity.
+	 */
+	public static <T extends Entity> EntityCursor<T> open(Path filePath, Class<T> clazz) {
+		try {
+			if (!Files.exists(filePath) || Files.size(filePath) == 0) {
+				return new EntityCursor<>(null, EntityCodec.gson().getAdapter(clazz), filePath);
+			}
+			return open(new JsonReader(Files.newBufferedReader(filePath, StandardCharsets.UTF_8)), filePath, clazz);
+		} catch (IOException e) {
+			throw new DeserializationException("Error reading from file: " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Opens a cursor over the contents of a JSON array file that were already read into memory.
+	 *
+	 * @param content  The UTF-8 contents of the file.
+	 * @param filePath The path to the JSON file, used in error messages.
+	 * @param clazz    The class type of entities.
+	 * @param <T>      The type of entities.
+	 * @return A cursor positioned before the first entity.
+	 */
+	static <T extends Entity> EntityCursor<T> open(byte[] content, Path filePath, Class<T> clazz) {
+		if (content.length == 0) {
+			return new EntityCursor<>(null, EntityCodec.gson().getAdapter(clazz), filePath);
+		}
+		try {
+			return open(new JsonReader(new InputStreamReader(new ByteArrayInputStream(content), StandardCharsets.UTF_8)),
+			    filePath, clazz);
+		} catch (IOException e) {
+			throw new DeserializationException("Error reading from file: " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Opens a cursor over the array read by a JSON reader, or an empty cursor if it holds null.
+	 *
+	 * @param reader   The reader positioned at the start of the file.
+	 * @param filePath The path to the JSON file, used in error messages.
+	 * @param clazz    The class type of entities.
+	 * @param <T>      The type of entities.
+	 * @return A cursor positioned before the first entity.
+	 * @throws IOException If the reader fails.
+	 */
+	private static <T extends Entity> EntityCursor<T> open(JsonReader reader, Path filePath, Class<T> clazz)
+	    throws IOException {
+		TypeAdapter<T> adapter = EntityCodec.gson().getAdapter(clazz);
+		if (reader.peek() == JsonToken.NULL) {
+			reader.close();
+			return new EntityCursor<>(null, adapter, filePath);
+		}
+		reader.beginArray();
+		return new EntityCursor<>(reader, adapter, filePath);
+	}
+
+	/**
+	 * Checks whether another entity follows, closing the file at the end of the array.
+	 *
+	 * @return true if another entity can be read, false otherwise.
+	 */
+	@Override
+	public boolean hasNext() {
+		if (!open) {
+			return false;
+		}
+		try {
+			if (reader.hasNext()) {
+				return true;
+			}
+			reader.endArray();
+			close();
+			return false;
+		} catch (IOException e) {
+			close();
+			throw new DeserializationException("Error reading from file %s: %s"
+			    .formatted(filePath, e.getMessage()), e);
+		}
+	}
+
+	/**
+	 * Reads the next entity.
+	 *
+	 * @return The next entity.
+	 */
+	@Override
+	public T next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		try {
+			return adapter.read(reader);
+		} catch (IOException | RuntimeException e) {
+			close();
+			throw new DeserializationException("Error reading from file %s: %s"
+			    .formatted(filePath, e.getMessage()), e);
+		}
+	}
+
+	/**
+	 * Closes the underlying file. Closing an exhausted or already closed cursor has no effect.
+	 */
+	@Override
+	public void close() {
+		if (!open) {
+			return;
+		}
+		open = false;
+		try {
+			reader.close();
+		} catch (IOException e) {
+			throw new DeserializationException("Error closing file: " + e.getMessage(), e);
+		}
+	}
+}
@@ -0,0 +1,186 @@
+package com.zoi4erom.animalnetworkbook.persistence.jsonhandler;
+
+import com.zoi4erom.animalnetworkbook.persistence.entity.Entity;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends single entities to a pretty-printed JSON array file in place.
+ * <p>
+ * The new element overwrites the file from the end of the last element onwards, so the cost of an
+ * append does not depend on the number of entities already stored. Before touching the file, the
+ * offset being overwritten is recorded in a sidecar {@code .append} marker; if the process dies
+ * mid-append, {@link #recover(Path)} truncates the file back to that offset and closes the array,
+ * which restores the file as it was before the unfinished append.
+ */
+final class JsonArrayAppender {
+
+	private static final String MARKER_SUFFIX = ".append";
+	private static final String ARRAY_END = "\n]";
+	private static final int SCAN_BLOCK_SIZE = 256;
+
+	private JsonArrayAppender() {
+	}
+
+	/**
+	 * Appends an entity to the JSON array in the specified file.
+	 *
+	 * @param entity   The entity to append.
+	 * @param filePath The path to the JSON array file.
+	 * @return true if the entity was appended, false if the file does not end with a JSON array
+	 *         and has to be rewritten instead.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	static boolean append(Entity entity, Path filePath) throws IOException {
+		if (!Files.exists(filePath)) {
+			return false;
+		}
+
+		try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			long closingBracket = lastNonWhitespace(channel, channel.size());
+			if (closingBracket < 0 || byteAt(channel, closingBracket) != ']') {
+				return false;
+			}
+			long lastToken = lastNonWhitespace(channel, closingBracket);
+			if (lastToken < 0) {
+				return false;
+			}
+			byte last = byteAt(channel, lastToken);
+			if (last != '[' && last != '}') {
+				return false;
+			}
+
+			String element = EntityCodec.prettyGson().toJson(entity, entity.getClass()).replace("\n", "\n  ");
+			String tail = (last == '[' ? "\n  " : ",\n  ") + element + ARRAY_END;
+			byte[] bytes = tail.getBytes(StandardCharsets.UTF_8);
+			long offset = lastToken + 1;
+
+			Path markerPath = markerPath(filePath);
+			Files.writeString(markerPath, Long.toString(offset), StandardCharsets.UTF_8,
+			    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.DSYNC);
+
+			writeFully(channel, ByteBuffer.wrap(bytes), offset);
+			channel.truncate(offset + bytes.length);
+			channel.force(false);
+
+			Files.delete(markerPath);
+			return true;
+		}
+	}
+
+	/**
+	 * Rolls back an append that was interrupted before it completed, if there is one.
+	 *
+	 * @param filePath The path to the JSON array file.
+	 * @return true if an interrupted append was rolled back, false otherwise.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	static boolean recover(Path filePath) throws IOException {
+		Path markerPath = markerPath(filePath);
+		if (!Files.exists(markerPath)) {
+			return false;
+		}
+
+		String content = Files.readString(markerPath, StandardCharsets.UTF_8).trim();
+		if (!content.isEmpty() && Files.exists(filePath)) {
+			long offset = Long.parseLong(content);
+			try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.WRITE)) {
+				channel.truncate(offset);
+				writeFully(channel, ByteBuffer.wrap(ARRAY_END.getBytes(StandardCharsets.UTF_8)), offset);
+				channel.force(false);
+			}
+		}
+		Files.delete(markerPath);
+		return true;
+	}
+
+	/**
+	 * Gets the path of the marker recording an append in progress.
+	 *
+	 * @param filePath The path to the JSON array file.
+	 * @return The path to the marker file.
+	 */
+	private static Path markerPath(Path filePath) {
+		return filePath.resolveSibling(filePath.getFileName() + MARKER_SUFFIX);
+	}
+
+	/**
+	 * Finds the last byte before the specified position that is not JSON whitespace.
+	 *
+	 * @param channel The channel to scan.
+	 * @param end     The position to scan backwards from, exclusive.
+	 * @return The position of the byte, or -1 if there is only whitespace.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	private static long lastNonWhitespace(FileChannel channel, long end) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(SCAN_BLOCK_SIZE);
+		long blockEnd = end;
+		while (blockEnd > 0) {
+			long blockStart = Math.max(0, blockEnd - SCAN_BLOCK_SIZE);
+			buffer.clear().limit((int) (blockEnd - blockStart));
+			readFully(channel, buffer, blockStart);
+			for (int i = buffer.limit() - 1; i >= 0; i--) {
+				byte b = buffer.get(i);
+				if (b != ' ' && b != '\n' && b != '\r' && b != '\t') {
+					return blockStart + i;
+				}
+			}
+			blockEnd = blockStart;
+		}
+		return -1;
+	}
+
+	/**
+	 * Reads the byte at the specified position.
+	 *
+	 * @param channel  The channel to read.
+	 * @param position The position of the byte.
+	 * @return The byte.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	private static byte byteAt(FileChannel channel, long position) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(1);
+		readFully(channel, buffer, position);
+		return buffer.get(0);
+	}
+
+	/**
+	 * Fills the buffer from the channel, starting at the specified position.
+	 *
+	 * @param channel  The channel to read.
+	 * @param buffer   The buffer to fill up to its limit.
+	 * @param position The position to read from.
+	 * @throws IOException If an I/O error occurs or the end of the file is reached.
+	 */
+	private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+		long current = position;
+		while (buffer.hasRemaining()) {
+			int read = channel.read(buffer, current);
+			if (read < 0) {
+				throw new IOException("Unexpected end of file");
+			}
+			current += read;
+		}
+	}
+
+	/**
+	 * Writes the whole buffer to the channel, starting at the specified position.
+	 *
+	 * @param channel  The channel to write.
+	 * @param buffer   The buffer to write.
+	 * @param position The position to write at.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+		long current = position;
+		while (buffer.hasRemaining()) {
+			current += channel.write(buffer, current);
+		}
+	}
+}
@@ -1,32 +1,39 @@
 package com.zoi4erom.animalnetworkbook.persistence.jsonhandler;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.JsonDeserializer;
-import com.google.gson.JsonPrimitive;
-import com.google.gson.JsonSerializer;
 import com.google.gson.reflect.TypeToken;
 import com.zoi4erom.animalnetworkbook.persistence.entity.Entity;
 import com.zoi4erom.animalnetworkbook.persistence.exception.DeserializationException;
 import com.zoi4erom.animalnetworkbook.persistence.exception.SerializationException;
 
-import java.io.FileWriter;
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
 import java.io.Writer;
 import java.lang.reflect.Type;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
 
 /**
  * Utility class for converting objects to and from JSON format.
+ * <p>
+ * All conversions go through the shared {@link EntityCodec}, and files are read and written as UTF-8.
+ * Parsed files are kept in a {@link ParsedFileCache}, so a file is only parsed again once it changes.
  */
 public final class JsonConverter {
-	private static final DateTimeFormatter dateFormatter = DateTimeFormatter.ISO_LOCAL_DATE;
 
 	/**
 	 * Serializes a list of entities to a JSON file.
@@ -36,28 +43,117 @@ public final class JsonConverter {
 	 * @param <T>        The type of entities.
 	 */
 	public static <T extends Entity> void serialization(List<T> entities, JsonPaths jsonPaths) {
-		Type entityType = new TypeToken<List<Entity>>() {}.getType();
+		serialization(entities, Paths.get(jsonPaths.getPath()), jsonPaths.getEntityClass());
+	}
+
+	/**
+	 * Serializes a list of entities to a JSON file at an arbitrary path.
+	 * <p>
+	 * The list is written to a temporary file which then atomically replaces the original, so a
+	 * failed write never leaves a truncated file behind. The written list becomes the cached contents
+	 * of the file.
+	 *
+	 * @param entities   The list of entities to serialize.
+	 * @param filePath   The path to the JSON file.
+	 * @param clazz      The class type of entities.
+	 * @param <T>        The type of entities.
+	 */
+	public static <T extends Entity> void serialization(List<T> entities, Path filePath, Class<? extends Entity> clazz) {
+		Type entityType = TypeToken.getParameterized(List.class, clazz).getType();
 
 		try {
-			Path directoryPath = Paths.get(jsonPaths.getPath()).getParent();
-			Files.createDirectories(directoryPath);
-
-			Gson gson = new GsonBuilder()
-			    .setPrettyPrinting()
-			    .registerTypeAdapter(LocalDate.class, (JsonSerializer<LocalDate>) (src, typeOfSrc, context) ->
-				  new JsonPrimitive(dateFormatter.format(src)))
-			    .registerTypeAdapter(LocalDate.class, (JsonDeserializer<LocalDate>) (json, typeOfT, context) ->
-				  LocalDate.parse(json.getAsJsonPrimitive().getAsString(), dateFormatter))
-			    .create();
-
-			try (Writer writer = new FileWriter(jsonPaths.getPath())) {
-				gson.toJson(entities, entityType, writer);
+			Files.createDirectories(filePath.toAbsolutePath().getParent());
+
+			Path tempPath = filePath.resolveSibling(filePath.getFileName() + ".tmp");
+			CRC32C crc = new CRC32C();
+			try (FileChannel channel = FileChannel.open(tempPath, StandardOpenOption.CREATE,
+			    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+				Writer writer = new BufferedWriter(new OutputStreamWriter(
+				    new CheckedOutputStream(Channels.newOutputStream(channel), crc), StandardCharsets.UTF_8));
+				EntityCodec.prettyGson().toJson(entities, entityType, writer);
+				writer.flush();
+				channel.force(false);
 			}
+			Files.move(tempPath, filePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			ParsedFileCache.written(filePath, entities, crc.getValue());
 		} catch (IOException e) {
 			throw new SerializationException("Error writing to file: " + e.getMessage(), e);
 		}
 	}
 
+	/**
+	 * Drops the entities of a JSON file kept in memory since it was last read or written, for a file
+	 * that is moved or deleted and will not be read again at its path.
+	 *
+	 * @param filePath   The path to the JSON file.
+	 */
+	public static void forget(Path filePath) {
+		ParsedFileCache.invalidate(filePath);
+	}
+
+	/**
+	 * Appends a single entity to a JSON file without rewriting the entities already in it.
+	 *
+	 * @param entity     The entity to append.
+	 * @param jsonPaths  The paths to the JSON file.
+	 * @param <T>        The type of entities.
+	 * @return           true if the entity was appended, false if the file is missing or does not hold
+	 *                   a JSON array, in which case the caller must serialize the whole list instead.
+	 */
+	public static <T extends Entity> boolean append(T entity, JsonPaths jsonPaths) {
+		return append(entity, Paths.get(jsonPaths.getPath()));
+	}
+
+	/**
+	 * Appends a single entity to a JSON file at an arbitrary path without rewriting the entities
+	 * already in it.
+	 *
+	 * @param entity     The entity to append.
+	 * @param filePath   The path to the JSON file.
+	 * @param <T>        The type of entities.
+	 * @return           true if the entity was appended, false if the file is missing or does not hold
+	 *                   a JSON array, in which case the caller must serialize the whole list instead.
+	 */
+	public static <T extends Entity> boolean append(T entity, Path filePath) {
+		try {
+			boolean appended = JsonArrayAppender.append(entity, filePath);
+			if (appended) {
+				ParsedFileCache.appended(filePath, entity);
+			}
+			return appended;
+		} catch (IOException e) {
+			throw new SerializationException("Error appending to file: " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Rolls back an append to a JSON file that was interrupted before it completed.
+	 *
+	 * @param jsonPaths  The paths to the JSON file.
+	 * @return           true if an interrupted append was rolled back, false otherwise.
+	 */
+	public static boolean recoverAppend(JsonPaths jsonPaths) {
+		return recoverAppend(Paths.get(jsonPaths.getPath()));
+	}
+
+	/**
+	 * Rolls back an append to a JSON file at an arbitrary path that was interrupted before it completed.
+	 *
+	 * @param filePath   The path to the JSON file.
+	 * @return           true if an interrupted append was rolled back, false otherwise.
+	 */
+	public static boolean recoverAppend(Path filePath) {
+		try {
+			boolean recovered = JsonArrayAppender.recover(filePath);
+			if (recovered) {
+				ParsedFileCache.invalidate(filePath);
+			}
+			return recovered;
+		} catch (IOException | NumberFormatException e) {
+			throw new DeserializationException("Error recovering file: " + e.getMessage(), e);
+		}
+	}
+
 	/**
 	 * Deserializes a list of entities from a JSON file.
 	 *
@@ -67,28 +163,57 @@ public final class JsonConverter {
 	 * @return           The deserialized list of entities.
 	 */
 	public static <T extends Entity> List<T> deserialization(JsonPaths jsonPaths, Class<T> clazz) {
-		try {
-			Path filePath = Paths.get(jsonPaths.getPath());
+		return deserialization(Paths.get(jsonPaths.getPath()), clazz);
+	}
 
+	/**
+	 * Deserializes a list of entities from a JSON file at an arbitrary path, creating an empty file if
+	 * none exists. An unchanged file is served from the cache without being parsed again; the returned
+	 * list is a copy, but the entities in it are shared.
+	 *
+	 * @param filePath   The path to the JSON file.
+	 * @param clazz      The class type of entities.
+	 * @param <T>        The type of entities.
+	 * @return           The deserialized list of entities.
+	 */
+	public static <T extends Entity> List<T> deserialization(Path filePath, Class<T> clazz) {
+		try {
 			if (!Files.exists(filePath)) {
-				Files.createDirectories(filePath.getParent());
+				Files.createDirectories(filePath.toAbsolutePath().getParent());
 				Files.createFile(filePath);
 				return new ArrayList<>();
 			}
 
-			String jsonContent = Files.readString(filePath);
-
-			Gson gson = new GsonBuilder()
-			    .registerTypeAdapter(LocalDate.class, (JsonSerializer<LocalDate>) (src, typeOfSrc, context) ->
-				  new JsonPrimitive(dateFormatter.format(src)))
-			    .registerTypeAdapter(LocalDate.class, (JsonDeserializer<LocalDate>) (json, typeOfT, context) ->
-				  LocalDate.parse(json.getAsJsonPrimitive().getAsString(), dateFormatter))
-			    .create();
-
-			Type entityType = TypeToken.getParameterized(List.class, clazz).getType();
-			return gson.fromJson(jsonContent, entityType);
+			return ParsedFileCache.get(filePath, clazz);
 		} catch (IOException e) {
 			throw new DeserializationException("Error reading from file: " + e.getMessage(), e);
 		}
 	}
+
+	/**
+	 * Opens a cursor decoding the entities of a JSON file one at a time.
+	 *
+	 * @param jsonPaths  The paths to the JSON file.
+	 * @param clazz      The class type of entities.
+	 * @param <T>        The type of entities.
+	 * @return           A cursor over the entities of the file, which the caller must close.
+	 */
+	public static <T extends Entity> EntityCursor<T> cursor(JsonPaths jsonPaths, Class<T> clazz) {
+		return EntityCursor.open(Paths.get(jsonPaths.getPath()), clazz);
+	}
+
+	/**
+	 * Streams the entities of a JSON file without loading the whole file into memory.
+	 *
+	 * @param jsonPaths  The paths to the JSON file.
+	 * @param clazz      The class type of entities.
+	 * @param <T>        The type of entities.
+	 * @return           A sequential stream of the entities, which the caller must close.
+	 */
+	public static <T extends Entity> Stream<T> stream(JsonPaths jsonPaths, Class<T> clazz) {
+		EntityCursor<T> cursor = cursor(jsonPaths, clazz);
+		return StreamSupport.stream(
+			  Spliterators.spliteratorUnknownSize(cursor, Spliterator.ORDERED | Spliterator.NONNULL), false)
+		    .onClose(cursor::close);
+	}
 }
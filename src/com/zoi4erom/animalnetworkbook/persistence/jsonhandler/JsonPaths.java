@@ -1,23 +1,32 @@
 package com.zoi4erom.animalnetworkbook.persistence.jsonhandler;
 
+import com.zoi4erom.animalnetworkbook.persistence.entity.Animal;
+import com.zoi4erom.animalnetworkbook.persistence.entity.Entity;
+import com.zoi4erom.animalnetworkbook.persistence.entity.Request;
+import com.zoi4erom.animalnetworkbook.persistence.entity.Shelter;
+import com.zoi4erom.animalnetworkbook.persistence.entity.User;
+
 /**
  * Enum representing paths to various JSON files used in the application.
  */
 public enum JsonPaths {
-	USER("users.json"),
-	ANIMAL("animal.json"),
-	SHELTERS("shelters.json"),
-	REQUEST("request.json");
+	USER("users.json", User.class),
+	ANIMAL("animal.json", Animal.class),
+	SHELTERS("shelters.json", Shelter.class),
+	REQUEST("request.json", Request.class);
 
 	private final String path;
+	private final Class<? extends Entity> entityClass;
 
 	/**
 	 * Constructor for the JsonPaths enum.
 	 *
-	 * @param path The relative path to the JSON file.
+	 * @param path        The relative path to the JSON file.
+	 * @param entityClass The class of the entities stored in the JSON file.
 	 */
-	JsonPaths(String path) {
+	JsonPaths(String path, Class<? extends Entity> entityClass) {
 		this.path = path;
+		this.entityClass = entityClass;
 	}
 
 	/**
@@ -28,4 +37,13 @@ public enum JsonPaths {
 	public String getPath() {
 		return "Data/" + path;
 	}
+
+	/**
+	 * Gets the class of the entities stored in the JSON file.
+	 *
+	 * @return The entity class of the JSON file.
+	 */
+	public Class<? extends Entity> getEntityClass() {
+		return entityClass;
+	}
 }
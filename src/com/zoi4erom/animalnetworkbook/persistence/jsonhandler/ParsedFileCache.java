@@ -0,0 +1,277 @@
+package com.zoi4erom.animalnetworkbook.persistence.jsonhandler;
+
+import com.zoi4erom.animalnetworkbook.persistence.entity.Entity;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32C;
+
+/**
+ * Cache of the last parsed contents of each JSON data file.
+ * <p>
+ * An entry is keyed by the size, modification time and CRC-32C hash of the file it was parsed from.
+ * A file whose size and modification time are unchanged is served from the cache without being read;
+ * a file that was touched but not changed is read and hashed, but not parsed again. A
+ * {@link WatchService} on the directories of the cached files marks the entry of a file for
+ * verification as soon as the file is changed by another process, while changes made through {@link JsonConverter} update the
+ * entry in place and are recognized as such when their watch events arrive.
+ * <p>
+ * Cached entities are shared between callers, as the entities of a resident store are.
+ */
+final class ParsedFileCache {
+
+	private static final long UNKNOWN_HASH = -1;
+
+	private static final Map<Path, Entry> entries = new HashMap<>();
+	private static final Set<Path> watchedDirectories = new HashSet<>();
+	private static WatchService watchService;
+
+	private ParsedFileCache() {
+	}
+
+	/**
+	 * Gets the entities of a JSON file, parsing it only if it changed since it was last parsed.
+	 *
+	 * @param file  The path to the JSON file.
+	 * @param clazz The class type of entities.
+	 * @param <T>   The type of entities.
+	 * @return A mutable list of the entities of the file.
+	 * @throws IOException If the file cannot be read.
+	 */
+	static <T extends Entity> List<T> get(Path file, Class<T> clazz) throws IOException {
+		Path filePath = file.toAbsolutePath().normalize();
+		watch(filePath.getParent());
+		BasicFileAttributes attributes = Files.readAttributes(filePath, BasicFileAttributes.class);
+		synchronized (entries) {
+			Entry entry = entries.get(filePath);
+			if (entry != null && entry.matches(attributes)) {
+				return entry.copy(clazz);
+			}
+		}
+
+		byte[] content = Files.readAllBytes(filePath);
+		long hash = hash(content);
+		synchronized (entries) {
+			Entry entry = entries.get(filePath);
+			if (entry != null && entry.hash == hash) {
+				entries.put(filePath, new Entry(attributes.size(), attributes.lastModifiedTime(), hash, entry.entities));
+				return entry.copy(clazz);
+			}
+		}
+
+		List<T> entities = new ArrayList<>();
+		try (EntityCursor<T> cursor = EntityCursor.open(content, filePath, clazz)) {
+			cursor.forEachRemaining(entities::add);
+		}
+		synchronized (entries) {
+			entries.put(filePath, new Entry(attributes.size(), attributes.lastModifiedTime(), hash, new ArrayList<>(entities)));
+		}
+		return entities;
+	}
+
+	/**
+	 * Records the entities just written to a JSON file, so that they are not parsed back on the next
+	 * read.
+	 *
+	 * @param file     The path to the JSON file.
+	 * @param entities The entities written.
+	 * @param hash     The CRC-32C hash of the bytes written.
+	 */
+	static void written(Path file, List<? extends Entity> entities, long hash) {
+		store(file.toAbsolutePath().normalize(), new ArrayList<>(entities), hash);
+	}
+
+	/**
+	 * Records an entity just appended to a JSON file. The cached entities are extended if the file was
+	 * cached; the hash of the file is then unknown until it is read again.
+	 *
+	 * @param file   The path to the JSON file.
+	 * @param entity The entity appended.
+	 */
+	static void appended(Path file, Entity entity) {
+		Path filePath = file.toAbsolutePath().normalize();
+		List<Entity> entities;
+		synchronized (entries) {
+			Entry entry = entries.get(filePath);
+			if (entry == null) {
+				return;
+			}
+			entities = new ArrayList<>(entry.entities);
+		}
+		entities.add(entity);
+		store(filePath, entities, UNKNOWN_HASH);
+	}
+
+	/**
+	 * Drops the cached entities of a JSON file.
+	 *
+	 * @param file The path to the JSON file.
+	 */
+	static void invalidate(Path file) {
+		synchronized (entries) {
+			entries.remove(file.toAbsolutePath().normalize());
+		}
+	}
+
+	/**
+	 * Computes the CRC-32C hash of the contents of a file.
+	 *
+	 * @param content The contents of the file.
+	 * @return The hash.
+	 */
+	static long hash(byte[] content) {
+		CRC32C crc = new CRC32C();
+		crc.update(content);
+		return crc.getValue();
+	}
+
+	/**
+	 * Stores an entry for the current state of a JSON file.
+	 *
+	 * @param filePath The absolute path to the JSON file.
+	 * @param entities The entities of the file.
+	 * @param hash     The hash of the file, or {@link #UNKNOWN_HASH}.
+	 */
+	private static void store(Path filePath, List<? extends Entity> entities, long hash) {
+		try {
+			BasicFileAttributes attributes = Files.readAttributes(filePath, BasicFileAttributes.class);
+			synchronized (entries) {
+				entries.put(filePath, new Entry(attributes.size(), attributes.lastModifiedTime(), hash, entities));
+			}
+		} catch (IOException e) {
+			invalidate(filePath);
+		}
+	}
+
+	/**
+	 * Registers a directory with the watch service, starting the daemon thread that consumes its events
+	 * on first use. If a directory cannot be watched, the entries of its files are still validated
+	 * against the size, modification time and hash of the files.
+	 *
+	 * @param directory The absolute path to the directory of a cached file.
+	 */
+	private static synchronized void watch(Path directory) {
+		if (!watchedDirectories.add(directory)) {
+			return;
+		}
+		try {
+			if (watchService == null) {
+				watchService = FileSystems.getDefault().newWatchService();
+				Thread thread = new Thread(() -> consumeEvents(watchService), "data-watcher");
+				thread.setDaemon(true);
+				thread.start();
+			}
+			directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+			    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+		} catch (IOException | UnsupportedOperationException e) {
+			System.err.println("Watching %s failed: %s".formatted(directory, e.getMessage()));
+		}
+	}
+
+	/**
+	 * Marks the entries of the files changed in the watched directories for verification, ignoring
+	 * events for changes whose result is already cached, such as writes through {@link JsonConverter}.
+	 *
+	 * @param watchService The watch service the directories are registered with.
+	 */
+	private static void consumeEvents(WatchService watchService) {
+		try {
+			while (true) {
+				WatchKey key = watchService.take();
+				Path directory = (Path) key.watchable();
+				for (WatchEvent<?> event : key.pollEvents()) {
+					if (event.context() instanceof Path changed) {
+						verifyIfChanged(directory.resolve(changed));
+					} else if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+						synchronized (entries) {
+							entries.keySet().removeIf(filePath -> filePath.getParent().equals(directory));
+						}
+					}
+				}
+				if (!key.reset()) {
+					synchronized (ParsedFileCache.class) {
+						watchedDirectories.remove(directory);
+					}
+				}
+			}
+		} catch (InterruptedException | ClosedWatchServiceException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Marks the entry of a file for verification unless it matches the current state of the file. The
+	 * next read then hashes the file, and only parses it if the hash differs.
+	 *
+	 * @param filePath The absolute path to the file.
+	 */
+	private static void verifyIfChanged(Path filePath) {
+		synchronized (entries) {
+			if (!entries.containsKey(filePath)) {
+				return;
+			}
+		}
+		try {
+			BasicFileAttributes attributes = Files.readAttributes(filePath, BasicFileAttributes.class);
+			synchronized (entries) {
+				Entry entry = entries.get(filePath);
+				if (entry != null && !entry.matches(attributes)) {
+					entries.put(filePath, new Entry(entry.size, null, entry.hash, entry.entities));
+				}
+			}
+		} catch (IOException e) {
+			invalidate(filePath);
+		}
+	}
+
+	/**
+	 * The parsed entities of a file in a given state.
+	 *
+	 * @param size     The size of the file in bytes.
+	 * @param modified The modification time of the file, or null if the entry must be verified.
+	 * @param hash     The hash of the file, or {@link #UNKNOWN_HASH}.
+	 * @param entities The entities of the file.
+	 */
+	private record Entry(long size, FileTime modified, long hash, List<? extends Entity> entities) {
+
+		/**
+		 * Checks whether the file is still in the state the entry was made from.
+		 *
+		 * @param attributes The current attributes of the file.
+		 * @return true if the size and modification time are unchanged.
+		 */
+		boolean matches(BasicFileAttributes attributes) {
+			return size == attributes.size() && attributes.lastModifiedTime().equals(modified);
+		}
+
+		/**
+		 * Copies the entities into a new list.
+		 *
+		 * @param clazz The class type of entities.
+		 * @param <T>   The type of entities.
+		 * @return A mutable list of the entities.
+		 */
+		<T extends Entity> List<T> copy(Class<T> clazz) {
+			List<T> copy = new ArrayList<>(entities.size());
+			for (Entity entity : entities) {
+				copy.add(clazz.cast(entity));
+			}
+			return copy;
+		}
+	}
+}
@@ -0,0 +1,86 @@
+package com.zoi4erom.animalnetworkbook.persistence.jsonhandler.adapter;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.zoi4erom.animalnetworkbook.persistence.entity.Animal;
+import com.zoi4erom.animalnetworkbook.persistence.entity.Shelter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Streaming adapter of {@link Animal}, writing its shelter as a {@code shelterId} reference.
+ * <p>
+ * Animals stored before references were normalized embed the whole shelter; that copy is still read
+ * through a {@link ShelterAdapter}.
+ */
+public final class AnimalAdapter extends EntityTypeAdapter<Animal> {
+
+	private final ShelterAdapter shelterAdapter;
+
+	/**
+	 * Constructs an adapter using the specified shelter adapter for embedded shelters.
+	 *
+	 * @param shelterAdapter The adapter of an embedded shelter.
+	 */
+	public AnimalAdapter(ShelterAdapter shelterAdapter) {
+		this.shelterAdapter = shelterAdapter;
+	}
+
+	/**
+	 * Writes the fields of an animal.
+	 *
+	 * @param out    The JSON writer.
+	 * @param animal The animal to write.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	@Override
+	protected void writeFields(JsonWriter out, Animal animal) throws IOException {
+		writeString(out, "name", animal.getName());
+		out.name("age").value(animal.getAge());
+		writeString(out, "species", animal.getSpecies());
+		writeString(out, "breed", animal.getBreed());
+		writeDate(out, "dateOfDelivery", animal.getDateOfDelivery());
+		if (animal.getShelter() != null) {
+			writeUuid(out, "shelterId", animal.getShelter().getId());
+		}
+	}
+
+	/**
+	 * Reads the fields of an animal.
+	 *
+	 * @param in The JSON reader.
+	 * @return The animal.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	@Override
+	protected Animal readFields(JsonReader in) throws IOException {
+		UUID id = null;
+		String name = null;
+		int age = 0;
+		String species = null;
+		String breed = null;
+		LocalDate dateOfDelivery = null;
+		Shelter shelter = null;
+		UUID shelterId = null;
+
+		while (in.hasNext()) {
+			switch (in.nextName()) {
+				case "id" -> id = readUuid(in);
+				case "name" -> name = readString(in);
+				case "age" -> age = in.nextInt();
+				case "species" -> species = readString(in);
+				case "breed" -> breed = readString(in);
+				case "dateOfDelivery" -> dateOfDelivery = readDate(in);
+				case "shelterId" -> shelterId = readUuid(in);
+				case "shelter" -> shelter = shelterAdapter.read(in);
+				default -> in.skipValue();
+			}
+		}
+		if (shelter == null && shelterId != null) {
+			shelter = new Shelter(shelterId, null, null, null, 0, 0);
+		}
+		return new Animal(id, name, age, species, breed, dateOfDelivery, shelter);
+	}
+}
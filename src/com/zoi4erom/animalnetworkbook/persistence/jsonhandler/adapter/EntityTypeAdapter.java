@@ -0,0 +1,161 @@
+package com.zoi4erom.animalnetworkbook.persistence.jsonhandler.adapter;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.zoi4erom.animalnetworkbook.persistence.entity.Entity;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Base class of the hand-written streaming adapters of the entity classes.
+ * <p>
+ * Subclasses write their fields in the same order and under the same names as Gson's reflective
+ * binding did, so existing data files remain readable. References to other entities are written as
+ * identifiers only and read back as placeholders carrying just the identifier, which the owning store
+ * replaces with the referenced entity once it is loaded.
+ *
+ * @param <T> The type of entities handled by the adapter.
+ */
+abstract class EntityTypeAdapter<T extends Entity> extends TypeAdapter<T> {
+
+	/**
+	 * Writes an entity as a JSON object.
+	 *
+	 * @param out    The JSON writer.
+	 * @param entity The entity to write, may be null.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	@Override
+	public final void write(JsonWriter out, T entity) throws IOException {
+		if (entity == null) {
+			out.nullValue();
+			return;
+		}
+		out.beginObject();
+		writeFields(out, entity);
+		writeUuid(out, "id", entity.getId());
+		out.endObject();
+	}
+
+	/**
+	 * Reads an entity from a JSON object.
+	 *
+	 * @param in The JSON reader.
+	 * @return The entity, or null for a JSON null.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	@Override
+	public final T read(JsonReader in) throws IOException {
+		if (in.peek() == JsonToken.NULL) {
+			in.nextNull();
+			return null;
+		}
+		in.beginObject();
+		T entity = readFields(in);
+		in.endObject();
+		return entity;
+	}
+
+	/**
+	 * Writes the fields of the entity, except the identifier.
+	 *
+	 * @param out    The JSON writer, positioned inside the entity object.
+	 * @param entity The entity to write.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	protected abstract void writeFields(JsonWriter out, T entity) throws IOException;
+
+	/**
+	 * Reads all remaining names of the entity object and builds the entity.
+	 *
+	 * @param in The JSON reader, positioned inside the entity object.
+	 * @return The entity.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	protected abstract T readFields(JsonReader in) throws IOException;
+
+	/**
+	 * Writes a string field, skipping null values.
+	 *
+	 * @param out   The JSON writer.
+	 * @param name  The field name.
+	 * @param value The field value.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	protected static void writeString(JsonWriter out, String name, String value) throws IOException {
+		if (value != null) {
+			out.name(name).value(value);
+		}
+	}
+
+	/**
+	 * Writes a UUID field as a string, skipping null values.
+	 *
+	 * @param out   The JSON writer.
+	 * @param name  The field name.
+	 * @param value The field value.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	protected static void writeUuid(JsonWriter out, String name, UUID value) throws IOException {
+		if (value != null) {
+			out.name(name).value(value.toString());
+		}
+	}
+
+	/**
+	 * Writes a date field as an ISO string, skipping null values.
+	 *
+	 * @param out   The JSON writer.
+	 * @param name  The field name.
+	 * @param value The field value.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	protected static void writeDate(JsonWriter out, String name, LocalDate value) throws IOException {
+		if (value != null) {
+			out.name(name).value(LocalDateAdapter.format(value));
+		}
+	}
+
+	/**
+	 * Reads a string value or a JSON null.
+	 *
+	 * @param in The JSON reader.
+	 * @return The string, or null.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	protected static String readString(JsonReader in) throws IOException {
+		if (in.peek() == JsonToken.NULL) {
+			in.nextNull();
+			return null;
+		}
+		return in.nextString();
+	}
+
+	/**
+	 * Reads a UUID string or a JSON null.
+	 *
+	 * @param in The JSON reader.
+	 * @return The UUID, or null.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	protected static UUID readUuid(JsonReader in) throws IOException {
+		String value = readString(in);
+		return value != null ? UUID.fromString(value) : null;
+	}
+
+	/**
+	 * Reads an ISO date string or a JSON null.
+	 *
+	 * @param in The JSON reader.
+	 * @return The date, or null.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	protected static LocalDate readDate(JsonReader in) throws IOException {
+		String value = readString(in);
+		return value != null ? LocalDateAdapter.parse(value) : null;
+	}
+}
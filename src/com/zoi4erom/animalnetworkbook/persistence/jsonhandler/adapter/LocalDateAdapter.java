@@ -0,0 +1,118 @@
+package com.zoi4erom.animalnetworkbook.persistence.jsonhandler.adapter;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+/**
+ * Streaming adapter writing and reading {@link LocalDate} values as ISO dates ({@code yyyy-MM-dd}).
+ * <p>
+ * Four-digit years, which is every date the application stores, are formatted and parsed by hand;
+ * anything else falls back to {@link LocalDate#parse(CharSequence)} and {@link LocalDate#toString()}.
+ */
+public final class LocalDateAdapter extends TypeAdapter<LocalDate> {
+
+	private static final int ISO_DATE_LENGTH = 10;
+
+	/**
+	 * Writes a date as an ISO string.
+	 *
+	 * @param out  The JSON writer.
+	 * @param date The date to write, may be null.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	@Override
+	public void write(JsonWriter out, LocalDate date) throws IOException {
+		if (date == null) {
+			out.nullValue();
+			return;
+		}
+		out.value(format(date));
+	}
+
+	/**
+	 * Reads an ISO date string.
+	 *
+	 * @param in The JSON reader.
+	 * @return The parsed date, or null for a JSON null.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	@Override
+	public LocalDate read(JsonReader in) throws IOException {
+		if (in.peek() == JsonToken.NULL) {
+			in.nextNull();
+			return null;
+		}
+		return parse(in.nextString());
+	}
+
+	/**
+	 * Formats a date as {@code yyyy-MM-dd}.
+	 *
+	 * @param date The date to format.
+	 * @return The ISO representation of the date.
+	 */
+	public static String format(LocalDate date) {
+		int year = date.getYear();
+		if (year < 1000 || year > 9999) {
+			return date.toString();
+		}
+		int month = date.getMonthValue();
+		int day = date.getDayOfMonth();
+		char[] chars = new char[ISO_DATE_LENGTH];
+		chars[0] = (char) ('0' + year / 1000);
+		chars[1] = (char) ('0' + year / 100 % 10);
+		chars[2] = (char) ('0' + year / 10 % 10);
+		chars[3] = (char) ('0' + year % 10);
+		chars[4] = '-';
+		chars[5] = (char) ('0' + month / 10);
+		chars[6] = (char) ('0' + month % 10);
+		chars[7] = '-';
+		chars[8] = (char) ('0' + day / 10);
+		chars[9] = (char) ('0' + day % 10);
+		return new String(chars);
+	}
+
+	/**
+	 * Parses a {@code yyyy-MM-dd} string.
+	 *
+	 * @param text The text to parse.
+	 * @return The parsed date.
+	 */
+	public static LocalDate parse(String text) {
+		if (text.length() != ISO_DATE_LENGTH || text.charAt(4) != '-' || text.charAt(7) != '-') {
+			return LocalDate.parse(text);
+		}
+		int year = digits(text, 0, 4);
+		int month = digits(text, 5, 7);
+		int day = digits(text, 8, 10);
+		if (year < 0 || month < 0 || day < 0) {
+			return LocalDate.parse(text);
+		}
+		return LocalDate.of(year, month, day);
+	}
+
+	/**
+	 * Reads the decimal number in the specified range of a string.
+	 *
+	 * @param text  The text to read.
+	 * @param start The index of the first digit, inclusive.
+	 * @param end   The index after the last digit.
+	 * @return The number, or -1 if the range contains a non-digit.
+	 */
+	private static int digits(String text, int start, int end) {
+		int value = 0;
+		for (int i = start; i < end; i++) {
+			int digit = text.charAt(i) - '0';
+			if (digit < 0 || digit > 9) {
+				return -1;
+			}
+			value = value * 10 + digit;
+		}
+		return value;
+	}
+}
@@ -0,0 +1,107 @@
+package com.zoi4erom.animalnetworkbook.persistence.jsonhandler.adapter;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.zoi4erom.animalnetworkbook.persistence.entity.Animal;
+import com.zoi4erom.animalnetworkbook.persistence.entity.Request;
+import com.zoi4erom.animalnetworkbook.persistence.entity.Request.RequestStatus;
+import com.zoi4erom.animalnetworkbook.persistence.entity.User;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Streaming adapter of {@link Request}, writing its animal and user as {@code animalId} and
+ * {@code userId} references.
+ * <p>
+ * Requests stored before references were normalized embed the whole animal and user; those copies
+ * are still read through their own adapters.
+ */
+public final class RequestAdapter extends EntityTypeAdapter<Request> {
+
+	private final AnimalAdapter animalAdapter;
+	private final UserAdapter userAdapter;
+
+	/**
+	 * Constructs an adapter using the specified adapters for an embedded animal and user.
+	 *
+	 * @param animalAdapter The adapter of an embedded animal.
+	 * @param userAdapter   The adapter of an embedded user.
+	 */
+	public RequestAdapter(AnimalAdapter animalAdapter, UserAdapter userAdapter) {
+		this.animalAdapter = animalAdapter;
+		this.userAdapter = userAdapter;
+	}
+
+	/**
+	 * Writes the fields of a request.
+	 *
+	 * @param out     The JSON writer.
+	 * @param request The request to write.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	@Override
+	protected void writeFields(JsonWriter out, Request request) throws IOException {
+		writeString(out, "name", request.getName());
+		if (request.getAnimal() != null) {
+			writeUuid(out, "animalId", request.getAnimal().getId());
+		}
+		if (request.getUser() != null) {
+			writeUuid(out, "userId", request.getUser().getId());
+		}
+		if (request.getStatus() != null) {
+			out.name("status").value(request.getStatus().name());
+		}
+		writeDate(out, "requestCreateDate", request.getRequestCreateDate());
+	}
+
+	/**
+	 * Reads the fields of a request.
+	 *
+	 * @param in The JSON reader.
+	 * @return The request.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	@Override
+	protected Request readFields(JsonReader in) throws IOException {
+		UUID id = null;
+		String name = null;
+		Animal animal = null;
+		User user = null;
+		UUID animalId = null;
+		UUID userId = null;
+		RequestStatus status = null;
+		LocalDate requestCreateDate = null;
+
+		while (in.hasNext()) {
+			switch (in.nextName()) {
+				case "id" -> id = readUuid(in);
+				case "name" -> name = readString(in);
+				case "animalId" -> animalId = readUuid(in);
+				case "userId" -> userId = readUuid(in);
+				case "animal" -> animal = animalAdapter.read(in);
+				case "user" -> user = userAdapter.read(in);
+				case "status" -> {
+					String value = readString(in);
+					status = value != null ? RequestStatus.valueOf(value) : null;
+				}
+				case "requestCreateDate" -> requestCreateDate = readDate(in);
+				default -> in.skipValue();
+			}
+		}
+
+		if (animal == null && animalId != null) {
+			animal = new Animal(animalId, null, 0, null, null, null, null);
+		}
+		if (user == null && userId != null) {
+			user = new User(userId, null, null, null, null, null, null, null);
+		}
+
+		Request request = new Request(id, name, animal, user, requestCreateDate);
+		if (status != null) {
+			request.setStatus(status);
+		}
+		return request;
+	}
+}
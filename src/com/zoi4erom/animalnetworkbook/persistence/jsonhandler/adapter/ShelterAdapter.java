@@ -0,0 +1,60 @@
+package com.zoi4erom.animalnetworkbook.persistence.jsonhandler.adapter;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.zoi4erom.animalnetworkbook.persistence.entity.Shelter;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Streaming adapter of {@link Shelter}.
+ */
+public final class ShelterAdapter extends EntityTypeAdapter<Shelter> {
+
+	/**
+	 * Writes the fields of a shelter.
+	 *
+	 * @param out     The JSON writer.
+	 * @param shelter The shelter to write.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	@Override
+	protected void writeFields(JsonWriter out, Shelter shelter) throws IOException {
+		writeString(out, "name", shelter.getName());
+		writeString(out, "address", shelter.getAddress());
+		writeString(out, "phone", shelter.getPhone());
+		out.name("numbersOfAnimals").value(shelter.getNumbersOfAnimals());
+		out.name("capacityOfAnimals").value(shelter.getCapacityOfAnimals());
+	}
+
+	/**
+	 * Reads the fields of a shelter.
+	 *
+	 * @param in The JSON reader.
+	 * @return The shelter.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	@Override
+	protected Shelter readFields(JsonReader in) throws IOException {
+		UUID id = null;
+		String name = null;
+		String address = null;
+		String phone = null;
+		int numbersOfAnimals = 0;
+		int capacityOfAnimals = 0;
+
+		while (in.hasNext()) {
+			switch (in.nextName()) {
+				case "id" -> id = readUuid(in);
+				case "name" -> name = readString(in);
+				case "address" -> address = readString(in);
+				case "phone" -> phone = readString(in);
+				case "numbersOfAnimals" -> numbersOfAnimals = in.nextInt();
+				case "capacityOfAnimals" -> capacityOfAnimals = in.nextInt();
+				default -> in.skipValue();
+			}
+		}
+		return new Shelter(id, name, address, phone, numbersOfAnimals, capacityOfAnimals);
+	}
+}
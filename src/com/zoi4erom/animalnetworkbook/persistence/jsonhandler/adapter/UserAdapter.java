@@ -0,0 +1,73 @@
+package com.zoi4erom.animalnetworkbook.persistence.jsonhandler.adapter;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.zoi4erom.animalnetworkbook.persistence.entity.User;
+import com.zoi4erom.animalnetworkbook.persistence.entity.User.Role;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Streaming adapter of {@link User}.
+ */
+public final class UserAdapter extends EntityTypeAdapter<User> {
+
+	/**
+	 * Writes the fields of a user.
+	 *
+	 * @param out  The JSON writer.
+	 * @param user The user to write.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	@Override
+	protected void writeFields(JsonWriter out, User user) throws IOException {
+		writeString(out, "fullName", user.getFullName());
+		writeString(out, "password", user.getPassword());
+		writeString(out, "phoneNumber", user.getPhoneNumber());
+		writeString(out, "homeAddress", user.getHomeAddress());
+		writeString(out, "email", user.getEmail());
+		writeDate(out, "birthdate", user.getBirthdate());
+		if (user.getRole() != null) {
+			out.name("role").value(user.getRole().name());
+		}
+	}
+
+	/**
+	 * Reads the fields of a user.
+	 *
+	 * @param in The JSON reader.
+	 * @return The user.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	@Override
+	protected User readFields(JsonReader in) throws IOException {
+		UUID id = null;
+		String fullName = null;
+		String password = null;
+		String phoneNumber = null;
+		String homeAddress = null;
+		String email = null;
+		LocalDate birthdate = null;
+		Role role = null;
+
+		while (in.hasNext()) {
+			switch (in.nextName()) {
+				case "id" -> id = readUuid(in);
+				case "fullName" -> fullName = readString(in);
+				case "password" -> password = readString(in);
+				case "phoneNumber" -> phoneNumber = readString(in);
+				case "homeAddress" -> homeAddress = readString(in);
+				case "email" -> email = readString(in);
+				case "birthdate" -> birthdate = readDate(in);
+				case "role" -> {
+					String value = readString(in);
+					role = value != null ? Role.valueOf(value) : null;
+				}
+				default -> in.skipValue();
+			}
+		}
+		return new User(id, fullName, password, phoneNumber, homeAddress, email, birthdate, role);
+	}
+}
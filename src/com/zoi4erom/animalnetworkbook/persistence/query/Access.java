@@ -0,0 +1,15 @@
+package com.zoi4erom.animalnetworkbook.persistence.query;
+
+import java.util.Collection;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * A way of reaching the candidates of a query through indexes rather than by scanning the store.
+ *
+ * @param description The description of the access in query plans.
+ * @param estimate    The number of candidates the access yields.
+ * @param ids         The lookup of the identifiers of the candidates.
+ */
+record Access(String description, int estimate, Supplier<Collection<UUID>> ids) {
+}
@@ -0,0 +1,353 @@
+package com.zoi4erom.animalnetworkbook.persistence.query;
+
+import com.zoi4erom.animalnetworkbook.persistence.entity.Entity;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * A condition on entities, built from comparisons on {@link Field fields} combined with
+ * {@link #and(Condition)} and {@link #or(Condition)}.
+ * <p>
+ * Besides testing entities, a condition tells the planner how its candidates can be reached through
+ * indexes: a comparison through the index of its field, a conjunction through its most selective
+ * operand, and a disjunction through the union of its operands when every one of them has an index.
+ *
+ * @param <T> The type of entities.
+ */
+public abstract class Condition<T extends Entity> {
+
+	Condition() {
+	}
+
+	/**
+	 * Checks whether an entity satisfies the condition.
+	 *
+	 * @param entity The entity to check.
+	 * @return true if the entity satisfies the condition.
+	 */
+	public abstract boolean test(T entity);
+
+	/**
+	 * Combines the condition with another that must hold as well.
+	 *
+	 * @param other The other condition.
+	 * @return The conjunction of both conditions.
+	 */
+	public Condition<T> and(Condition<T> other) {
+		return new And<>(flatten(And.class, List.of(this, other)));
+	}
+
+	/**
+	 * Combines the condition with another that may hold instead.
+	 *
+	 * @param other The other condition.
+	 * @return The disjunction of both conditions.
+	 */
+	public Condition<T> or(Condition<T> other) {
+		return new Or<>(flatten(Or.class, List.of(this, other)));
+	}
+
+	/**
+	 * Gets the cheapest way of reaching the entities that may satisfy the condition through indexes.
+	 *
+	 * @return The access, or null if the condition can only be checked by scanning the store.
+	 */
+	abstract Access access();
+
+	/**
+	 * Gets the operands of nested combinations of the same kind as their own operands.
+	 *
+	 * @param kind     The class of the combination.
+	 * @param operands The operands.
+	 * @param <T>      The type of entities.
+	 * @return The flattened operands.
+	 */
+	private static <T extends Entity> List<Condition<T>> flatten(Class<?> kind, List<Condition<T>> operands) {
+		List<Condition<T>> flattened = new ArrayList<>();
+		for (Condition<T> operand : operands) {
+			if (kind.isInstance(operand)) {
+				flattened.addAll(((Combination<T>) operand).operands);
+			} else {
+				flattened.add(operand);
+			}
+		}
+		return flattened;
+	}
+
+	/**
+	 * A comparison of a field to a value.
+	 *
+	 * @param <T> The type of entities.
+	 * @param <V> The type of values of the field.
+	 */
+	static final class Comparison<T extends Entity, V extends Comparable<? super V>> extends Condition<T> {
+
+		private final Field<T, V> field;
+		private final Operator operator;
+		private final V value;
+		private final V normalized;
+
+		/**
+		 * Constructs a comparison of a field to a value.
+		 *
+		 * @param field    The field.
+		 * @param operator The comparison operator.
+		 * @param value    The value.
+		 */
+		Comparison(Field<T, V> field, Operator operator, V value) {
+			this.field = field;
+			this.operator = operator;
+			this.value = value;
+			this.normalized = field.normalize(value);
+		}
+
+		/**
+		 * Gets the compared field.
+		 *
+		 * @return The field.
+		 */
+		Field<T, V> field() {
+			return field;
+		}
+
+		/**
+		 * Gets the comparison operator.
+		 *
+		 * @return The operator.
+		 */
+		Operator operator() {
+			return operator;
+		}
+
+		/**
+		 * Gets the value the field is compared to.
+		 *
+		 * @return The value.
+		 */
+		V value() {
+			return value;
+		}
+
+		/**
+		 * Checks whether the field of an entity compares to the value as the operator requires. An
+		 * entity without a value only satisfies an inequality. A value equal to the operand as stored
+		 * is not normalized.
+		 *
+		 * @param entity The entity to check.
+		 * @return true if the entity satisfies the comparison.
+		 */
+		@Override
+		public boolean test(T entity) {
+			V actual = field.valueOf(entity);
+			if (actual == null || normalized == null) {
+				return operator == Operator.NE && (actual != null || normalized != null);
+			}
+			if (actual.equals(value)) {
+				return operator.test(0);
+			}
+			return operator.test(field.normalize(actual).compareTo(normalized));
+		}
+
+		/**
+		 * Gets the lookup of the index of the field, if it answers the comparison.
+		 *
+		 * @return The access, or null if the field has no index answering the comparison.
+		 */
+		@Override
+		Access access() {
+			FieldIndex<V> index = field.index();
+			if (index == null || value == null) {
+				return null;
+			}
+			int estimate = index.estimate(operator, value);
+			if (estimate < 0) {
+				return null;
+			}
+			return new Access("%s (%s)".formatted(index.name(), this), estimate, () -> index.lookup(operator, value));
+		}
+
+		/**
+		 * Writes the comparison in the query language.
+		 *
+		 * @return The comparison, with text values quoted.
+		 */
+		@Override
+		public String toString() {
+			String operand = value instanceof String ? "\"" + value + "\"" : String.valueOf(value);
+			return field.getName() + " " + operator.getSymbol() + " " + operand;
+		}
+	}
+
+	/**
+	 * A combination of several conditions.
+	 *
+	 * @param <T> The type of entities.
+	 */
+	abstract static sealed class Combination<T extends Entity> extends Condition<T> permits And, Or {
+
+		final List<Condition<T>> operands;
+
+		/**
+		 * Constructs a combination of conditions.
+		 *
+		 * @param operands The combined conditions.
+		 */
+		Combination(List<Condition<T>> operands) {
+			this.operands = List.copyOf(operands);
+		}
+	}
+
+	/**
+	 * A conjunction of conditions.
+	 *
+	 * @param <T> The type of entities.
+	 */
+	static final class And<T extends Entity> extends Combination<T> {
+
+		/**
+		 * Constructs a conjunction of conditions.
+		 *
+		 * @param operands The conditions that must all hold.
+		 */
+		And(List<Condition<T>> operands) {
+			super(operands);
+		}
+
+		/**
+		 * Checks whether an entity satisfies all the operands.
+		 *
+		 * @param entity The entity to check.
+		 * @return true if the entity satisfies every operand.
+		 */
+		@Override
+		public boolean test(T entity) {
+			for (Condition<T> operand : operands) {
+				if (!operand.test(entity)) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * Gets the most selective access among those of the operands, since every candidate of the
+		 * conjunction is a candidate of each operand.
+		 *
+		 * @return The access yielding the fewest candidates, or null if no operand has one.
+		 */
+		@Override
+		Access access() {
+			Access best = null;
+			for (Condition<T> operand : operands) {
+				Access access = operand.access();
+				if (access != null && (best == null || access.estimate() < best.estimate())) {
+					best = access;
+				}
+			}
+			return best;
+		}
+
+		/**
+		 * Gets the comparisons among the operands.
+		 *
+		 * @return The operands that are comparisons.
+		 */
+		List<Comparison<T, ?>> comparisons() {
+			List<Comparison<T, ?>> comparisons = new ArrayList<>();
+			for (Condition<T> operand : operands) {
+				if (operand instanceof Comparison<T, ?> comparison) {
+					comparisons.add(comparison);
+				}
+			}
+			return comparisons;
+		}
+
+		/**
+		 * Writes the conjunction in the query language.
+		 *
+		 * @return The operands joined by "and", disjunctions in parentheses.
+		 */
+		@Override
+		public String toString() {
+			return operands.stream()
+			    .map(operand -> operand instanceof Or ? "(" + operand + ")" : operand.toString())
+			    .collect(Collectors.joining(" and "));
+		}
+	}
+
+	/**
+	 * A disjunction of conditions.
+	 *
+	 * @param <T> The type of entities.
+	 */
+	static final class Or<T extends Entity> extends Combination<T> {
+
+		/**
+		 * Constructs a disjunction of conditions.
+		 *
+		 * @param operands The conditions of which one must hold.
+		 */
+		Or(List<Condition<T>> operands) {
+			super(operands);
+		}
+
+		/**
+		 * Checks whether an entity satisfies any of the operands.
+		 *
+		 * @param entity The entity to check.
+		 * @return true if the entity satisfies some operand.
+		 */
+		@Override
+		public boolean test(T entity) {
+			for (Condition<T> operand : operands) {
+				if (operand.test(entity)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * Gets the union of the accesses of the operands, when each operand has one.
+		 *
+		 * @return The union of the accesses, or null if some operand can only be checked by a scan.
+		 */
+		@Override
+		Access access() {
+			List<Access> accesses = new ArrayList<>();
+			long estimate = 0;
+			for (Condition<T> operand : operands) {
+				Access access = operand.access();
+				if (access == null) {
+					return null;
+				}
+				accesses.add(access);
+				estimate += access.estimate();
+			}
+			String description = accesses.stream().map(Access::description)
+			    .collect(Collectors.joining(", ", "union of [", "]"));
+			return new Access(description, (int) Math.min(estimate, Integer.MAX_VALUE), () -> {
+				Set<UUID> ids = new LinkedHashSet<>();
+				for (Access access : accesses) {
+					ids.addAll(access.ids().get());
+				}
+				return ids;
+			});
+		}
+
+		/**
+		 * Writes the disjunction in the query language.
+		 *
+		 * @return The operands joined by "or".
+		 */
+		@Override
+		public String toString() {
+			return operands.stream().map(Condition::toString).collect(Collectors.joining(" or "));
+		}
+	}
+}
@@ -0,0 +1,233 @@
+package com.zoi4erom.animalnetworkbook.persistence.query;
+
+import com.zoi4erom.animalnetworkbook.persistence.entity.Entity;
+import com.zoi4erom.animalnetworkbook.persistence.exception.QuerySyntaxException;
+import com.zoi4erom.animalnetworkbook.persistence.store.TextKey;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * A field of an entity that query conditions compare and queries order by.
+ * <p>
+ * Values are compared after normalization, so that text fields match regardless of letter case and
+ * Unicode composition, as the text indexes do. A field may have an index answering some of its
+ * comparisons, which the planner of a {@link Query} uses instead of scanning the store.
+ *
+ * @param <T> The type of entities.
+ * @param <V> The type of values of the field.
+ */
+public final class Field<T extends Entity, V extends Comparable<? super V>> {
+
+	private final String name;
+	private final Function<? super T, V> getter;
+	private final Function<String, V> parser;
+	private final UnaryOperator<V> normalizer;
+	private final FieldIndex<V> index;
+
+	private Field(String name, Function<? super T, V> getter, Function<String, V> parser,
+	    UnaryOperator<V> normalizer, FieldIndex<V> index) {
+		this.name = name;
+		this.getter = getter;
+		this.parser = parser;
+		this.normalizer = normalizer;
+		this.index = index;
+	}
+
+	/**
+	 * Creates a text field, compared regardless of letter case and Unicode composition.
+	 *
+	 * @param name   The name of the field in the query language.
+	 * @param getter The function reading the field.
+	 * @param index  The index over the field, or null if there is none.
+	 * @param <T>    The type of entities.
+	 * @return The field.
+	 */
+	static <T extends Entity> Field<T, String> text(String name, Function<? super T, String> getter,
+	    FieldIndex<String> index) {
+		return new Field<>(name, getter, Function.identity(), TextKey::fold, index);
+	}
+
+	/**
+	 * Creates an integer field.
+	 *
+	 * @param name   The name of the field in the query language.
+	 * @param getter The function reading the field.
+	 * @param index  The index over the field, or null if there is none.
+	 * @param <T>    The type of entities.
+	 * @return The field.
+	 */
+	static <T extends Entity> Field<T, Integer> number(String name, Function<? super T, Integer> getter,
+	    FieldIndex<Integer> index) {
+		return new Field<>(name, getter, Integer::valueOf, UnaryOperator.identity(), index);
+	}
+
+	/**
+	 * Creates a field holding constants of an enum, written by their names in any letter case.
+	 *
+	 * @param name      The name of the field in the query language.
+	 * @param enumClass The enum of the values.
+	 * @param getter    The function reading the field.
+	 * @param index     The index over the field, or null if there is none.
+	 * @param <T>       The type of entities.
+	 * @param <E>       The type of values.
+	 * @return The field.
+	 */
+	static <T extends Entity, E extends Enum<E>> Field<T, E> constant(String name, Class<E> enumClass,
+	    Function<? super T, E> getter, FieldIndex<E> index) {
+		return new Field<>(name, getter, text -> Enum.valueOf(enumClass, text.toUpperCase(Locale.ROOT)),
+		    UnaryOperator.identity(), index);
+	}
+
+	/**
+	 * Gets the name of the field in the query language.
+	 *
+	 * @return The name of the field.
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Creates the condition that the field equals a value.
+	 *
+	 * @param value The value.
+	 * @return The condition.
+	 */
+	public Condition<T> eq(V value) {
+		return is(Operator.EQ, value);
+	}
+
+	/**
+	 * Creates the condition that the field differs from a value.
+	 *
+	 * @param value The value.
+	 * @return The condition.
+	 */
+	public Condition<T> ne(V value) {
+		return is(Operator.NE, value);
+	}
+
+	/**
+	 * Creates the condition that the field is less than a value.
+	 *
+	 * @param value The value.
+	 * @return The condition.
+	 */
+	public Condition<T> lt(V value) {
+		return is(Operator.LT, value);
+	}
+
+	/**
+	 * Creates the condition that the field is at most a value.
+	 *
+	 * @param value The value.
+	 * @return The condition.
+	 */
+	public Condition<T> le(V value) {
+		return is(Operator.LE, value);
+	}
+
+	/**
+	 * Creates the condition that the field is greater than a value.
+	 *
+	 * @param value The value.
+	 * @return The condition.
+	 */
+	public Condition<T> gt(V value) {
+		return is(Operator.GT, value);
+	}
+
+	/**
+	 * Creates the condition that the field is at least a value.
+	 *
+	 * @param value The value.
+	 * @return The condition.
+	 */
+	public Condition<T> ge(V value) {
+		return is(Operator.GE, value);
+	}
+
+	/**
+	 * Creates the condition that the field compares to a value as an operator requires.
+	 *
+	 * @param operator The comparison operator.
+	 * @param value    The value.
+	 * @return The condition.
+	 */
+	public Condition<T> is(Operator operator, V value) {
+		return new Condition.Comparison<>(this, operator, value);
+	}
+
+	/**
+	 * Creates the condition that the field compares to a value written in the query language.
+	 *
+	 * @param operator The comparison operator.
+	 * @param literal  The value as written in the query.
+	 * @return The condition.
+	 * @throws QuerySyntaxException If the value is not a valid value of the field.
+	 */
+	Condition<T> parse(Operator operator, String literal) {
+		V value;
+		try {
+			value = parser.apply(literal);
+		} catch (IllegalArgumentException e) {
+			throw new QuerySyntaxException("Invalid value '%s' for field '%s'".formatted(literal, name), e);
+		}
+		return is(operator, value);
+	}
+
+	/**
+	 * Reads the value of the field of an entity, as stored.
+	 *
+	 * @param entity The entity.
+	 * @return The value, or null if the entity has none.
+	 */
+	V valueOf(T entity) {
+		return getter.apply(entity);
+	}
+
+	/**
+	 * Normalizes a value as values of the field are when compared.
+	 *
+	 * @param value The value.
+	 * @return The normalized value.
+	 */
+	V normalize(V value) {
+		return value == null ? null : normalizer.apply(value);
+	}
+
+	/**
+	 * Gets the index answering comparisons on the field.
+	 *
+	 * @return The index, or null if there is none.
+	 */
+	FieldIndex<V> index() {
+		return index;
+	}
+
+	/**
+	 * Sorts entities by the normalized value of the field, entities without a value last. Each value is
+	 * normalized once rather than on every comparison.
+	 *
+	 * @param entities   The entities to sort.
+	 * @param descending Whether to sort by descending value.
+	 */
+	void sort(List<T> entities, boolean descending) {
+		List<Map.Entry<V, T>> keyed = new ArrayList<>(entities.size());
+		for (T entity : entities) {
+			keyed.add(new AbstractMap.SimpleImmutableEntry<>(normalize(valueOf(entity)), entity));
+		}
+		Comparator<V> order = descending ? Comparator.reverseOrder() : Comparator.naturalOrder();
+		keyed.sort(Map.Entry.comparingByKey(Comparator.nullsLast(order)));
+		for (int i = 0; i < keyed.size(); i++) {
+			entities.set(i, keyed.get(i).getValue());
+		}
+	}
+}
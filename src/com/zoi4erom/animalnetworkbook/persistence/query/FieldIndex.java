@@ -0,0 +1,87 @@
+package com.zoi4erom.animalnetworkbook.persistence.query;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * The lookups an index offers for comparisons on a field.
+ *
+ * @param <V> The type of values of the field.
+ */
+interface FieldIndex<V> {
+
+	/**
+	 * Gets the name of the index in query plans.
+	 *
+	 * @return The name of the index.
+	 */
+	String name();
+
+	/**
+	 * Counts the entities satisfying a comparison, if the index can answer it.
+	 *
+	 * @param operator The comparison operator.
+	 * @param value    The operand.
+	 * @return The number of matching entities, or -1 if the index cannot answer the comparison.
+	 */
+	int estimate(Operator operator, V value);
+
+	/**
+	 * Finds the entities satisfying a comparison the index can answer.
+	 *
+	 * @param operator The comparison operator.
+	 * @param value    The operand.
+	 * @return The identifiers of the matching entities.
+	 */
+	List<UUID> lookup(Operator operator, V value);
+
+	/**
+	 * Creates the lookups of an index answering equality comparisons only.
+	 *
+	 * @param name  The name of the index in query plans.
+	 * @param count The function counting the entities with a value.
+	 * @param find  The function finding the entities with a value.
+	 * @param <V>   The type of values of the field.
+	 * @return The lookups of the index.
+	 */
+	static <V> FieldIndex<V> equality(String name, ToIntFunction<V> count, Function<V, List<UUID>> find) {
+		return new FieldIndex<>() {
+
+			/**
+			 * Gets the name of the index in query plans.
+			 *
+			 * @return The name of the index.
+			 */
+			@Override
+			public String name() {
+				return name;
+			}
+
+			/**
+			 * Counts the entities having a value, for equality comparisons.
+			 *
+			 * @param operator The comparison operator.
+			 * @param value    The operand.
+			 * @return The number of matching entities, or -1 for other comparisons.
+			 */
+			@Override
+			public int estimate(Operator operator, V value) {
+				return operator == Operator.EQ ? count.applyAsInt(value) : -1;
+			}
+
+			/**
+			 * Finds the entities having a value.
+			 *
+			 * @param operator The equality operator.
+			 * @param value    The operand.
+			 * @return The identifiers of the matching entities.
+			 */
+			@Override
+			public List<UUID> lookup(Operator operator, V value) {
+				return find.apply(value);
+			}
+		};
+	}
+}
@@ -0,0 +1,65 @@
+package com.zoi4erom.animalnetworkbook.persistence.query;
+
+/**
+ * Comparison operators of query conditions, with their symbols in the query language.
+ */
+public enum Operator {
+	EQ("="),
+	NE("!="),
+	LT("<"),
+	LE("<="),
+	GT(">"),
+	GE(">=");
+
+	private final String symbol;
+
+	/**
+	 * Constructs an operator with its symbol.
+	 *
+	 * @param symbol The symbol of the operator in the query language.
+	 */
+	Operator(String symbol) {
+		this.symbol = symbol;
+	}
+
+	/**
+	 * Gets the symbol of the operator in the query language.
+	 *
+	 * @return The symbol of the operator.
+	 */
+	public String getSymbol() {
+		return symbol;
+	}
+
+	/**
+	 * Checks whether the result of comparing a value to the operand satisfies the operator.
+	 *
+	 * @param comparison The sign of the comparison of the value to the operand.
+	 * @return true if the value satisfies the operator.
+	 */
+	boolean test(int comparison) {
+		return switch (this) {
+			case EQ -> comparison == 0;
+			case NE -> comparison != 0;
+			case LT -> comparison < 0;
+			case LE -> comparison <= 0;
+			case GT -> comparison > 0;
+			case GE -> comparison >= 0;
+		};
+	}
+
+	/**
+	 * Gets the operator with a symbol.
+	 *
+	 * @param symbol The symbol of the operator.
+	 * @return The operator, or null if no operator has the symbol.
+	 */
+	static Operator ofSymbol(String symbol) {
+		for (Operator operator : values()) {
+			if (operator.symbol.equals(symbol)) {
+				return operator;
+			}
+		}
+		return null;
+	}
+}
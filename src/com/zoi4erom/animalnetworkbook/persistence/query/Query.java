@@ -0,0 +1,164 @@
+package com.zoi4erom.animalnetworkbook.persistence.query;
+
+import com.zoi4erom.animalnetworkbook.persistence.entity.Entity;
+import com.zoi4erom.animalnetworkbook.persistence.exception.QuerySyntaxException;
+import com.zoi4erom.animalnetworkbook.persistence.store.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A query over the entities of a {@link Schema}: a condition, an order and a limit.
+ * <p>
+ * The planner reaches the candidates of the condition through the most selective index that can
+ * answer it, as reported by {@link #explain()}, and only falls back to a scan of the store when no
+ * index applies. The candidates are then checked against the whole condition, so the index only
+ * decides how many entities are read, never which ones match.
+ *
+ * @param <T> The type of entities.
+ */
+public final class Query<T extends Entity> {
+
+	private final Schema<T> schema;
+	private Condition<T> condition;
+	private Field<T, ?> order;
+	private boolean descending;
+	private int limit = -1;
+
+	private Query(Schema<T> schema) {
+		this.schema = schema;
+	}
+
+	/**
+	 * Starts a query matching all entities of a schema.
+	 *
+	 * @param schema The schema of the entities.
+	 * @param <T>    The type of entities.
+	 * @return The query.
+	 */
+	public static <T extends Entity> Query<T> from(Schema<T> schema) {
+		return new Query<>(schema);
+	}
+
+	/**
+	 * Parses a query written in the query language, such as
+	 * {@code species = Кіт and year >= 2023 order by name desc limit 10}.
+	 *
+	 * @param schema     The schema of the entities.
+	 * @param expression The query.
+	 * @param <T>        The type of entities.
+	 * @return The query.
+	 * @throws QuerySyntaxException If the query is malformed or refers to unknown fields.
+	 */
+	public static <T extends Entity> Query<T> parse(Schema<T> schema, String expression) {
+		return new QueryParser<>(schema, expression).parse();
+	}
+
+	/**
+	 * Restricts the query to the entities satisfying a condition, in addition to previous ones.
+	 *
+	 * @param condition The condition.
+	 * @return This query.
+	 */
+	public Query<T> where(Condition<T> condition) {
+		this.condition = this.condition == null ? condition : this.condition.and(condition);
+		return this;
+	}
+
+	/**
+	 * Orders the results by a field, entities without a value last.
+	 *
+	 * @param field      The field to order by.
+	 * @param descending Whether to order by descending value.
+	 * @return This query.
+	 */
+	public Query<T> orderBy(Field<T, ?> field, boolean descending) {
+		this.order = field;
+		this.descending = descending;
+		return this;
+	}
+
+	/**
+	 * Limits the number of results.
+	 *
+	 * @param limit The maximal number of results.
+	 * @return This query.
+	 */
+	public Query<T> limit(int limit) {
+		this.limit = Math.max(0, limit);
+		return this;
+	}
+
+	/**
+	 * Runs the query.
+	 *
+	 * @return A mutable list of the matching entities, in the requested order.
+	 */
+	public List<T> list() {
+		Repository<T> store = schema.store();
+		List<T> result;
+		if (condition == null) {
+			result = store.findAll();
+		} else {
+			Access access = plan();
+			if (access == null) {
+				result = store.filter(condition::test);
+			} else {
+				result = store.findAllById(access.ids().get());
+				result.removeIf(entity -> !condition.test(entity));
+			}
+		}
+		if (order != null) {
+			order.sort(result, descending);
+		}
+		if (limit >= 0 && result.size() > limit) {
+			result = new ArrayList<>(result.subList(0, limit));
+		}
+		return result;
+	}
+
+	/**
+	 * Describes how the query would run: the index used to reach the candidates, or a scan, then the
+	 * condition checked on every candidate, the order and the limit.
+	 *
+	 * @return The plan, one step per line.
+	 */
+	public String explain() {
+		StringBuilder plan = new StringBuilder();
+		Access access = condition == null ? null : plan();
+		if (access == null) {
+			plan.append("Scan ").append(schema.jsonPaths().getPath());
+		} else {
+			plan.append("Index ").append(access.description())
+			    .append(", ~").append(access.estimate()).append(" candidates");
+		}
+		if (condition != null) {
+			plan.append(System.lineSeparator()).append("  Filter: ").append(condition);
+		}
+		if (order != null) {
+			plan.append(System.lineSeparator()).append("  Order by: ").append(order.getName())
+			    .append(descending ? " desc" : " asc");
+		}
+		if (limit >= 0) {
+			plan.append(System.lineSeparator()).append("  Limit: ").append(limit);
+		}
+		return plan.toString();
+	}
+
+	/**
+	 * Picks the most selective access to the candidates of the condition: the best of the indexes of
+	 * the comparisons, and, for a conjunction, of the composite index of the schema.
+	 *
+	 * @return The access, or null if the condition can only be checked by scanning the store.
+	 */
+	private Access plan() {
+		Access access = condition.access();
+		if (condition instanceof Condition.And<T> and) {
+			Access composite = schema.conjunction(and.comparisons());
+			if (composite != null && (access == null || composite.estimate() < access.estimate())) {
+				access = composite;
+			}
+		}
+		return access;
+	}
+}
@@ -0,0 +1,280 @@
+package com.zoi4erom.animalnetworkbook.persistence.query;
+
+import com.zoi4erom.animalnetworkbook.persistence.entity.Entity;
+import com.zoi4erom.animalnetworkbook.persistence.exception.QuerySyntaxException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Parser of the query language:
+ * <pre>
+ * query      := [condition] ["order" "by" field ["asc" | "desc"]] ["limit" number]
+ * condition  := term ("or" term)*
+ * term       := factor ("and" factor)*
+ * factor     := "(" condition ")" | field operator value
+ * operator   := "=" | "!=" | "&lt;" | "&lt;=" | "&gt;" | "&gt;="
+ * value      := word | "quoted text"
+ * </pre>
+ * Keywords are matched regardless of letter case, and values that contain spaces or are keywords
+ * must be quoted.
+ *
+ * @param <T> The type of entities.
+ */
+final class QueryParser<T extends Entity> {
+
+	private static final String DELIMITERS = "()=!<>\"";
+
+	private final Schema<T> schema;
+	private final List<Token> tokens;
+	private int position;
+
+	/**
+	 * Constructs a parser of a query over the entities of a schema.
+	 *
+	 * @param schema     The schema of the entities.
+	 * @param expression The query.
+	 * @throws QuerySyntaxException If the query contains an unterminated quote or an unknown symbol.
+	 */
+	QueryParser(Schema<T> schema, String expression) {
+		this.schema = schema;
+		this.tokens = tokenize(expression == null ? "" : expression);
+	}
+
+	/**
+	 * Parses the whole query.
+	 *
+	 * @return The query.
+	 * @throws QuerySyntaxException If the query is malformed or refers to unknown fields.
+	 */
+	Query<T> parse() {
+		Query<T> query = Query.from(schema);
+		if (!atKeyword("order") && !atKeyword("limit") && peek().kind() != Kind.END) {
+			query.where(condition());
+		}
+		if (acceptKeyword("order")) {
+			expectKeyword("by");
+			Field<T, ?> field = field(next());
+			boolean descending = acceptKeyword("desc");
+			if (!descending) {
+				acceptKeyword("asc");
+			}
+			query.orderBy(field, descending);
+		}
+		if (acceptKeyword("limit")) {
+			Token token = next();
+			try {
+				query.limit(Integer.parseInt(token.text()));
+			} catch (NumberFormatException e) {
+				throw error("Expected a number after 'limit'", token);
+			}
+		}
+		if (peek().kind() != Kind.END) {
+			throw error("Unexpected '%s'".formatted(peek().text()), peek());
+		}
+		return query;
+	}
+
+	/**
+	 * Parses a disjunction of terms.
+	 *
+	 * @return The condition.
+	 */
+	private Condition<T> condition() {
+		Condition<T> condition = term();
+		while (acceptKeyword("or")) {
+			condition = condition.or(term());
+		}
+		return condition;
+	}
+
+	/**
+	 * Parses a conjunction of factors.
+	 *
+	 * @return The condition.
+	 */
+	private Condition<T> term() {
+		Condition<T> condition = factor();
+		while (acceptKeyword("and")) {
+			condition = condition.and(factor());
+		}
+		return condition;
+	}
+
+	/**
+	 * Parses a parenthesized condition or a comparison.
+	 *
+	 * @return The condition.
+	 */
+	private Condition<T> factor() {
+		Token token = next();
+		if (token.kind() == Kind.OPEN) {
+			Condition<T> condition = condition();
+			if (next().kind() != Kind.CLOSE) {
+				throw error("Expected ')'", tokens.get(position - 1));
+			}
+			return condition;
+		}
+		Field<T, ?> field = field(token);
+		Token operator = next();
+		if (operator.kind() != Kind.OPERATOR) {
+			throw error("Expected a comparison operator after '%s'".formatted(field.getName()), operator);
+		}
+		Token value = next();
+		if (value.kind() != Kind.WORD && value.kind() != Kind.STRING) {
+			throw error("Expected a value after '%s'".formatted(operator.text()), value);
+		}
+		return field.parse(Operator.ofSymbol(operator.text()), value.text());
+	}
+
+	/**
+	 * Resolves a field name.
+	 *
+	 * @param token The token naming the field.
+	 * @return The field.
+	 */
+	private Field<T, ?> field(Token token) {
+		if (token.kind() == Kind.END) {
+			throw error("Expected a field", token);
+		}
+		Field<T, ?> field = token.kind() == Kind.WORD ? schema.field(token.text().toLowerCase(Locale.ROOT)) : null;
+		if (field == null) {
+			throw error("Unknown field '%s', expected one of %s".formatted(token.text(), schema.fieldNames()), token);
+		}
+		return field;
+	}
+
+	/**
+	 * Gets the next token without consuming it.
+	 *
+	 * @return The next token.
+	 */
+	private Token peek() {
+		return tokens.get(position);
+	}
+
+	/**
+	 * Consumes the next token, staying at the end of the query once reached.
+	 *
+	 * @return The consumed token.
+	 */
+	private Token next() {
+		Token token = tokens.get(position);
+		if (token.kind() != Kind.END) {
+			position++;
+		}
+		return token;
+	}
+
+	/**
+	 * Checks whether the next token is a keyword.
+	 *
+	 * @param keyword The keyword, in lower case.
+	 * @return true if the next token is the unquoted keyword.
+	 */
+	private boolean atKeyword(String keyword) {
+		Token token = peek();
+		return token.kind() == Kind.WORD && token.text().equalsIgnoreCase(keyword);
+	}
+
+	/**
+	 * Consumes the next token if it is a keyword.
+	 *
+	 * @param keyword The keyword, in lower case.
+	 * @return true if the keyword was consumed.
+	 */
+	private boolean acceptKeyword(String keyword) {
+		if (atKeyword(keyword)) {
+			position++;
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Consumes a keyword that must come next.
+	 *
+	 * @param keyword The keyword, in lower case.
+	 */
+	private void expectKeyword(String keyword) {
+		if (!acceptKeyword(keyword)) {
+			throw error("Expected '%s'".formatted(keyword), peek());
+		}
+	}
+
+	/**
+	 * Creates the exception reporting a syntax error at a token.
+	 *
+	 * @param message The description of the error.
+	 * @param token   The offending token.
+	 * @return The exception.
+	 */
+	private static QuerySyntaxException error(String message, Token token) {
+		if (token.kind() == Kind.END) {
+			return new QuerySyntaxException("%s at the end of the query".formatted(message));
+		}
+		return new QuerySyntaxException("%s at position %d".formatted(message, token.position() + 1));
+	}
+
+	/**
+	 * Splits a query into tokens.
+	 *
+	 * @param expression The query.
+	 * @return The tokens, ending with an end token.
+	 */
+	private static List<Token> tokenize(String expression) {
+		List<Token> tokens = new ArrayList<>();
+		int i = 0;
+		while (i < expression.length()) {
+			char c = expression.charAt(i);
+			if (Character.isWhitespace(c)) {
+				i++;
+			} else if (c == '(' || c == ')') {
+				tokens.add(new Token(c == '(' ? Kind.OPEN : Kind.CLOSE, String.valueOf(c), i));
+				i++;
+			} else if (c == '"') {
+				int end = expression.indexOf('"', i + 1);
+				if (end < 0) {
+					throw error("Unterminated quote", new Token(Kind.STRING, "", i));
+				}
+				tokens.add(new Token(Kind.STRING, expression.substring(i + 1, end), i));
+				i = end + 1;
+			} else if (c == '=' || c == '!' || c == '<' || c == '>') {
+				int end = i + 1 < expression.length() && expression.charAt(i + 1) == '=' && c != '=' ? i + 2 : i + 1;
+				String symbol = expression.substring(i, end);
+				if (Operator.ofSymbol(symbol) == null) {
+					throw error("Unknown operator '%s'".formatted(symbol), new Token(Kind.OPERATOR, symbol, i));
+				}
+				tokens.add(new Token(Kind.OPERATOR, symbol, i));
+				i = end;
+			} else {
+				int start = i;
+				while (i < expression.length() && !Character.isWhitespace(expression.charAt(i))
+				    && DELIMITERS.indexOf(expression.charAt(i)) < 0) {
+					i++;
+				}
+				tokens.add(new Token(Kind.WORD, expression.substring(start, i), start));
+			}
+		}
+		tokens.add(new Token(Kind.END, "", expression.length()));
+		return tokens;
+	}
+
+	/**
+	 * The kinds of tokens of the query language.
+	 */
+	private enum Kind {
+		WORD, STRING, OPERATOR, OPEN, CLOSE, END
+	}
+
+	/**
+	 * A token of a query.
+	 *
+	 * @param kind     The kind of token.
+	 * @param text     The text of the token, without quotes.
+	 * @param position The position of the token in the query.
+	 */
+	private record Token(Kind kind, String text, int position) {
+	}
+}
@@ -0,0 +1,89 @@
+package com.zoi4erom.animalnetworkbook.persistence.query;
+
+import com.zoi4erom.animalnetworkbook.persistence.entity.Entity;
+import com.zoi4erom.animalnetworkbook.persistence.jsonhandler.JsonPaths;
+import com.zoi4erom.animalnetworkbook.persistence.store.Repositories;
+import com.zoi4erom.animalnetworkbook.persistence.store.Repository;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * The queryable fields of the entities of a JSON file.
+ *
+ * @param <T> The type of entities.
+ */
+public final class Schema<T extends Entity> {
+
+	private final JsonPaths jsonPaths;
+	private final Class<T> entityClass;
+	private final Map<String, Field<T, ?>> fields = new LinkedHashMap<>();
+	private final Function<List<Condition.Comparison<T, ?>>, Access> conjunction;
+
+	/**
+	 * Constructs the schema of the entities of a JSON file.
+	 *
+	 * @param jsonPaths   The JSON file of the entities.
+	 * @param entityClass The class type of entities.
+	 * @param fields      The queryable fields.
+	 * @param conjunction The lookup of the candidates of several comparisons at once in a composite
+	 *                    index, returning null when it cannot answer them, or null if there is none.
+	 */
+	Schema(JsonPaths jsonPaths, Class<T> entityClass, List<Field<T, ?>> fields,
+	    Function<List<Condition.Comparison<T, ?>>, Access> conjunction) {
+		this.jsonPaths = jsonPaths;
+		this.entityClass = entityClass;
+		this.conjunction = conjunction;
+		fields.forEach(field -> this.fields.put(field.getName(), field));
+	}
+
+	/**
+	 * Gets a field by its name in the query language.
+	 *
+	 * @param name The name of the field.
+	 * @return The field, or null if the entities have no such field.
+	 */
+	public Field<T, ?> field(String name) {
+		return fields.get(name);
+	}
+
+	/**
+	 * Gets the names of the queryable fields.
+	 *
+	 * @return The names of the fields, in declaration order.
+	 */
+	public Set<String> fieldNames() {
+		return fields.keySet();
+	}
+
+	/**
+	 * Gets the JSON file of the entities.
+	 *
+	 * @return The JSON file.
+	 */
+	JsonPaths jsonPaths() {
+		return jsonPaths;
+	}
+
+	/**
+	 * Gets the repository of the entities.
+	 *
+	 * @return The repository.
+	 */
+	Repository<T> store() {
+		return Repositories.of(jsonPaths, entityClass);
+	}
+
+	/**
+	 * Looks up the candidates of the comparisons of a conjunction together in a composite index.
+	 *
+	 * @param comparisons The comparisons of the conjunction.
+	 * @return The access through the composite index, or null if there is none answering them.
+	 */
+	Access conjunction(List<Condition.Comparison<T, ?>> comparisons) {
+		return conjunction == null ? null : conjunction.apply(comparisons);
+	}
+}
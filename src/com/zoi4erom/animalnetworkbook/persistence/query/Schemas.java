@@ -0,0 +1,270 @@
+package com.zoi4erom.animalnetworkbook.persistence.query;
+
+import com.zoi4erom.animalnetworkbook.persistence.entity.Animal;
+import com.zoi4erom.animalnetworkbook.persistence.entity.Request;
+import com.zoi4erom.animalnetworkbook.persistence.entity.Request.RequestStatus;
+import com.zoi4erom.animalnetworkbook.persistence.entity.Shelter;
+import com.zoi4erom.animalnetworkbook.persistence.jsonhandler.JsonPaths;
+import com.zoi4erom.animalnetworkbook.persistence.store.AnimalAttribute;
+import com.zoi4erom.animalnetworkbook.persistence.store.BitmapIndex;
+import com.zoi4erom.animalnetworkbook.persistence.store.Indexes;
+import com.zoi4erom.animalnetworkbook.persistence.store.InvertedIndex;
+import com.zoi4erom.animalnetworkbook.persistence.store.PrefixIndex;
+
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Registry of the queryable fields of the entities, and of their schemas.
+ */
+public final class Schemas {
+
+	/**
+	 * The name of an animal.
+	 */
+	public static final Field<Animal, String> ANIMAL_NAME = Field.text("name", Animal::getName,
+	    FieldIndex.equality("ANIMAL_NAME", Indexes.ANIMAL_NAME::count, Indexes.ANIMAL_NAME::find));
+
+	/**
+	 * The species of an animal.
+	 */
+	public static final Field<Animal, String> ANIMAL_SPECIES = Field.text("species", Animal::getSpecies,
+	    FieldIndex.equality("ANIMAL_SPECIES", Indexes.ANIMAL_SPECIES::count, Indexes.ANIMAL_SPECIES::find));
+
+	/**
+	 * The breed of an animal.
+	 */
+	public static final Field<Animal, String> ANIMAL_BREED = Field.text("breed", Animal::getBreed,
+	    FieldIndex.equality("ANIMAL_BREED", Indexes.ANIMAL_BREED::count, Indexes.ANIMAL_BREED::find));
+
+	/**
+	 * The age of an animal.
+	 */
+	public static final Field<Animal, Integer> ANIMAL_AGE = Field.number("age", Animal::getAge, null);
+
+	/**
+	 * The year an animal was delivered to its shelter.
+	 */
+	public static final Field<Animal, Integer> ANIMAL_YEAR = Field.number("year",
+	    animal -> animal.getDateOfDelivery() != null ? animal.getDateOfDelivery().getYear() : null,
+	    new DeliveryYearIndex());
+
+	/**
+	 * The name of the shelter of an animal.
+	 */
+	public static final Field<Animal, String> ANIMAL_SHELTER = Field.text("shelter",
+	    animal -> animal.getShelter() != null ? animal.getShelter().getName() : null,
+	    referenceIndex("ANIMAL_SHELTER", Indexes.SHELTER_NAME, Indexes.ANIMAL_SHELTER));
+
+	/**
+	 * The name of a shelter.
+	 */
+	public static final Field<Shelter, String> SHELTER_NAME = Field.text("name", Shelter::getName,
+	    FieldIndex.equality("SHELTER_NAME", Indexes.SHELTER_NAME::count, Indexes.SHELTER_NAME::find));
+
+	/**
+	 * The address of a shelter.
+	 */
+	public static final Field<Shelter, String> SHELTER_ADDRESS = Field.text("address", Shelter::getAddress, null);
+
+	/**
+	 * The phone number of a shelter.
+	 */
+	public static final Field<Shelter, String> SHELTER_PHONE = Field.text("phone", Shelter::getPhone, null);
+
+	/**
+	 * The number of animals in a shelter.
+	 */
+	public static final Field<Shelter, Integer> SHELTER_ANIMALS =
+	    Field.number("animals", Shelter::getNumbersOfAnimals, null);
+
+	/**
+	 * The capacity of a shelter.
+	 */
+	public static final Field<Shelter, Integer> SHELTER_CAPACITY =
+	    Field.number("capacity", Shelter::getCapacityOfAnimals, null);
+
+	/**
+	 * The name of a request.
+	 */
+	public static final Field<Request, String> REQUEST_NAME = Field.text("name", Request::getName, null);
+
+	/**
+	 * The status of a request.
+	 */
+	public static final Field<Request, RequestStatus> REQUEST_STATUS = Field.constant("status",
+	    RequestStatus.class, Request::getStatus,
+	    FieldIndex.equality("REQUEST_STATUS", Indexes.REQUEST_STATUS::count, Indexes.REQUEST_STATUS::find));
+
+	/**
+	 * The name of the animal a request is about.
+	 */
+	public static final Field<Request, String> REQUEST_ANIMAL = Field.text("animal",
+	    request -> request.getAnimal() != null ? request.getAnimal().getName() : null,
+	    referenceIndex("REQUEST_ANIMAL", Indexes.ANIMAL_NAME, Indexes.REQUEST_ANIMAL));
+
+	/**
+	 * The full name of the user who made a request.
+	 */
+	public static final Field<Request, String> REQUEST_USER = Field.text("user",
+	    request -> request.getUser() != null ? request.getUser().getFullName() : null,
+	    referenceIndex("REQUEST_USER", Indexes.USER_NAME, Indexes.REQUEST_USER));
+
+	/**
+	 * The year a request was made.
+	 */
+	public static final Field<Request, Integer> REQUEST_YEAR = Field.number("year",
+	    request -> request.getRequestCreateDate() != null ? request.getRequestCreateDate().getYear() : null, null);
+
+	/**
+	 * The queryable fields of animals. Equalities on species, breed, shelter and year are answered
+	 * together by the bitmap index of animal attributes.
+	 */
+	public static final Schema<Animal> ANIMAL = new Schema<>(JsonPaths.ANIMAL, Animal.class,
+	    List.of(ANIMAL_NAME, ANIMAL_SPECIES, ANIMAL_BREED, ANIMAL_AGE, ANIMAL_YEAR, ANIMAL_SHELTER),
+	    Schemas::animalAttributes);
+
+	/**
+	 * The queryable fields of shelters.
+	 */
+	public static final Schema<Shelter> SHELTER = new Schema<>(JsonPaths.SHELTERS, Shelter.class,
+	    List.of(SHELTER_NAME, SHELTER_ADDRESS, SHELTER_PHONE, SHELTER_ANIMALS, SHELTER_CAPACITY), null);
+
+	/**
+	 * The queryable fields of requests.
+	 */
+	public static final Schema<Request> REQUEST = new Schema<>(JsonPaths.REQUEST, Request.class,
+	    List.of(REQUEST_NAME, REQUEST_STATUS, REQUEST_ANIMAL, REQUEST_USER, REQUEST_YEAR), null);
+
+	private Schemas() {
+	}
+
+	/**
+	 * Creates the lookups of equalities on the name of a referenced entity: the referenced entities are
+	 * found by name, then the entities referencing them.
+	 *
+	 * @param name       The name of the index in query plans.
+	 * @param names      The index of the referenced entities by name.
+	 * @param references The index of the entities by referenced entity.
+	 * @return The lookups.
+	 */
+	private static FieldIndex<String> referenceIndex(String name, PrefixIndex<?> names, InvertedIndex<?> references) {
+		return FieldIndex.equality(name,
+		    value -> names.find(value).stream().mapToInt(references::count).sum(),
+		    value -> {
+			    List<UUID> ids = new ArrayList<>();
+			    names.find(value).forEach(id -> ids.addAll(references.find(id)));
+			    return ids;
+		    });
+	}
+
+	/**
+	 * Looks up the equalities of a conjunction on species, breed, shelter and year of delivery together
+	 * in the bitmap index of animal attributes.
+	 *
+	 * @param comparisons The comparisons of the conjunction.
+	 * @return The access through the bitmap index, or null if fewer than two equalities are on indexed
+	 *         attributes, since a single one is answered as well by the index of its field.
+	 */
+	private static Access animalAttributes(List<Condition.Comparison<Animal, ?>> comparisons) {
+		BitmapIndex<Animal, AnimalAttribute>.Filter filter = Indexes.ANIMAL_ATTRIBUTES.filter();
+		List<Condition.Comparison<Animal, ?>> used = new ArrayList<>();
+		for (Condition.Comparison<Animal, ?> comparison : comparisons) {
+			if (comparison.operator() != Operator.EQ || comparison.value() == null) {
+				continue;
+			}
+			String value = String.valueOf(comparison.value());
+			if (comparison.field() == ANIMAL_SPECIES) {
+				filter.where(AnimalAttribute.SPECIES, value);
+			} else if (comparison.field() == ANIMAL_BREED) {
+				filter.where(AnimalAttribute.BREED, value);
+			} else if (comparison.field() == ANIMAL_YEAR) {
+				filter.where(AnimalAttribute.DELIVERY_YEAR, value);
+			} else if (comparison.field() == ANIMAL_SHELTER) {
+				Set<String> shelters = new LinkedHashSet<>();
+				Indexes.SHELTER_NAME.find(value).forEach(id -> shelters.add(id.toString()));
+				filter.where(AnimalAttribute.SHELTER, shelters.toArray(String[]::new));
+			} else {
+				continue;
+			}
+			used.add(comparison);
+		}
+		if (used.size() < 2) {
+			return null;
+		}
+		String description = used.stream().map(Object::toString).collect(Collectors.joining(" and "));
+		return new Access("ANIMAL_ATTRIBUTES (%s)".formatted(description), filter.count(), filter::ids);
+	}
+
+	/**
+	 * The lookups of comparisons on the year of delivery of animals in the index of delivery dates.
+	 */
+	private static final class DeliveryYearIndex implements FieldIndex<Integer> {
+
+		/**
+		 * Gets the name of the index in query plans.
+		 *
+		 * @return The name of the index.
+		 */
+		@Override
+		public String name() {
+			return "ANIMAL_DELIVERY";
+		}
+
+		/**
+		 * Counts the animals delivered within the dates a comparison on the year covers.
+		 *
+		 * @param operator The comparison operator.
+		 * @param value    The year.
+		 * @return The number of matching animals, or -1 if the comparison covers no single range of dates.
+		 */
+		@Override
+		public int estimate(Operator operator, Integer value) {
+			LocalDate[] range = range(operator, value);
+			return range == null ? -1 : Indexes.ANIMAL_DELIVERY.count(range[0], range[1]);
+		}
+
+		/**
+		 * Finds the animals delivered within the dates a comparison on the year covers.
+		 *
+		 * @param operator The comparison operator.
+		 * @param value    The year.
+		 * @return The identifiers of the matching animals.
+		 */
+		@Override
+		public List<UUID> lookup(Operator operator, Integer value) {
+			LocalDate[] range = range(operator, value);
+			return Indexes.ANIMAL_DELIVERY.between(range[0], range[1]);
+		}
+
+		/**
+		 * Gets the dates a comparison on the year covers.
+		 *
+		 * @param operator The comparison operator.
+		 * @param year     The year.
+		 * @return The first and last dates, or null for an inequality, which covers two ranges, or for
+		 *         a year out of the range of dates.
+		 */
+		private static LocalDate[] range(Operator operator, int year) {
+			if (year <= Year.MIN_VALUE || year >= Year.MAX_VALUE) {
+				return null;
+			}
+			LocalDate first = LocalDate.of(year, 1, 1);
+			LocalDate last = LocalDate.of(year, 12, 31);
+			return switch (operator) {
+				case EQ -> new LocalDate[] {first, last};
+				case LT -> new LocalDate[] {LocalDate.MIN, first.minusDays(1)};
+				case LE -> new LocalDate[] {LocalDate.MIN, last};
+				case GT -> new LocalDate[] {last.plusDays(1), LocalDate.MAX};
+				case GE -> new LocalDate[] {first, LocalDate.MAX};
+				case NE -> null;
+			};
+		}
+	}
+}
@@ -0,0 +1,83 @@
+package com.zoi4erom.animalnetworkbook.persistence.store;
+
+import com.zoi4erom.animalnetworkbook.persistence.entity.Entity;
+import com.zoi4erom.animalnetworkbook.persistence.jsonhandler.JsonPaths;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Base class of the repository backends, exposing to {@link Transaction}s what they need to commit
+ * mutations into a backend.
+ *
+ * @param <T> The type of entities kept in the store.
+ */
+abstract class AbstractStore<T extends Entity> implements Repository<T> {
+
+	protected final JsonPaths jsonPaths;
+	protected final Class<T> entityClass;
+	private final MutationCodec<T> codec;
+
+	/**
+	 * Constructs a store of the entities of the specified JSON file.
+	 *
+	 * @param jsonPaths   The JSON file the entities belong to.
+	 * @param entityClass The class type of entities.
+	 */
+	AbstractStore(JsonPaths jsonPaths, Class<T> entityClass) {
+		this.jsonPaths = jsonPaths;
+		this.entityClass = entityClass;
+		this.codec = new MutationCodec<>(entityClass);
+	}
+
+	/**
+	 * Gets the JSON file the entities of the store belong to.
+	 *
+	 * @return The path to the JSON file.
+	 */
+	JsonPaths jsonPaths() {
+		return jsonPaths;
+	}
+
+	/**
+	 * Encodes a mutation of this store as a journal record.
+	 *
+	 * @param mutation The mutation to encode.
+	 * @return The encoded mutation.
+	 */
+	String encode(Mutation mutation) {
+		return codec.encode(mutation);
+	}
+
+	/**
+	 * Decodes a mutation of this store from a journal record.
+	 *
+	 * @param record The encoded mutation.
+	 * @return The decoded mutation.
+	 * @throws IOException If the record is malformed.
+	 */
+	Mutation decode(String record) throws IOException {
+		return codec.decode(record);
+	}
+
+	/**
+	 * Opens or loads the store if that has not happened yet.
+	 */
+	abstract void ensureLoaded();
+
+	/**
+	 * Gets the lock guarding the store against concurrent mutation.
+	 *
+	 * @return The write lock of the store.
+	 */
+	abstract Lock writeLock();
+
+	/**
+	 * Applies mutations whose commit is already durable elsewhere, persisting them once for the batch.
+	 *
+	 * @param mutations The mutations to apply, in order.
+	 * @param records   The encoded mutations, in the same order.
+	 */
+	abstract void applyCommitted(List<Mutation> mutations, List<String> records);
+}
@@ -0,0 +1,23 @@
+package com.zoi4erom.animalnetworkbook.persistence.store;
+
+/**
+ * Attributes of animals indexed by {@link Indexes#ANIMAL_ATTRIBUTES}.
+ */
+public enum AnimalAttribute {
+	/**
+	 * The species of the animal.
+	 */
+	SPECIES,
+	/**
+	 * The breed of the animal.
+	 */
+	BREED,
+	/**
+	 * The identifier of the shelter of the animal.
+	 */
+	SHELTER,
+	/**
+	 * The year the animal was delivered.
+	 */
+	DELIVERY_YEAR
+}
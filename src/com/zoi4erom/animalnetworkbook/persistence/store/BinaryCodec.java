@@ -0,0 +1,205 @@
+package com.zoi4erom.animalnetworkbook.persistence.store;
+
+import com.zoi4erom.animalnetworkbook.persistence.entity.Animal;
+import com.zoi4erom.animalnetworkbook.persistence.entity.Entity;
+import com.zoi4erom.animalnetworkbook.persistence.entity.Request;
+import com.zoi4erom.animalnetworkbook.persistence.entity.Request.RequestStatus;
+import com.zoi4erom.animalnetworkbook.persistence.entity.Shelter;
+import com.zoi4erom.animalnetworkbook.persistence.entity.User;
+import com.zoi4erom.animalnetworkbook.persistence.entity.User.Role;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Compact binary encoding of single entities.
+ * <p>
+ * Strings are written as their UTF-8 length followed by the bytes, with a length of -1 for null.
+ * UUIDs are written as a presence flag and two longs, dates as a presence flag and the epoch day, and
+ * enums by name. References to other entities are written as the identifier of the referenced entity
+ * and read back as placeholders, as in the JSON files.
+ */
+final class BinaryCodec {
+
+	private BinaryCodec() {
+	}
+
+	/**
+	 * Writes an entity.
+	 *
+	 * @param out    The output to write to.
+	 * @param entity The entity to write.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	static void write(DataOutput out, Entity entity) throws IOException {
+		writeUuid(out, entity.getId());
+		if (entity instanceof Shelter shelter) {
+			writeString(out, shelter.getName());
+			writeString(out, shelter.getAddress());
+			writeString(out, shelter.getPhone());
+			out.writeInt(shelter.getNumbersOfAnimals());
+			out.writeInt(shelter.getCapacityOfAnimals());
+		} else if (entity instanceof Animal animal) {
+			writeString(out, animal.getName());
+			out.writeInt(animal.getAge());
+			writeString(out, animal.getSpecies());
+			writeString(out, animal.getBreed());
+			writeDate(out, animal.getDateOfDelivery());
+			writeUuid(out, animal.getShelter() != null ? animal.getShelter().getId() : null);
+		} else if (entity instanceof User user) {
+			writeString(out, user.getFullName());
+			writeString(out, user.getPassword());
+			writeString(out, user.getPhoneNumber());
+			writeString(out, user.getHomeAddress());
+			writeString(out, user.getEmail());
+			writeDate(out, user.getBirthdate());
+			writeString(out, user.getRole() != null ? user.getRole().name() : null);
+		} else if (entity instanceof Request request) {
+			writeString(out, request.getName());
+			writeUuid(out, request.getAnimal() != null ? request.getAnimal().getId() : null);
+			writeUuid(out, request.getUser() != null ? request.getUser().getId() : null);
+			writeString(out, request.getStatus() != null ? request.getStatus().name() : null);
+			writeDate(out, request.getRequestCreateDate());
+		} else {
+			throw new IllegalArgumentException("Unsupported entity type: " + entity.getClass().getName());
+		}
+	}
+
+	/**
+	 * Reads an entity.
+	 *
+	 * @param in    The buffer to read from, positioned at the entity.
+	 * @param clazz The class type of the entity.
+	 * @param <T>   The type of the entity.
+	 * @return The entity.
+	 */
+	static <T extends Entity> T read(ByteBuffer in, Class<T> clazz) {
+		UUID id = readUuid(in);
+		Entity entity;
+		if (clazz == Shelter.class) {
+			entity = new Shelter(id, readString(in), readString(in), readString(in), in.getInt(), in.getInt());
+		} else if (clazz == Animal.class) {
+			String name = readString(in);
+			int age = in.getInt();
+			String species = readString(in);
+			String breed = readString(in);
+			LocalDate dateOfDelivery = readDate(in);
+			UUID shelterId = readUuid(in);
+			Shelter shelter = shelterId != null ? new Shelter(shelterId, null, null, null, 0, 0) : null;
+			entity = new Animal(id, name, age, species, breed, dateOfDelivery, shelter);
+		} else if (clazz == User.class) {
+			String fullName = readString(in);
+			String password = readString(in);
+			String phoneNumber = readString(in);
+			String homeAddress = readString(in);
+			String email = readString(in);
+			LocalDate birthdate = readDate(in);
+			String role = readString(in);
+			entity = new User(id, fullName, password, phoneNumber, homeAddress, email, birthdate,
+			    role != null ? Role.valueOf(role) : null);
+		} else if (clazz == Request.class) {
+			String name = readString(in);
+			UUID animalId = readUuid(in);
+			UUID userId = readUuid(in);
+			String status = readString(in);
+			LocalDate requestCreateDate = readDate(in);
+			Request request = new Request(id, name,
+			    animalId != null ? new Animal(animalId, null, 0, null, null, null, null) : null,
+			    userId != null ? new User(userId, null, null, null, null, null, null, null) : null,
+			    requestCreateDate);
+			if (status != null) {
+				request.setStatus(RequestStatus.valueOf(status));
+			}
+			entity = request;
+		} else {
+			throw new IllegalArgumentException("Unsupported entity type: " + clazz.getName());
+		}
+		return clazz.cast(entity);
+	}
+
+	/**
+	 * Writes a length-prefixed UTF-8 string.
+	 *
+	 * @param out   The output to write to.
+	 * @param value The string, may be null.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	static void writeString(DataOutput out, String value) throws IOException {
+		if (value == null) {
+			out.writeInt(-1);
+			return;
+		}
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	/**
+	 * Reads a length-prefixed UTF-8 string.
+	 *
+	 * @param in The buffer to read from.
+	 * @return The string, or null.
+	 */
+	static String readString(ByteBuffer in) {
+		int length = in.getInt();
+		if (length < 0) {
+			return null;
+		}
+		byte[] bytes = new byte[length];
+		in.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Writes a UUID as a presence flag and two longs.
+	 *
+	 * @param out   The output to write to.
+	 * @param value The UUID, may be null.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	static void writeUuid(DataOutput out, UUID value) throws IOException {
+		out.writeBoolean(value != null);
+		if (value != null) {
+			out.writeLong(value.getMostSignificantBits());
+			out.writeLong(value.getLeastSignificantBits());
+		}
+	}
+
+	/**
+	 * Reads a UUID written as a presence flag and two longs.
+	 *
+	 * @param in The buffer to read from.
+	 * @return The UUID, or null.
+	 */
+	static UUID readUuid(ByteBuffer in) {
+		return in.get() != 0 ? new UUID(in.getLong(), in.getLong()) : null;
+	}
+
+	/**
+	 * Writes a date as a presence flag and its epoch day.
+	 *
+	 * @param out   The output to write to.
+	 * @param value The date, may be null.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	private static void writeDate(DataOutput out, LocalDate value) throws IOException {
+		out.writeBoolean(value != null);
+		if (value != null) {
+			out.writeLong(value.toEpochDay());
+		}
+	}
+
+	/**
+	 * Reads a date written as a presence flag and its epoch day.
+	 *
+	 * @param in The buffer to read from.
+	 * @return The date, or null.
+	 */
+	private static LocalDate readDate(ByteBuffer in) {
+		return in.get() != 0 ? LocalDate.ofEpochDay(in.getLong()) : null;
+	}
+}
@@ -0,0 +1,157 @@
+package com.zoi4erom.animalnetworkbook.persistence.store;
+
+import com.zoi4erom.animalnetworkbook.persistence.entity.Entity;
+import com.zoi4erom.animalnetworkbook.persistence.exception.SerializationException;
+import com.zoi4erom.animalnetworkbook.persistence.jsonhandler.JsonPaths;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collection;
+import java.util.function.Consumer;
+
+/**
+ * Binary copy of the snapshot of one {@link JsonPaths} file, used for fast cold starts.
+ * <p>
+ * The file starts with a header holding a magic number, the format version, the entity type, the
+ * size and modification time of the JSON snapshot it mirrors, and the number of entities; the
+ * entities follow in {@link BinaryCodec} encoding. The binary snapshot is only used while it is newer
+ * than the JSON file and the JSON file is still the one it was written from; otherwise the JSON file
+ * is read instead.
+ */
+final class BinarySnapshot {
+
+	private static final int MAGIC = 0x414E4253;
+	private static final int VERSION = 1;
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	private final Path path;
+	private final Path jsonPath;
+
+	/**
+	 * Constructs the binary snapshot of the specified JSON file.
+	 *
+	 * @param jsonPaths The JSON file mirrored by the snapshot.
+	 */
+	BinarySnapshot(JsonPaths jsonPaths) {
+		this.jsonPath = Paths.get(jsonPaths.getPath());
+		String fileName = jsonPath.getFileName().toString();
+		this.path = jsonPath.resolveSibling(fileName.substring(0, fileName.lastIndexOf('.')) + ".bin");
+	}
+
+	/**
+	 * Captures the size and modification time of the JSON file.
+	 *
+	 * @return The state of the JSON file, or null if it does not exist.
+	 */
+	Source jsonState() {
+		try {
+			BasicFileAttributes attributes = Files.readAttributes(jsonPath, BasicFileAttributes.class);
+			return new Source(attributes.size(), attributes.lastModifiedTime().toMillis());
+		} catch (IOException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Writes the binary snapshot of the entities, which must be the contents of the JSON file in the
+	 * specified state. The file is written to a temporary file and atomically moved into place.
+	 *
+	 * @param entities The entities of the JSON snapshot.
+	 * @param source   The state of the JSON file holding the same entities.
+	 */
+	void write(Collection<? extends Entity> entities, Source source) {
+		if (source == null) {
+			return;
+		}
+		Path tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+		try (FileChannel channel = FileChannel.open(tempPath, StandardOpenOption.CREATE,
+		    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+			DataOutputStream out = new DataOutputStream(
+			    new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE));
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			BinaryCodec.writeString(out, jsonPath.getFileName().toString());
+			out.writeLong(source.size());
+			out.writeLong(source.modified());
+			out.writeInt(entities.size());
+			for (Entity entity : entities) {
+				BinaryCodec.write(out, entity);
+			}
+			out.flush();
+			channel.force(false);
+		} catch (IOException e) {
+			throw new SerializationException("Error writing binary snapshot %s: %s".formatted(path, e.getMessage()), e);
+		}
+
+		try {
+			Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			throw new SerializationException("Error writing binary snapshot %s: %s".formatted(path, e.getMessage()), e);
+		}
+	}
+
+	/**
+	 * Reads the binary snapshot if it is current.
+	 *
+	 * @param clazz    The class type of entities.
+	 * @param consumer The consumer of the entities read.
+	 * @param <T>      The type of entities.
+	 * @return true if the snapshot was current and fully read, false if the JSON file must be read
+	 *         instead; entities may already have been passed to the consumer in that case.
+	 */
+	<T extends Entity> boolean read(Class<T> clazz, Consumer<? super T> consumer) {
+		Source source = jsonState();
+		if (source == null || !isNewerThanJson(source)) {
+			return false;
+		}
+
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			ByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			if (in.getInt() != MAGIC || in.getInt() != VERSION
+			    || !jsonPath.getFileName().toString().equals(BinaryCodec.readString(in))
+			    || in.getLong() != source.size() || in.getLong() != source.modified()) {
+				return false;
+			}
+			int count = in.getInt();
+			for (int i = 0; i < count; i++) {
+				consumer.accept(BinaryCodec.read(in, clazz));
+			}
+			return true;
+		} catch (IOException | RuntimeException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Checks whether the binary snapshot exists and was written after the JSON file.
+	 *
+	 * @param source The state of the JSON file.
+	 * @return true if the binary snapshot is newer.
+	 */
+	private boolean isNewerThanJson(Source source) {
+		try {
+			return Files.exists(path) && Files.getLastModifiedTime(path).toMillis() >= source.modified();
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * The state of a JSON file a binary snapshot was written from.
+	 *
+	 * @param size     The size of the JSON file in bytes.
+	 * @param modified The modification time of the JSON file in milliseconds.
+	 */
+	record Source(long size, long modified) {
+	}
+}
@@ -0,0 +1,214 @@
+package com.zoi4erom.animalnetworkbook.persistence.store;
+
+import com.zaxxer.sparsebits.SparseBitSet;
+import com.zoi4erom.animalnetworkbook.persistence.entity.Entity;
+import com.zoi4erom.animalnetworkbook.persistence.jsonhandler.JsonPaths;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Bitmap index of entities over several text attributes at once.
+ * <p>
+ * Every indexed entity gets a dense ordinal, reused once the entity is removed, and every value of
+ * every attribute maps to a {@link SparseBitSet} of the ordinals of the entities having that value.
+ * A {@link Filter} combining criteria on several attributes is then answered by bitset unions and
+ * intersections, without reading any entity. Values are matched regardless of letter case and Unicode
+ * composition.
+ *
+ * @param <T> The type of indexed entities.
+ * @param <A> The enum of the indexed attributes.
+ */
+public final class BitmapIndex<T extends Entity, A extends Enum<A>> extends EntityIndex<T> {
+
+	private final Class<A> attributeClass;
+	private final Map<A, Function<? super T, String>> attributes;
+	private final Map<A, Map<String, SparseBitSet>> bitmaps;
+	private final Map<UUID, Integer> ordinalById = new HashMap<>();
+	private final List<UUID> idByOrdinal = new ArrayList<>();
+	private final List<Map<A, String>> keysByOrdinal = new ArrayList<>();
+	private final SparseBitSet live = new SparseBitSet();
+	private final SparseBitSet free = new SparseBitSet();
+
+	/**
+	 * Constructs a bitmap index of the entities of a JSON file over several attributes.
+	 *
+	 * @param jsonPaths      The JSON file the indexed entities belong to.
+	 * @param attributeClass The enum of the indexed attributes.
+	 * @param attributes     The attributes to index entities by, each with the function reading its
+	 *                       value.
+	 */
+	BitmapIndex(JsonPaths jsonPaths, Class<A> attributeClass, Map<A, Function<? super T, String>> attributes) {
+		super(jsonPaths);
+		this.attributeClass = attributeClass;
+		this.attributes = new EnumMap<>(attributeClass);
+		this.attributes.putAll(attributes);
+		this.bitmaps = new EnumMap<>(attributeClass);
+		attributes.keySet().forEach(attribute -> bitmaps.put(attribute, new HashMap<>()));
+	}
+
+	/**
+	 * Starts a filter over the index, matching all entities until criteria are added.
+	 *
+	 * @return A new filter.
+	 */
+	public Filter filter() {
+		return new Filter();
+	}
+
+	/**
+	 * Adds an entity under the values of its attributes, assigning it the lowest free ordinal.
+	 *
+	 * @param entity The entity to add.
+	 */
+	@Override
+	void index(T entity) {
+		int ordinal = free.nextSetBit(0);
+		Map<A, String> keys = new HashMap<>();
+		if (ordinal < 0) {
+			ordinal = idByOrdinal.size();
+			idByOrdinal.add(entity.getId());
+			keysByOrdinal.add(keys);
+		} else {
+			free.clear(ordinal);
+			idByOrdinal.set(ordinal, entity.getId());
+			keysByOrdinal.set(ordinal, keys);
+		}
+		for (Map.Entry<A, Function<? super T, String>> attribute : attributes.entrySet()) {
+			String key = TextKey.fold(attribute.getValue().apply(entity));
+			if (key != null) {
+				bitmaps.get(attribute.getKey()).computeIfAbsent(key, k -> new SparseBitSet()).set(ordinal);
+				keys.put(attribute.getKey(), key);
+			}
+		}
+		ordinalById.put(entity.getId(), ordinal);
+		live.set(ordinal);
+	}
+
+	/**
+	 * Removes an entity from the values it was added under and frees its ordinal.
+	 *
+	 * @param id The identifier of the entity to remove.
+	 */
+	@Override
+	void unindex(UUID id) {
+		Integer ordinal = ordinalById.remove(id);
+		if (ordinal == null) {
+			return;
+		}
+		keysByOrdinal.get(ordinal).forEach((attribute, key) -> {
+			Map<String, SparseBitSet> values = bitmaps.get(attribute);
+			SparseBitSet bitmap = values.get(key);
+			bitmap.clear(ordinal);
+			if (bitmap.isEmpty()) {
+				values.remove(key);
+			}
+		});
+		idByOrdinal.set(ordinal, null);
+		keysByOrdinal.set(ordinal, null);
+		live.clear(ordinal);
+		free.set(ordinal);
+	}
+
+	/**
+	 * Removes all entities and values.
+	 */
+	@Override
+	void reset() {
+		bitmaps.values().forEach(Map::clear);
+		ordinalById.clear();
+		idByOrdinal.clear();
+		keysByOrdinal.clear();
+		live.clear();
+		free.clear();
+	}
+
+	/**
+	 * Criteria over the attributes of a bitmap index: the values given for one attribute are
+	 * alternatives, and the criteria on different attributes must all hold.
+	 */
+	public final class Filter {
+
+		private final Map<A, Set<String>> criteria = new EnumMap<>(attributeClass);
+
+		private Filter() {
+		}
+
+		/**
+		 * Requires an attribute to have one of the specified values. Criteria added for the same
+		 * attribute add alternatives to it.
+		 *
+		 * @param attribute The attribute to constrain.
+		 * @param values    The accepted values.
+		 * @return This filter.
+		 * @throws IllegalArgumentException If the attribute is not indexed.
+		 */
+		public Filter where(A attribute, String... values) {
+			if (!attributes.containsKey(attribute)) {
+				throw new IllegalArgumentException("Attribute %s is not indexed".formatted(attribute));
+			}
+			Set<String> accepted = criteria.computeIfAbsent(attribute, a -> new LinkedHashSet<>());
+			for (String value : values) {
+				accepted.add(TextKey.fold(value));
+			}
+			return this;
+		}
+
+		/**
+		 * Finds the identifiers of the entities matching the filter.
+		 *
+		 * @return The identifiers of the matching entities, by ordinal.
+		 */
+		public List<UUID> ids() {
+			return read(() -> {
+				SparseBitSet matching = evaluate();
+				List<UUID> ids = new ArrayList<>(matching.cardinality());
+				for (int ordinal = matching.nextSetBit(0); ordinal >= 0; ordinal = matching.nextSetBit(ordinal + 1)) {
+					ids.add(idByOrdinal.get(ordinal));
+				}
+				return ids;
+			});
+		}
+
+		/**
+		 * Counts the entities matching the filter.
+		 *
+		 * @return The number of matching entities.
+		 */
+		public int count() {
+			return read(() -> evaluate().cardinality());
+		}
+
+		/**
+		 * Intersects, over the constrained attributes, the union of the bitmaps of the accepted values.
+		 * Must be called under the read lock of the index.
+		 *
+		 * @return A new bitset of the ordinals of the matching entities.
+		 */
+		private SparseBitSet evaluate() {
+			SparseBitSet matching = live.clone();
+			for (Map.Entry<A, Set<String>> criterion : criteria.entrySet()) {
+				Map<String, SparseBitSet> values = bitmaps.get(criterion.getKey());
+				SparseBitSet accepted = new SparseBitSet();
+				for (String value : criterion.getValue()) {
+					SparseBitSet bitmap = values.get(value);
+					if (bitmap != null) {
+						accepted.or(bitmap);
+					}
+				}
+				matching.and(accepted);
+				if (matching.isEmpty()) {
+					break;
+				}
+			}
+			return matching;
+		}
+	}
+}
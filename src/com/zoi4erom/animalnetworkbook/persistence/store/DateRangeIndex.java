@@ -0,0 +1,120 @@
+package com.zoi4erom.animalnetworkbook.persistence.store;
+
+import com.zoi4erom.animalnetworkbook.persistence.entity.Entity;
+import com.zoi4erom.animalnetworkbook.persistence.jsonhandler.JsonPaths;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Sorted secondary index of entities by a date attribute, keyed by epoch day, answering date range
+ * queries in time logarithmic in the number of distinct dates plus the number of matches.
+ *
+ * @param <T> The type of indexed entities.
+ */
+public final class DateRangeIndex<T extends Entity> extends EntityIndex<T> {
+
+	private final Function<? super T, LocalDate> attribute;
+	private final NavigableMap<Long, Set<UUID>> idsByDay = new TreeMap<>();
+	private final Map<UUID, Long> dayById = new HashMap<>();
+
+	/**
+	 * Constructs an index of the entities of a JSON file by a date attribute.
+	 *
+	 * @param jsonPaths The JSON file the indexed entities belong to.
+	 * @param attribute The attribute to index entities by.
+	 */
+	DateRangeIndex(JsonPaths jsonPaths, Function<? super T, LocalDate> attribute) {
+		super(jsonPaths);
+		this.attribute = attribute;
+	}
+
+	/**
+	 * Finds the identifiers of the entities whose date falls within a range.
+	 *
+	 * @param from The first date of the range, inclusive.
+	 * @param to   The last date of the range, inclusive.
+	 * @return The identifiers of the matching entities, by ascending date, or an empty list if the
+	 *         range is empty.
+	 */
+	public List<UUID> between(LocalDate from, LocalDate to) {
+		if (from.isAfter(to)) {
+			return List.of();
+		}
+		return read(() -> {
+			List<UUID> ids = new ArrayList<>();
+			idsByDay.subMap(from.toEpochDay(), true, to.toEpochDay(), true).values().forEach(ids::addAll);
+			return ids;
+		});
+	}
+
+	/**
+	 * Counts the entities whose date falls within a range.
+	 *
+	 * @param from The first date of the range, inclusive.
+	 * @param to   The last date of the range, inclusive.
+	 * @return The number of matching entities.
+	 */
+	public int count(LocalDate from, LocalDate to) {
+		if (from.isAfter(to)) {
+			return 0;
+		}
+		return read(() -> {
+			int count = 0;
+			for (Set<UUID> ids : idsByDay.subMap(from.toEpochDay(), true, to.toEpochDay(), true).values()) {
+				count += ids.size();
+			}
+			return count;
+		});
+	}
+
+	/**
+	 * Adds an entity under the epoch day of its date, unless the date is null.
+	 *
+	 * @param entity The entity to add.
+	 */
+	@Override
+	void index(T entity) {
+		LocalDate date = attribute.apply(entity);
+		if (date != null) {
+			long day = date.toEpochDay();
+			idsByDay.computeIfAbsent(day, d -> new LinkedHashSet<>()).add(entity.getId());
+			dayById.put(entity.getId(), day);
+		}
+	}
+
+	/**
+	 * Removes an entity from the day it was added under.
+	 *
+	 * @param id The identifier of the entity to remove.
+	 */
+	@Override
+	void unindex(UUID id) {
+		Long day = dayById.remove(id);
+		if (day != null) {
+			Set<UUID> ids = idsByDay.get(day);
+			ids.remove(id);
+			if (ids.isEmpty()) {
+				idsByDay.remove(day);
+			}
+		}
+	}
+
+	/**
+	 * Removes all days.
+	 */
+	@Override
+	void reset() {
+		idsByDay.clear();
+		dayById.clear();
+	}
+}
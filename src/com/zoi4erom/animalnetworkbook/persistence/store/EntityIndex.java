@@ -0,0 +1,128 @@
+package com.zoi4erom.animalnetworkbook.persistence.store;
+
+import com.zoi4erom.animalnetworkbook.persistence.entity.Entity;
+import com.zoi4erom.animalnetworkbook.persistence.jsonhandler.JsonPaths;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Base class of the secondary indexes over the entities of one {@link JsonPaths} file.
+ * <p>
+ * An index is maintained by the {@link IndexedStore} of its file on every mutation, and built from the
+ * store when the store is loaded. An index keeps the key it last recorded for each entity, so that an
+ * entity changed in place before being saved is still moved out of its previous key.
+ *
+ * @param <T> The type of indexed entities.
+ */
+public abstract class EntityIndex<T extends Entity> {
+
+	protected final JsonPaths jsonPaths;
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	/**
+	 * Constructs an index over the entities of the specified JSON file.
+	 *
+	 * @param jsonPaths The JSON file the indexed entities belong to.
+	 */
+	EntityIndex(JsonPaths jsonPaths) {
+		this.jsonPaths = jsonPaths;
+	}
+
+	/**
+	 * Records the current state of an entity, replacing the state recorded before.
+	 *
+	 * @param entity The inserted or updated entity.
+	 */
+	final void update(T entity) {
+		lock.writeLock().lock();
+		try {
+			unindex(entity.getId());
+			index(entity);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Forgets an entity.
+	 *
+	 * @param id The identifier of the deleted entity.
+	 */
+	final void remove(UUID id) {
+		lock.writeLock().lock();
+		try {
+			unindex(id);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Rebuilds indexes of the same file from all entities of the file, in a single pass over them.
+	 *
+	 * @param indexes  The indexes to rebuild.
+	 * @param entities The entities of the file.
+	 * @param <T>      The type of indexed entities.
+	 */
+	static <T extends Entity> void rebuild(List<? extends EntityIndex<T>> indexes, Stream<? extends T> entities) {
+		int locked = 0;
+		try {
+			for (EntityIndex<T> index : indexes) {
+				index.lock.writeLock().lock();
+				locked++;
+				index.reset();
+			}
+			entities.forEach(entity -> {
+				for (EntityIndex<T> index : indexes) {
+					index.index(entity);
+				}
+			});
+		} finally {
+			for (int i = locked - 1; i >= 0; i--) {
+				EntityIndex<T> index = indexes.get(i);
+				index.lock.writeLock().unlock();
+			}
+		}
+	}
+
+	/**
+	 * Runs a lookup under the read lock of the index, once the store of its file is loaded.
+	 *
+	 * @param lookup The lookup to run.
+	 * @param <R>    The type of the result.
+	 * @return The result of the lookup.
+	 */
+	protected final <R> R read(Supplier<R> lookup) {
+		Repositories.storeOf(jsonPaths, jsonPaths.getEntityClass()).ensureLoaded();
+		lock.readLock().lock();
+		try {
+			return lookup.get();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Adds an entity that is not in the index. Called under the write lock.
+	 *
+	 * @param entity The entity to add.
+	 */
+	abstract void index(T entity);
+
+	/**
+	 * Removes an entity from the index, if it is there. Called under the write lock.
+	 *
+	 * @param id The identifier of the entity to remove.
+	 */
+	abstract void unindex(UUID id);
+
+	/**
+	 * Removes all entities from the index. Called under the write lock.
+	 */
+	abstract void reset();
+}
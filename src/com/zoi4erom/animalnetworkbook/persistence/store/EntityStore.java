@@ -0,0 +1,516 @@
+package com.zoi4erom.animalnetworkbook.persistence.store;
+
+import com.zoi4erom.animalnetworkbook.persistence.entity.Entity;
+import com.zoi4erom.animalnetworkbook.persistence.jsonhandler.EntityCursor;
+import com.zoi4erom.animalnetworkbook.persistence.jsonhandler.JsonConverter;
+import com.zoi4erom.animalnetworkbook.persistence.jsonhandler.JsonPaths;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Process-wide, in-memory store of the entities kept in one {@link JsonPaths} file.
+ * <p>
+ * The file is parsed once, at startup through {@link Repositories#loadAll()} or on first access, and all reads are
+ * then served from memory. Mutations update the resident entities and are persisted either as records
+ * appended to a write-ahead {@link Journal}, or, with the journal disabled in {@link StorageConfig}, by
+ * writing the file back through {@link JsonConverter}. The journal is folded into a new snapshot of
+ * the file by a background compactor once it grows past the configured thresholds.
+ *
+ * @param <T> The type of entities kept in the store.
+ */
+public final class EntityStore<T extends Entity> extends AbstractStore<T> {
+
+	private static final Map<JsonPaths, EntityStore<?>> stores = new EnumMap<>(JsonPaths.class);
+	private static final ExecutorService compactor = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "journal-compactor");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private final Map<UUID, T> entities = new LinkedHashMap<>();
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private final Journal<T> journal;
+	private final boolean journaling;
+	private final BinarySnapshot binarySnapshot;
+	private final Lock compactionLock = new ReentrantLock();
+	private final AtomicBoolean compactionScheduled = new AtomicBoolean();
+	private volatile boolean loaded;
+
+	private EntityStore(JsonPaths jsonPaths, Class<T> entityClass) {
+		super(jsonPaths, entityClass);
+		this.journal = new Journal<>(jsonPaths, entityClass);
+		this.journaling = StorageConfig.journalEnabled();
+		this.binarySnapshot = StorageConfig.binarySnapshotEnabled() ? new BinarySnapshot(jsonPaths) : null;
+	}
+
+	/**
+	 * Gets the store for the specified JSON file, creating it on first use.
+	 *
+	 * @param jsonPaths The path to the JSON file backing the store.
+	 * @param clazz     The class type of entities.
+	 * @param <T>       The type of entities.
+	 * @return The process-wide store for the JSON file.
+	 */
+	@SuppressWarnings("unchecked")
+	public static synchronized <T extends Entity> EntityStore<T> of(JsonPaths jsonPaths, Class<T> clazz) {
+		if (jsonPaths.getEntityClass() != clazz) {
+			throw new IllegalArgumentException(
+			    "File %s does not store %s".formatted(jsonPaths.getPath(), clazz.getSimpleName()));
+		}
+		return (EntityStore<T>) stores.computeIfAbsent(jsonPaths, path -> new EntityStore<>(path, clazz));
+	}
+
+	/**
+	 * Retrieves a copy of all entities in the store, in file order.
+	 *
+	 * @return A mutable list of all entities.
+	 */
+	@Override
+	public List<T> findAll() {
+		ensureLoaded();
+		lock.readLock().lock();
+		try {
+			return new ArrayList<>(entities.values());
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Finds an entity by its identifier.
+	 *
+	 * @param id The identifier of the entity.
+	 * @return The entity with the specified identifier, or null if not found.
+	 */
+	@Override
+	public T findById(UUID id) {
+		ensureLoaded();
+		lock.readLock().lock();
+		try {
+			return entities.get(id);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Finds the first entity, in file order, matching the specified predicate.
+	 *
+	 * @param predicate The condition to match.
+	 * @return The first matching entity, or null if none matches.
+	 */
+	@Override
+	public T findFirst(Predicate<? super T> predicate) {
+		ensureLoaded();
+		lock.readLock().lock();
+		try {
+			for (T entity : entities.values()) {
+				if (predicate.test(entity)) {
+					return entity;
+				}
+			}
+			return null;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Finds all entities matching the specified predicate, in file order.
+	 *
+	 * @param predicate The condition to match.
+	 * @return A mutable list of the matching entities.
+	 */
+	@Override
+	public List<T> filter(Predicate<? super T> predicate) {
+		ensureLoaded();
+		lock.readLock().lock();
+		try {
+			List<T> result = new ArrayList<>();
+			for (T entity : entities.values()) {
+				if (predicate.test(entity)) {
+					result.add(entity);
+				}
+			}
+			return result;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Streams a snapshot of the entities in the store, in file order. Mutations made while the stream
+	 * is consumed are not reflected in it.
+	 *
+	 * @return A sequential stream of the entities.
+	 */
+	@Override
+	public Stream<T> scan() {
+		return findAll().stream();
+	}
+
+	/**
+	 * Gets the number of entities in the store.
+	 *
+	 * @return The number of entities.
+	 */
+	@Override
+	public int size() {
+		ensureLoaded();
+		lock.readLock().lock();
+		try {
+			return entities.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Inserts or replaces an entity and persists the store.
+	 *
+	 * @param entity The entity to save.
+	 */
+	@Override
+	public void save(T entity) {
+		saveAll(List.of(entity));
+	}
+
+	/**
+	 * Inserts a new entity, appending it to the backing file instead of rewriting the whole file.
+	 * An entity whose identifier is already in the store is replaced as by {@link #save(Entity)}.
+	 *
+	 * @param entity The entity to insert.
+	 */
+	@Override
+	public void insert(T entity) {
+		ensureLoaded();
+		lock.writeLock().lock();
+		try {
+			boolean replaced = entities.put(entity.getId(), entity) != null;
+			if (journaling) {
+				journal.record(Mutation.upsert(entity));
+				compactIfNeeded();
+			} else if (replaced || !JsonConverter.append(entity, jsonPaths)) {
+				persist();
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Inserts or replaces several entities and persists the store once.
+	 *
+	 * @param updated The entities to save.
+	 */
+	@Override
+	public void saveAll(Collection<? extends T> updated) {
+		ensureLoaded();
+		lock.writeLock().lock();
+		try {
+			for (T entity : updated) {
+				entities.put(entity.getId(), entity);
+				if (journaling) {
+					journal.recordUnsynced(Mutation.upsert(entity));
+				}
+			}
+			if (journaling) {
+				journal.sync();
+			}
+			persistOrCompact();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Deletes the entity with the specified identifier and persists the store.
+	 *
+	 * @param id The identifier of the entity to delete.
+	 * @return true if an entity was deleted, false otherwise.
+	 */
+	@Override
+	public boolean delete(UUID id) {
+		ensureLoaded();
+		lock.writeLock().lock();
+		try {
+			if (entities.remove(id) == null) {
+				return false;
+			}
+			if (journaling) {
+				journal.record(Mutation.delete(id));
+			}
+			persistOrCompact();
+			return true;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Deletes the entities with the specified identifiers and persists the store once.
+	 *
+	 * @param ids The identifiers of the entities to delete.
+	 * @return The number of entities deleted.
+	 */
+	@Override
+	public int deleteAll(Collection<UUID> ids) {
+		ensureLoaded();
+		lock.writeLock().lock();
+		try {
+			int deleted = 0;
+			for (UUID id : ids) {
+				if (entities.remove(id) != null) {
+					deleted++;
+					if (journaling) {
+						journal.recordUnsynced(Mutation.delete(id));
+					}
+				}
+			}
+			if (deleted > 0) {
+				if (journaling) {
+					journal.sync();
+				}
+				persistOrCompact();
+			}
+			return deleted;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Deletes all entities matching the specified predicate and persists the store.
+	 *
+	 * @param predicate The condition for the entities to delete.
+	 * @return true if any entity was deleted, false otherwise.
+	 */
+	@Override
+	public boolean deleteIf(Predicate<? super T> predicate) {
+		ensureLoaded();
+		lock.writeLock().lock();
+		try {
+			List<UUID> removed = new ArrayList<>();
+			for (Iterator<T> iterator = entities.values().iterator(); iterator.hasNext(); ) {
+				T entity = iterator.next();
+				if (predicate.test(entity)) {
+					iterator.remove();
+					removed.add(entity.getId());
+				}
+			}
+			if (removed.isEmpty()) {
+				return false;
+			}
+			if (journaling) {
+				removed.forEach(id -> journal.recordUnsynced(Mutation.delete(id)));
+				journal.sync();
+			}
+			persistOrCompact();
+			return true;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Gets the lock guarding the resident entities against concurrent mutation.
+	 *
+	 * @return The write lock of the store.
+	 */
+	@Override
+	Lock writeLock() {
+		return lock.writeLock();
+	}
+
+	/**
+	 * Applies mutations whose commit is already durable elsewhere, and persists them with a single
+	 * force of the journal, or a single rewrite of the file when the journal is disabled.
+	 *
+	 * @param mutations The mutations to apply, in order.
+	 * @param records   The encoded mutations, in the same order.
+	 */
+	@Override
+	void applyCommitted(List<Mutation> mutations, List<String> records) {
+		ensureLoaded();
+		lock.writeLock().lock();
+		try {
+			for (int i = 0; i < mutations.size(); i++) {
+				Mutation mutation = mutations.get(i);
+				if (!mutation.isDelete()) {
+					ReferenceResolver.resolve(mutation.entity());
+				}
+				journal.apply(mutation, entities);
+				if (journaling) {
+					journal.recordUnsynced(records.get(i));
+				}
+			}
+			if (journaling) {
+				journal.force();
+				compactIfNeeded();
+			} else {
+				persist();
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Folds the journal into a new snapshot of the backing file and discards the folded records.
+	 * <p>
+	 * The snapshot is written outside the write lock, so mutations are only blocked while the entities
+	 * are copied and while the journal is trimmed. Records appended in the meantime stay in the journal.
+	 * Does nothing when the journal is disabled or empty.
+	 */
+	public void compact() {
+		if (!journaling) {
+			return;
+		}
+		ensureLoaded();
+		compactionLock.lock();
+		try {
+			List<T> snapshot;
+			long position;
+			int records;
+			lock.writeLock().lock();
+			try {
+				position = journal.size();
+				if (position == 0) {
+					return;
+				}
+				records = journal.records();
+				snapshot = new ArrayList<>(entities.values());
+			} finally {
+				lock.writeLock().unlock();
+			}
+
+			JsonConverter.serialization(snapshot, jsonPaths);
+			if (binarySnapshot != null) {
+				writeBinarySnapshot(snapshot, binarySnapshot.jsonState());
+			}
+
+			lock.writeLock().lock();
+			try {
+				journal.discardHead(position, journal.records() - records);
+			} finally {
+				lock.writeLock().unlock();
+			}
+		} finally {
+			compactionLock.unlock();
+		}
+	}
+
+	/**
+	 * Parses the backing file once, the first time the store is used, decoding it entity by entity and
+	 * replaying the journal on top of it. A current binary snapshot is read instead of the JSON file
+	 * when there is one; otherwise one is written in the background for the next start. An append interrupted by a previous crash is rolled back first.
+	 * The stores of referenced entities are loaded beforehand, and references are then resolved to
+	 * their resident instances.
+	 */
+	@Override
+	void ensureLoaded() {
+		if (loaded) {
+			return;
+		}
+		for (JsonPaths dependency : ReferenceResolver.dependencies(jsonPaths)) {
+			Repositories.storeOf(dependency, dependency.getEntityClass()).ensureLoaded();
+		}
+		lock.writeLock().lock();
+		try {
+			if (!loaded) {
+				JsonConverter.recoverAppend(jsonPaths);
+				if (binarySnapshot == null || !binarySnapshot.read(entityClass, entity -> entities.put(entity.getId(), entity))) {
+					entities.clear();
+					BinarySnapshot.Source source = binarySnapshot != null ? binarySnapshot.jsonState() : null;
+					try (EntityCursor<T> cursor = JsonConverter.cursor(jsonPaths, entityClass)) {
+						cursor.forEachRemaining(entity -> entities.put(entity.getId(), entity));
+					}
+					if (binarySnapshot != null) {
+						List<T> snapshot = new ArrayList<>(entities.values());
+						compactor.execute(() -> writeBinarySnapshot(snapshot, source));
+					}
+				}
+				if (journaling) {
+					journal.replay(entities);
+				}
+				entities.values().forEach(ReferenceResolver::resolve);
+				loaded = true;
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Persists a mutation already recorded in the journal, or rewrites the backing file if the journal
+	 * is disabled. Must be called under the write lock.
+	 */
+	private void persistOrCompact() {
+		if (journaling) {
+			compactIfNeeded();
+		} else {
+			persist();
+		}
+	}
+
+	/**
+	 * Schedules a background compaction once the journal reaches the size threshold, or once it holds
+	 * enough records relative to the number of entities. Must be called under the write lock.
+	 */
+	private void compactIfNeeded() {
+		int records = journal.records();
+		boolean tooLarge = journal.size() >= StorageConfig.compactionBytes();
+		boolean tooManyRecords = records >= StorageConfig.compactionMinRecords()
+		    && records >= StorageConfig.compactionRatio() * entities.size();
+		if ((tooLarge || tooManyRecords) && compactionScheduled.compareAndSet(false, true)) {
+			compactor.execute(() -> {
+				try {
+					compact();
+				} catch (RuntimeException e) {
+					System.err.println("Journal compaction of %s failed: %s"
+					    .formatted(jsonPaths.getPath(), e.getMessage()));
+				} finally {
+					compactionScheduled.set(false);
+				}
+			});
+		}
+	}
+
+	/**
+	 * Writes the binary snapshot mirroring the JSON file. A failure only costs the next cold start the
+	 * faster path, so it is reported and otherwise ignored.
+	 *
+	 * @param snapshot The entities of the JSON file.
+	 * @param source   The state of the JSON file holding them.
+	 */
+	private void writeBinarySnapshot(List<T> snapshot, BinarySnapshot.Source source) {
+		try {
+			binarySnapshot.write(snapshot, source);
+		} catch (RuntimeException e) {
+			System.err.println("Binary snapshot of %s failed: %s".formatted(jsonPaths.getPath(), e.getMessage()));
+		}
+	}
+
+	/**
+	 * Writes the resident entities back to the backing file. Must be called under the write lock.
+	 */
+	private void persist() {
+		JsonConverter.serialization(new ArrayList<>(entities.values()), jsonPaths);
+	}
+}
@@ -0,0 +1,99 @@
+package com.zoi4erom.animalnetworkbook.persistence.store;
+
+import com.zoi4erom.animalnetworkbook.persistence.entity.Entity;
+import com.zoi4erom.animalnetworkbook.persistence.jsonhandler.JsonPaths;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Secondary index of entities by an enum attribute, with one bucket of identifiers per constant. The
+ * entities of a bucket are kept in the order they were indexed.
+ *
+ * @param <T> The type of indexed entities.
+ * @param <E> The type of the enum attribute.
+ */
+public final class EnumIndex<T extends Entity, E extends Enum<E>> extends EntityIndex<T> {
+
+	private final Function<? super T, E> attribute;
+	private final Map<E, Set<UUID>> idsByConstant;
+	private final Map<UUID, E> constantById = new HashMap<>();
+
+	/**
+	 * Constructs an index of the entities of a JSON file by an enum attribute.
+	 *
+	 * @param jsonPaths The JSON file the indexed entities belong to.
+	 * @param enumClass The class of the enum attribute.
+	 * @param attribute The attribute to index entities by.
+	 */
+	EnumIndex(JsonPaths jsonPaths, Class<E> enumClass, Function<? super T, E> attribute) {
+		super(jsonPaths);
+		this.attribute = attribute;
+		this.idsByConstant = new EnumMap<>(enumClass);
+		for (E constant : enumClass.getEnumConstants()) {
+			idsByConstant.put(constant, new LinkedHashSet<>());
+		}
+	}
+
+	/**
+	 * Finds the identifiers of the entities whose attribute is a constant.
+	 *
+	 * @param constant The constant to look up.
+	 * @return The identifiers of the matching entities, in the order they were indexed.
+	 */
+	public List<UUID> find(E constant) {
+		return read(() -> List.copyOf(idsByConstant.get(constant)));
+	}
+
+	/**
+	 * Counts the entities whose attribute is a constant.
+	 *
+	 * @param constant The constant to look up.
+	 * @return The number of matching entities.
+	 */
+	public int count(E constant) {
+		return read(() -> idsByConstant.get(constant).size());
+	}
+
+	/**
+	 * Adds an entity to the bucket of its attribute, unless the attribute is null.
+	 *
+	 * @param entity The entity to add.
+	 */
+	@Override
+	void index(T entity) {
+		E constant = attribute.apply(entity);
+		if (constant != null) {
+			idsByConstant.get(constant).add(entity.getId());
+			constantById.put(entity.getId(), constant);
+		}
+	}
+
+	/**
+	 * Removes an entity from the bucket it was added to.
+	 *
+	 * @param id The identifier of the entity to remove.
+	 */
+	@Override
+	void unindex(UUID id) {
+		E constant = constantById.remove(id);
+		if (constant != null) {
+			idsByConstant.get(constant).remove(id);
+		}
+	}
+
+	/**
+	 * Empties all buckets.
+	 */
+	@Override
+	void reset() {
+		idsByConstant.values().forEach(Set::clear);
+		constantById.clear();
+	}
+}
@@ -0,0 +1,273 @@
+package com.zoi4erom.animalnetworkbook.persistence.store;
+
+import com.zoi4erom.animalnetworkbook.persistence.exception.DeserializationException;
+import com.zoi4erom.animalnetworkbook.persistence.exception.SerializationException;
+import com.zoi4erom.animalnetworkbook.persistence.jsonhandler.JsonPaths;
+import com.zoi4erom.animalnetworkbook.persistence.store.Transaction.Change;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Commits {@link Transaction}s in groups through redo intent files in {@code Data/tx}.
+ * <p>
+ * The first committing thread becomes the leader and commits every transaction queued so far as one
+ * batch: the batch is written to a temporary intent file, forced, and atomically renamed to its final
+ * name, which is the commit point. The mutations are then applied to the stores, each touched store
+ * is persisted once, and the intent is deleted. Threads arriving meanwhile queue up for the next batch.
+ * Each line of an intent is the name of a {@link JsonPaths} constant, a tab, and a journal record. With
+ * the in-memory backend nothing is durable, so batches are applied directly and no intent is written.
+ */
+final class GroupCommitter {
+
+	private static final Path TX_DIRECTORY = Paths.get("Data/tx");
+	private static final String INTENT_SUFFIX = ".tx";
+	private static final String TEMP_SUFFIX = ".tmp";
+
+	private static final Object monitor = new Object();
+	private static final List<Transaction> pending = new ArrayList<>();
+	private static final AtomicLong sequence = new AtomicLong();
+	private static boolean leading;
+
+	private GroupCommitter() {
+	}
+
+	/**
+	 * Commits a transaction, either by leading a batch or by waiting for the current leader.
+	 *
+	 * @param transaction The transaction to commit.
+	 */
+	static void commit(Transaction transaction) {
+		boolean leader;
+		synchronized (monitor) {
+			pending.add(transaction);
+			leader = !leading;
+			leading = true;
+		}
+		if (leader) {
+			lead();
+		}
+
+		try {
+			transaction.completion().join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Replays the intents of transactions that were committed but not fully applied before a crash.
+	 * Intents that never reached their commit point are discarded.
+	 */
+	static void recover() {
+		if (!Files.isDirectory(TX_DIRECTORY)) {
+			return;
+		}
+
+		List<Path> intents = new ArrayList<>();
+		try (Stream<Path> files = Files.list(TX_DIRECTORY)) {
+			for (Path file : (Iterable<Path>) files::iterator) {
+				String name = file.getFileName().toString();
+				if (name.endsWith(INTENT_SUFFIX)) {
+					intents.add(file);
+				} else if (name.endsWith(TEMP_SUFFIX)) {
+					Files.delete(file);
+				}
+			}
+		} catch (IOException e) {
+			throw new DeserializationException("Error reading transaction intents: " + e.getMessage(), e);
+		}
+		intents.sort(null);
+
+		for (Path intent : intents) {
+			Map<JsonPaths, Batch> batches = new EnumMap<>(JsonPaths.class);
+			try {
+				for (String line : Files.readAllLines(intent, StandardCharsets.UTF_8)) {
+					if (line.isBlank()) {
+						continue;
+					}
+					int separator = line.indexOf('\t');
+					JsonPaths jsonPaths = JsonPaths.valueOf(line.substring(0, separator));
+					AbstractStore<?> store = Repositories.storeOf(jsonPaths, jsonPaths.getEntityClass());
+					String record = line.substring(separator + 1);
+					batches.computeIfAbsent(jsonPaths, path -> new Batch(store)).add(store.decode(record), record);
+				}
+				apply(batches);
+				Files.delete(intent);
+			} catch (IOException | RuntimeException e) {
+				throw new DeserializationException("Error replaying transaction %s: %s"
+				    .formatted(intent, e.getMessage()), e);
+			}
+		}
+	}
+
+	/**
+	 * Commits queued transactions in batches until the queue is empty, then gives up leadership.
+	 */
+	private static void lead() {
+		while (true) {
+			List<Transaction> batch;
+			synchronized (monitor) {
+				if (pending.isEmpty()) {
+					leading = false;
+					return;
+				}
+				batch = new ArrayList<>(pending);
+				pending.clear();
+			}
+
+			try {
+				commitBatch(batch);
+				batch.forEach(transaction -> transaction.completion().complete(null));
+			} catch (RuntimeException e) {
+				batch.forEach(transaction -> transaction.completion().completeExceptionally(e));
+			}
+		}
+	}
+
+	/**
+	 * Makes a batch of transactions durable in one intent file, then applies it to the stores. With
+	 * the in-memory backend the batch is only applied.
+	 *
+	 * @param transactions The transactions to commit together.
+	 */
+	private static void commitBatch(List<Transaction> transactions) {
+		boolean durable = StorageConfig.backend() != StorageBackend.MEMORY;
+		Map<JsonPaths, Batch> batches = new EnumMap<>(JsonPaths.class);
+		List<String> lines = new ArrayList<>();
+		for (Transaction transaction : transactions) {
+			for (Change change : transaction.changes()) {
+				AbstractStore<?> store = change.store();
+				String record = durable ? store.encode(change.mutation()) : null;
+				batches.computeIfAbsent(store.jsonPaths(), path -> new Batch(store)).add(change.mutation(), record);
+				if (durable) {
+					lines.add(store.jsonPaths().name() + '\t' + record);
+				}
+			}
+		}
+
+		if (!durable) {
+			apply(batches);
+			return;
+		}
+		Path intent = writeIntent(lines);
+		apply(batches);
+		try {
+			Files.delete(intent);
+		} catch (IOException e) {
+			throw new SerializationException("Error removing transaction intent: " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Applies the mutations of a batch, holding the write locks of all touched stores so that readers
+	 * never observe part of the batch. Locks are taken in {@link JsonPaths} order to avoid deadlocks.
+	 *
+	 * @param batches The mutations, grouped by store.
+	 */
+	private static void apply(Map<JsonPaths, Batch> batches) {
+		for (Batch batch : batches.values()) {
+			batch.store.ensureLoaded();
+		}
+
+		List<AbstractStore<?>> locked = new ArrayList<>();
+		try {
+			for (Batch batch : batches.values()) {
+				batch.store.writeLock().lock();
+				locked.add(batch.store);
+			}
+			for (Batch batch : batches.values()) {
+				batch.store.applyCommitted(batch.mutations, batch.records);
+			}
+		} finally {
+			for (AbstractStore<?> store : locked) {
+				store.writeLock().unlock();
+			}
+		}
+	}
+
+	/**
+	 * Writes the lines of an intent to a temporary file, forces it, and atomically renames it into place.
+	 *
+	 * @param lines The lines of the intent.
+	 * @return The path of the committed intent.
+	 */
+	private static Path writeIntent(List<String> lines) {
+		String name = "%d-%06d".formatted(System.currentTimeMillis(), sequence.incrementAndGet() % 1_000_000);
+		Path intent = TX_DIRECTORY.resolve(name + INTENT_SUFFIX);
+		Path tempIntent = TX_DIRECTORY.resolve(name + TEMP_SUFFIX);
+		try {
+			Files.createDirectories(TX_DIRECTORY);
+			try (FileChannel channel = FileChannel.open(tempIntent, StandardOpenOption.CREATE,
+			    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+				Writer writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8));
+				for (String line : lines) {
+					writer.write(line);
+					writer.write('\n');
+				}
+				writer.flush();
+				channel.force(false);
+			}
+			Files.move(tempIntent, intent, StandardCopyOption.ATOMIC_MOVE);
+			forceDirectory();
+			return intent;
+		} catch (IOException e) {
+			throw new SerializationException("Error writing transaction intent: " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Forces the rename of the intent to disk. Platforms that cannot open directories skip this step.
+	 */
+	private static void forceDirectory() {
+		try (FileChannel directory = FileChannel.open(TX_DIRECTORY, StandardOpenOption.READ)) {
+			directory.force(true);
+		} catch (IOException e) {
+			// Directories cannot be opened on every platform; the rename is still atomic there.
+		}
+	}
+
+	/**
+	 * The mutations of one store within a batch, with their encoded records.
+	 */
+	private static final class Batch {
+
+		private final AbstractStore<?> store;
+		private final List<Mutation> mutations = new ArrayList<>();
+		private final List<String> records = new ArrayList<>();
+
+		private Batch(AbstractStore<?> store) {
+			this.store = store;
+		}
+
+		/**
+		 * Adds a mutation to the batch.
+		 *
+		 * @param mutation The mutation.
+		 * @param record   The encoded mutation, or null if the batch is not written.
+		 */
+		private void add(Mutation mutation, String record) {
+			mutations.add(mutation);
+			records.add(record);
+		}
+	}
+}
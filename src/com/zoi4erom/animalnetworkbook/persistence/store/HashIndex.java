@@ -0,0 +1,105 @@
+package com.zoi4erom.animalnetworkbook.persistence.store;
+
+import com.zoi4erom.animalnetworkbook.persistence.entity.Entity;
+import com.zoi4erom.animalnetworkbook.persistence.jsonhandler.JsonPaths;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Secondary index of entities by a text attribute, matching values regardless of letter case and
+ * Unicode composition. The entities of a key are kept in the order they were indexed.
+ *
+ * @param <T> The type of indexed entities.
+ */
+public final class HashIndex<T extends Entity> extends EntityIndex<T> {
+
+	private final Function<? super T, String> attribute;
+	private final Map<String, Set<UUID>> idsByKey = new HashMap<>();
+	private final Map<UUID, String> keyById = new HashMap<>();
+
+	/**
+	 * Constructs an index of the entities of a JSON file by a text attribute.
+	 *
+	 * @param jsonPaths The JSON file the indexed entities belong to.
+	 * @param attribute The attribute to index entities by.
+	 */
+	HashIndex(JsonPaths jsonPaths, Function<? super T, String> attribute) {
+		super(jsonPaths);
+		this.attribute = attribute;
+	}
+
+	/**
+	 * Finds the identifiers of the entities whose attribute equals a value, ignoring letter case and
+	 * Unicode composition.
+	 *
+	 * @param value The value to look up.
+	 * @return The identifiers of the matching entities, in the order they were indexed.
+	 */
+	public List<UUID> find(String value) {
+		String key = TextKey.fold(value);
+		return read(() -> {
+			Set<UUID> ids = idsByKey.get(key);
+			return ids == null ? List.of() : List.copyOf(ids);
+		});
+	}
+
+	/**
+	 * Counts the entities whose attribute equals a value, ignoring letter case and Unicode composition.
+	 *
+	 * @param value The value to look up.
+	 * @return The number of matching entities.
+	 */
+	public int count(String value) {
+		String key = TextKey.fold(value);
+		return read(() -> {
+			Set<UUID> ids = idsByKey.get(key);
+			return ids == null ? 0 : ids.size();
+		});
+	}
+
+	/**
+	 * Adds an entity under the key of its attribute, unless the attribute is null.
+	 *
+	 * @param entity The entity to add.
+	 */
+	@Override
+	void index(T entity) {
+		String key = TextKey.fold(attribute.apply(entity));
+		if (key != null) {
+			idsByKey.computeIfAbsent(key, k -> new LinkedHashSet<>()).add(entity.getId());
+			keyById.put(entity.getId(), key);
+		}
+	}
+
+	/**
+	 * Removes an entity from the key it was added under.
+	 *
+	 * @param id The identifier of the entity to remove.
+	 */
+	@Override
+	void unindex(UUID id) {
+		String key = keyById.remove(id);
+		if (key != null) {
+			Set<UUID> ids = idsByKey.get(key);
+			ids.remove(id);
+			if (ids.isEmpty()) {
+				idsByKey.remove(key);
+			}
+		}
+	}
+
+	/**
+	 * Removes all keys.
+	 */
+	@Override
+	void reset() {
+		idsByKey.clear();
+		keyById.clear();
+	}
+}
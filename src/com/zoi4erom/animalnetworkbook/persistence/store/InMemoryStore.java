@@ -0,0 +1,295 @@
+package com.zoi4erom.animalnetworkbook.persistence.store;
+
+import com.zoi4erom.animalnetworkbook.persistence.entity.Entity;
+import com.zoi4erom.animalnetworkbook.persistence.jsonhandler.EntityCursor;
+import com.zoi4erom.animalnetworkbook.persistence.jsonhandler.JsonConverter;
+import com.zoi4erom.animalnetworkbook.persistence.jsonhandler.JsonPaths;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Process-wide, volatile store of the entities of one {@link JsonPaths} file.
+ * <p>
+ * The store is seeded once from the JSON snapshot and its journal, and mutations then only change
+ * the entities in memory; nothing is written back, so all changes are lost when the application
+ * exits. Meant for benchmarks and experiments that must not touch the data files.
+ *
+ * @param <T> The type of entities kept in the store.
+ */
+public final class InMemoryStore<T extends Entity> extends AbstractStore<T> {
+
+	private static final Map<JsonPaths, InMemoryStore<?>> stores = new EnumMap<>(JsonPaths.class);
+
+	private final Map<UUID, T> entities = new LinkedHashMap<>();
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private volatile boolean loaded;
+
+	private InMemoryStore(JsonPaths jsonPaths, Class<T> entityClass) {
+		super(jsonPaths, entityClass);
+	}
+
+	/**
+	 * Gets the store for the specified JSON file, creating it on first use.
+	 *
+	 * @param jsonPaths The JSON file the store is seeded from.
+	 * @param clazz     The class type of entities.
+	 * @param <T>       The type of entities.
+	 * @return The process-wide store for the JSON file.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T extends Entity> InMemoryStore<T> of(JsonPaths jsonPaths, Class<T> clazz) {
+		synchronized (stores) {
+			if (jsonPaths.getEntityClass() != clazz) {
+				throw new IllegalArgumentException(
+				    "File %s does not store %s".formatted(jsonPaths.getPath(), clazz.getSimpleName()));
+			}
+			return (InMemoryStore<T>) stores.computeIfAbsent(jsonPaths, path -> new InMemoryStore<>(path, clazz));
+		}
+	}
+
+	/**
+	 * Retrieves a copy of all entities in the store, in insertion order.
+	 *
+	 * @return A mutable list of all entities.
+	 */
+	@Override
+	public List<T> findAll() {
+		ensureLoaded();
+		lock.readLock().lock();
+		try {
+			return new ArrayList<>(entities.values());
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Finds an entity by its identifier.
+	 *
+	 * @param id The identifier of the entity.
+	 * @return The entity with the specified identifier, or null if not found.
+	 */
+	@Override
+	public T findById(UUID id) {
+		ensureLoaded();
+		lock.readLock().lock();
+		try {
+			return entities.get(id);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Finds the first entity, in insertion order, matching the specified predicate.
+	 *
+	 * @param predicate The condition to match.
+	 * @return The first matching entity, or null if none matches.
+	 */
+	@Override
+	public T findFirst(Predicate<? super T> predicate) {
+		return findAll().stream().filter(predicate).findFirst().orElse(null);
+	}
+
+	/**
+	 * Finds all entities matching the specified predicate, in insertion order.
+	 *
+	 * @param predicate The condition to match.
+	 * @return A mutable list of the matching entities.
+	 */
+	@Override
+	public List<T> filter(Predicate<? super T> predicate) {
+		List<T> result = findAll();
+		result.removeIf(predicate.negate());
+		return result;
+	}
+
+	/**
+	 * Streams a snapshot of the entities in the store, in insertion order.
+	 *
+	 * @return A sequential stream of the entities.
+	 */
+	@Override
+	public Stream<T> scan() {
+		return findAll().stream();
+	}
+
+	/**
+	 * Gets the number of entities in the store.
+	 *
+	 * @return The number of entities.
+	 */
+	@Override
+	public int size() {
+		ensureLoaded();
+		lock.readLock().lock();
+		try {
+			return entities.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Inserts a new entity. An entity whose identifier is already in the store is replaced.
+	 *
+	 * @param entity The entity to insert.
+	 */
+	@Override
+	public void insert(T entity) {
+		saveAll(List.of(entity));
+	}
+
+	/**
+	 * Inserts or replaces an entity.
+	 *
+	 * @param entity The entity to save.
+	 */
+	@Override
+	public void save(T entity) {
+		saveAll(List.of(entity));
+	}
+
+	/**
+	 * Inserts or replaces several entities.
+	 *
+	 * @param updated The entities to save.
+	 */
+	@Override
+	public void saveAll(Collection<? extends T> updated) {
+		ensureLoaded();
+		lock.writeLock().lock();
+		try {
+			for (T entity : updated) {
+				entities.put(entity.getId(), entity);
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Deletes the entity with the specified identifier.
+	 *
+	 * @param id The identifier of the entity to delete.
+	 * @return true if an entity was deleted, false otherwise.
+	 */
+	@Override
+	public boolean delete(UUID id) {
+		return deleteAll(List.of(id)) > 0;
+	}
+
+	/**
+	 * Deletes the entities with the specified identifiers.
+	 *
+	 * @param ids The identifiers of the entities to delete.
+	 * @return The number of entities deleted.
+	 */
+	@Override
+	public int deleteAll(Collection<UUID> ids) {
+		ensureLoaded();
+		lock.writeLock().lock();
+		try {
+			int deleted = 0;
+			for (UUID id : ids) {
+				if (entities.remove(id) != null) {
+					deleted++;
+				}
+			}
+			return deleted;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Deletes all entities matching the specified predicate.
+	 *
+	 * @param predicate The condition for the entities to delete.
+	 * @return true if any entity was deleted, false otherwise.
+	 */
+	@Override
+	public boolean deleteIf(Predicate<? super T> predicate) {
+		ensureLoaded();
+		lock.writeLock().lock();
+		try {
+			return entities.values().removeIf(predicate);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Gets the lock guarding the entities against concurrent mutation.
+	 *
+	 * @return The write lock of the store.
+	 */
+	@Override
+	Lock writeLock() {
+		return lock.writeLock();
+	}
+
+	/**
+	 * Applies the mutations of a committed transaction to the entities in memory.
+	 *
+	 * @param mutations The mutations to apply, in order.
+	 * @param records   The encoded mutations, unused by this store.
+	 */
+	@Override
+	void applyCommitted(List<Mutation> mutations, List<String> records) {
+		ensureLoaded();
+		lock.writeLock().lock();
+		try {
+			for (Mutation mutation : mutations) {
+				if (mutation.isDelete()) {
+					entities.remove(mutation.id());
+				} else {
+					ReferenceResolver.resolve(mutation.entity());
+					entities.put(mutation.id(), entityClass.cast(mutation.entity()));
+				}
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Seeds the store from the JSON snapshot and its journal the first time it is used, after the
+	 * stores of referenced entities, and resolves the references of the entities read.
+	 */
+	@Override
+	void ensureLoaded() {
+		if (loaded) {
+			return;
+		}
+		for (JsonPaths dependency : ReferenceResolver.dependencies(jsonPaths)) {
+			Repositories.storeOf(dependency, dependency.getEntityClass()).ensureLoaded();
+		}
+		lock.writeLock().lock();
+		try {
+			if (!loaded) {
+				try (EntityCursor<T> cursor = JsonConverter.cursor(jsonPaths, entityClass)) {
+					cursor.forEachRemaining(entity -> entities.put(entity.getId(), entity));
+				}
+				Journal<T> journal = new Journal<>(jsonPaths, entityClass);
+				journal.replay(entities);
+				journal.close();
+				entities.values().forEach(ReferenceResolver::resolve);
+				loaded = true;
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+}
@@ -0,0 +1,299 @@
+package com.zoi4erom.animalnetworkbook.persistence.store;
+
+import com.zoi4erom.animalnetworkbook.persistence.entity.Entity;
+import com.zoi4erom.animalnetworkbook.persistence.jsonhandler.JsonPaths;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Store maintaining the secondary {@link Indexes} of one {@link JsonPaths} file in front of the store
+ * of the configured backend.
+ * <p>
+ * Reads are served by the underlying store. Mutations, including those of committed transactions, are
+ * applied to the underlying store and then to the indexes, under the write lock of the underlying
+ * store, so that indexes change in the same order as the store. The indexes are built from the store
+ * when it is loaded.
+ *
+ * @param <T> The type of entities kept in the store.
+ */
+public final class IndexedStore<T extends Entity> extends AbstractStore<T> {
+
+	private static final Map<JsonPaths, IndexedStore<?>> stores = new EnumMap<>(JsonPaths.class);
+
+	private final AbstractStore<T> delegate;
+	private final List<EntityIndex<T>> indexes;
+	private volatile boolean loaded;
+
+	private IndexedStore(AbstractStore<T> delegate, List<EntityIndex<T>> indexes) {
+		super(delegate.jsonPaths, delegate.entityClass);
+		this.delegate = delegate;
+		this.indexes = indexes;
+	}
+
+	/**
+	 * Gets the indexed store in front of the specified store, creating it on first use.
+	 *
+	 * @param delegate The store the reads and mutations are passed to.
+	 * @param indexes  The indexes over the entities of the store.
+	 * @param <T>      The type of entities.
+	 * @return The process-wide indexed store for the JSON file of the store.
+	 */
+	@SuppressWarnings("unchecked")
+	static <T extends Entity> IndexedStore<T> of(AbstractStore<T> delegate, List<EntityIndex<T>> indexes) {
+		synchronized (stores) {
+			return (IndexedStore<T>) stores.computeIfAbsent(delegate.jsonPaths,
+			    path -> new IndexedStore<>(delegate, indexes));
+		}
+	}
+
+	/**
+	 * Retrieves all entities from the underlying store.
+	 *
+	 * @return A mutable list of all entities.
+	 */
+	@Override
+	public List<T> findAll() {
+		ensureLoaded();
+		return delegate.findAll();
+	}
+
+	/**
+	 * Finds an entity by its identifier in the underlying store.
+	 *
+	 * @param id The identifier of the entity.
+	 * @return The entity with the specified identifier, or null if not found.
+	 */
+	@Override
+	public T findById(UUID id) {
+		ensureLoaded();
+		return delegate.findById(id);
+	}
+
+	/**
+	 * Finds the entities with the specified identifiers in the underlying store.
+	 *
+	 * @param ids The identifiers of the entities.
+	 * @return A mutable list of the entities found, in the order of the identifiers.
+	 */
+	@Override
+	public List<T> findAllById(Collection<UUID> ids) {
+		ensureLoaded();
+		return delegate.findAllById(ids);
+	}
+
+	/**
+	 * Finds the first entity matching the specified predicate in the underlying store.
+	 *
+	 * @param predicate The condition to match.
+	 * @return The first matching entity, or null if none matches.
+	 */
+	@Override
+	public T findFirst(Predicate<? super T> predicate) {
+		ensureLoaded();
+		return delegate.findFirst(predicate);
+	}
+
+	/**
+	 * Finds all entities matching the specified predicate in the underlying store.
+	 *
+	 * @param predicate The condition to match.
+	 * @return A mutable list of the matching entities.
+	 */
+	@Override
+	public List<T> filter(Predicate<? super T> predicate) {
+		ensureLoaded();
+		return delegate.filter(predicate);
+	}
+
+	/**
+	 * Streams the entities of the underlying store.
+	 *
+	 * @return A sequential stream of the entities, which the caller must close.
+	 */
+	@Override
+	public Stream<T> scan() {
+		ensureLoaded();
+		return delegate.scan();
+	}
+
+	/**
+	 * Gets the number of entities in the underlying store.
+	 *
+	 * @return The number of entities.
+	 */
+	@Override
+	public int size() {
+		ensureLoaded();
+		return delegate.size();
+	}
+
+	/**
+	 * Inserts a new entity and indexes it.
+	 *
+	 * @param entity The entity to insert.
+	 */
+	@Override
+	public void insert(T entity) {
+		ensureLoaded();
+		Lock lock = delegate.writeLock();
+		lock.lock();
+		try {
+			delegate.insert(entity);
+			indexes.forEach(index -> index.update(entity));
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Inserts or replaces an entity and reindexes it.
+	 *
+	 * @param entity The entity to save.
+	 */
+	@Override
+	public void save(T entity) {
+		saveAll(List.of(entity));
+	}
+
+	/**
+	 * Inserts or replaces several entities and reindexes them.
+	 *
+	 * @param updated The entities to save.
+	 */
+	@Override
+	public void saveAll(Collection<? extends T> updated) {
+		ensureLoaded();
+		Lock lock = delegate.writeLock();
+		lock.lock();
+		try {
+			delegate.saveAll(updated);
+			for (T entity : updated) {
+				indexes.forEach(index -> index.update(entity));
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Deletes the entity with the specified identifier and removes it from the indexes.
+	 *
+	 * @param id The identifier of the entity to delete.
+	 * @return true if an entity was deleted, false otherwise.
+	 */
+	@Override
+	public boolean delete(UUID id) {
+		return deleteAll(List.of(id)) > 0;
+	}
+
+	/**
+	 * Deletes the entities with the specified identifiers and removes them from the indexes.
+	 *
+	 * @param ids The identifiers of the entities to delete.
+	 * @return The number of entities deleted.
+	 */
+	@Override
+	public int deleteAll(Collection<UUID> ids) {
+		ensureLoaded();
+		Lock lock = delegate.writeLock();
+		lock.lock();
+		try {
+			int deleted = delegate.deleteAll(ids);
+			for (UUID id : ids) {
+				indexes.forEach(index -> index.remove(id));
+			}
+			return deleted;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Deletes all entities matching the specified predicate and removes them from the indexes.
+	 *
+	 * @param predicate The condition for the entities to delete.
+	 * @return true if any entity was deleted, false otherwise.
+	 */
+	@Override
+	public boolean deleteIf(Predicate<? super T> predicate) {
+		ensureLoaded();
+		Lock lock = delegate.writeLock();
+		lock.lock();
+		try {
+			List<UUID> ids = new ArrayList<>();
+			for (T entity : delegate.filter(predicate)) {
+				ids.add(entity.getId());
+			}
+			return !ids.isEmpty() && deleteAll(ids) > 0;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Gets the lock guarding the underlying store against concurrent mutation.
+	 *
+	 * @return The write lock of the underlying store.
+	 */
+	@Override
+	Lock writeLock() {
+		return delegate.writeLock();
+	}
+
+	/**
+	 * Applies the mutations of a committed transaction to the underlying store, then to the indexes.
+	 *
+	 * @param mutations The mutations to apply, in order.
+	 * @param records   The encoded mutations, in the same order.
+	 */
+	@Override
+	void applyCommitted(List<Mutation> mutations, List<String> records) {
+		ensureLoaded();
+		Lock lock = delegate.writeLock();
+		lock.lock();
+		try {
+			delegate.applyCommitted(mutations, records);
+			for (Mutation mutation : mutations) {
+				if (mutation.isDelete()) {
+					indexes.forEach(index -> index.remove(mutation.id()));
+				} else {
+					T entity = entityClass.cast(mutation.entity());
+					indexes.forEach(index -> index.update(entity));
+				}
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Loads the underlying store the first time the store is used, and builds the indexes from it.
+	 */
+	@Override
+	void ensureLoaded() {
+		if (loaded) {
+			return;
+		}
+		delegate.ensureLoaded();
+		Lock lock = delegate.writeLock();
+		lock.lock();
+		try {
+			if (!loaded) {
+				try (Stream<T> entities = delegate.scan()) {
+					EntityIndex.rebuild(indexes, entities);
+				}
+				loaded = true;
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+}
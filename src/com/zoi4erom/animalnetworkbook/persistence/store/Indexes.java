@@ -0,0 +1,194 @@
+package com.zoi4erom.animalnetworkbook.persistence.store;
+
+import com.zoi4erom.animalnetworkbook.persistence.entity.Animal;
+import com.zoi4erom.animalnetworkbook.persistence.entity.Entity;
+import com.zoi4erom.animalnetworkbook.persistence.entity.Request;
+import com.zoi4erom.animalnetworkbook.persistence.entity.Request.RequestStatus;
+import com.zoi4erom.animalnetworkbook.persistence.entity.Shelter;
+import com.zoi4erom.animalnetworkbook.persistence.entity.User;
+import com.zoi4erom.animalnetworkbook.persistence.jsonhandler.JsonPaths;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Registry of the secondary indexes maintained over the repositories.
+ */
+public final class Indexes {
+
+	/**
+	 * Users by email.
+	 */
+	public static final HashIndex<User> USER_EMAIL = new HashIndex<>(JsonPaths.USER, User::getEmail);
+
+	/**
+	 * Users by full name, for lookups and completion of names.
+	 */
+	public static final PrefixIndex<User> USER_NAME = new PrefixIndex<>(JsonPaths.USER, User::getFullName);
+
+	/**
+	 * Animals by name, for completion of names.
+	 */
+	public static final PrefixIndex<Animal> ANIMAL_NAME = new PrefixIndex<>(JsonPaths.ANIMAL, Animal::getName);
+
+	/**
+	 * Animals by species.
+	 */
+	public static final HashIndex<Animal> ANIMAL_SPECIES = new HashIndex<>(JsonPaths.ANIMAL, Animal::getSpecies);
+
+	/**
+	 * Animals by breed.
+	 */
+	public static final HashIndex<Animal> ANIMAL_BREED = new HashIndex<>(JsonPaths.ANIMAL, Animal::getBreed);
+
+	/**
+	 * Animals by date of delivery.
+	 */
+	public static final DateRangeIndex<Animal> ANIMAL_DELIVERY =
+	    new DateRangeIndex<>(JsonPaths.ANIMAL, Animal::getDateOfDelivery);
+
+	/**
+	 * Animals by shelter.
+	 */
+	public static final InvertedIndex<Animal> ANIMAL_SHELTER = new InvertedIndex<>(JsonPaths.ANIMAL,
+	    animal -> animal.getShelter() != null ? animal.getShelter().getId() : null);
+
+	/**
+	 * Animals by species, breed, shelter and delivery year, for filters combining these criteria.
+	 */
+	public static final BitmapIndex<Animal, AnimalAttribute> ANIMAL_ATTRIBUTES =
+	    new BitmapIndex<>(JsonPaths.ANIMAL, AnimalAttribute.class, animalAttributes());
+
+	/**
+	 * Animals by the words of their name, species and breed, for full-text search.
+	 */
+	public static final TrigramIndex<Animal> ANIMAL_TEXT = new TrigramIndex<>(JsonPaths.ANIMAL, List.of(
+	    TrigramIndex.field(Animal::getName, 1.0),
+	    TrigramIndex.field(Animal::getSpecies, 0.5),
+	    TrigramIndex.field(Animal::getBreed, 0.5)));
+
+	/**
+	 * Shelters by name, for lookups and completion of names.
+	 */
+	public static final PrefixIndex<Shelter> SHELTER_NAME = new PrefixIndex<>(JsonPaths.SHELTERS, Shelter::getName);
+
+	/**
+	 * Requests by status.
+	 */
+	public static final EnumIndex<Request, RequestStatus> REQUEST_STATUS =
+	    new EnumIndex<>(JsonPaths.REQUEST, RequestStatus.class, Request::getStatus);
+
+	/**
+	 * Requests by animal.
+	 */
+	public static final InvertedIndex<Request> REQUEST_ANIMAL = new InvertedIndex<>(JsonPaths.REQUEST,
+	    request -> request.getAnimal() != null ? request.getAnimal().getId() : null);
+
+	/**
+	 * Requests by user.
+	 */
+	public static final InvertedIndex<Request> REQUEST_USER = new InvertedIndex<>(JsonPaths.REQUEST,
+	    request -> request.getUser() != null ? request.getUser().getId() : null);
+
+	/**
+	 * Requests by name, for filtering by the beginning of names.
+	 */
+	public static final PrefixIndex<Request> REQUEST_NAME = new PrefixIndex<>(JsonPaths.REQUEST, Request::getName);
+
+	/**
+	 * Requests by the words of their name, for full-text search.
+	 */
+	public static final TrigramIndex<Request> REQUEST_TEXT = new TrigramIndex<>(JsonPaths.REQUEST, List.of(
+	    TrigramIndex.field(Request::getName, 1.0)));
+
+	/**
+	 * Users in the order of their identifiers, for paged listings.
+	 */
+	public static final OrderIndex<User> USER_ORDER = new OrderIndex<>(JsonPaths.USER);
+
+	/**
+	 * Animals in the order of their identifiers, for paged listings.
+	 */
+	public static final OrderIndex<Animal> ANIMAL_ORDER = new OrderIndex<>(JsonPaths.ANIMAL);
+
+	/**
+	 * Shelters in the order of their identifiers, for paged listings.
+	 */
+	public static final OrderIndex<Shelter> SHELTER_ORDER = new OrderIndex<>(JsonPaths.SHELTERS);
+
+	/**
+	 * Requests in the order of their identifiers, for paged listings.
+	 */
+	public static final OrderIndex<Request> REQUEST_ORDER = new OrderIndex<>(JsonPaths.REQUEST);
+
+	private static final Map<JsonPaths, List<EntityIndex<?>>> indexes = new EnumMap<>(JsonPaths.class);
+
+	static {
+		register(USER_EMAIL);
+		register(USER_NAME);
+		register(ANIMAL_NAME);
+		register(ANIMAL_SPECIES);
+		register(ANIMAL_BREED);
+		register(ANIMAL_DELIVERY);
+		register(ANIMAL_SHELTER);
+		register(ANIMAL_ATTRIBUTES);
+		register(ANIMAL_TEXT);
+		register(SHELTER_NAME);
+		register(REQUEST_STATUS);
+		register(REQUEST_ANIMAL);
+		register(REQUEST_USER);
+		register(REQUEST_NAME);
+		register(REQUEST_TEXT);
+		register(USER_ORDER);
+		register(ANIMAL_ORDER);
+		register(SHELTER_ORDER);
+		register(REQUEST_ORDER);
+	}
+
+	private Indexes() {
+	}
+
+	/**
+	 * Gets the indexes over the entities of a JSON file.
+	 *
+	 * @param jsonPaths The JSON file.
+	 * @param <T>       The type of entities.
+	 * @return The indexes of the file, possibly none.
+	 */
+	@SuppressWarnings("unchecked")
+	static <T extends Entity> List<EntityIndex<T>> of(JsonPaths jsonPaths) {
+		List<EntityIndex<T>> result = new ArrayList<>();
+		for (EntityIndex<?> index : indexes.getOrDefault(jsonPaths, List.of())) {
+			result.add((EntityIndex<T>) index);
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the functions reading the indexed attributes of an animal.
+	 *
+	 * @return The function reading each attribute.
+	 */
+	private static Map<AnimalAttribute, Function<? super Animal, String>> animalAttributes() {
+		Map<AnimalAttribute, Function<? super Animal, String>> attributes = new EnumMap<>(AnimalAttribute.class);
+		attributes.put(AnimalAttribute.SPECIES, Animal::getSpecies);
+		attributes.put(AnimalAttribute.BREED, Animal::getBreed);
+		attributes.put(AnimalAttribute.SHELTER,
+		    animal -> animal.getShelter() != null ? animal.getShelter().getId().toString() : null);
+		attributes.put(AnimalAttribute.DELIVERY_YEAR,
+		    animal -> animal.getDateOfDelivery() != null ? String.valueOf(animal.getDateOfDelivery().getYear()) : null);
+		return attributes;
+	}
+
+	/**
+	 * Registers an index with the file it indexes.
+	 *
+	 * @param index The index to register.
+	 */
+	private static void register(EntityIndex<?> index) {
+		indexes.computeIfAbsent(index.jsonPaths, path -> new ArrayList<>()).add(index);
+	}
+}
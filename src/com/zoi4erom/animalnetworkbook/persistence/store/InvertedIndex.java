@@ -0,0 +1,115 @@
+package com.zoi4erom.animalnetworkbook.persistence.store;
+
+import com.zoi4erom.animalnetworkbook.persistence.entity.Entity;
+import com.zoi4erom.animalnetworkbook.persistence.jsonhandler.JsonPaths;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Secondary index of entities by the identifier of an entity they reference, such as the animals of
+ * each shelter. The entities of a referenced entity are kept in the order they were indexed.
+ *
+ * @param <T> The type of indexed entities.
+ */
+public final class InvertedIndex<T extends Entity> extends EntityIndex<T> {
+
+	private final Function<? super T, UUID> reference;
+	private final Map<UUID, Set<UUID>> idsByReference = new HashMap<>();
+	private final Map<UUID, UUID> referenceById = new HashMap<>();
+
+	/**
+	 * Constructs an index of the entities of a JSON file by the identifier of a referenced entity.
+	 *
+	 * @param jsonPaths The JSON file the indexed entities belong to.
+	 * @param reference The identifier of the entity referenced by an entity, or null if none.
+	 */
+	InvertedIndex(JsonPaths jsonPaths, Function<? super T, UUID> reference) {
+		super(jsonPaths);
+		this.reference = reference;
+	}
+
+	/**
+	 * Finds the identifiers of the entities referencing an entity.
+	 *
+	 * @param referenceId The identifier of the referenced entity.
+	 * @return The identifiers of the referencing entities, in the order they were indexed.
+	 */
+	public List<UUID> find(UUID referenceId) {
+		return read(() -> {
+			Set<UUID> ids = idsByReference.get(referenceId);
+			return ids == null ? List.of() : List.copyOf(ids);
+		});
+	}
+
+	/**
+	 * Counts the entities referencing an entity.
+	 *
+	 * @param referenceId The identifier of the referenced entity.
+	 * @return The number of referencing entities.
+	 */
+	public int count(UUID referenceId) {
+		return read(() -> {
+			Set<UUID> ids = idsByReference.get(referenceId);
+			return ids == null ? 0 : ids.size();
+		});
+	}
+
+	/**
+	 * Gets the identifier of the entity an entity references, as of the last time it was committed.
+	 * Unlike the entity itself, which may have been changed in place since, this is the reference the
+	 * stores hold.
+	 *
+	 * @param id The identifier of the referencing entity.
+	 * @return The identifier of the referenced entity, or null if the entity references none or is
+	 *     not indexed.
+	 */
+	public UUID referenceOf(UUID id) {
+		return read(() -> referenceById.get(id));
+	}
+
+	/**
+	 * Adds an entity under the identifier of the entity it references, unless it references none.
+	 *
+	 * @param entity The entity to add.
+	 */
+	@Override
+	void index(T entity) {
+		UUID referenceId = reference.apply(entity);
+		if (referenceId != null) {
+			idsByReference.computeIfAbsent(referenceId, id -> new LinkedHashSet<>()).add(entity.getId());
+			referenceById.put(entity.getId(), referenceId);
+		}
+	}
+
+	/**
+	 * Removes an entity from the referenced entity it was added under.
+	 *
+	 * @param id The identifier of the entity to remove.
+	 */
+	@Override
+	void unindex(UUID id) {
+		UUID referenceId = referenceById.remove(id);
+		if (referenceId != null) {
+			Set<UUID> ids = idsByReference.get(referenceId);
+			ids.remove(id);
+			if (ids.isEmpty()) {
+				idsByReference.remove(referenceId);
+			}
+		}
+	}
+
+	/**
+	 * Removes all referenced entities.
+	 */
+	@Override
+	void reset() {
+		idsByReference.clear();
+		referenceById.clear();
+	}
+}
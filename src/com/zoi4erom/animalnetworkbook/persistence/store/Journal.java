@@ -0,0 +1,271 @@
+package com.zoi4erom.animalnetworkbook.persistence.store;
+
+import com.zoi4erom.animalnetworkbook.persistence.entity.Entity;
+import com.zoi4erom.animalnetworkbook.persistence.exception.DeserializationException;
+import com.zoi4erom.animalnetworkbook.persistence.exception.SerializationException;
+import com.zoi4erom.animalnetworkbook.persistence.jsonhandler.JsonPaths;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Append-only write-ahead journal of the mutations of one {@link JsonPaths} file.
+ * <p>
+ * Each line of the journal is a compact JSON record written by a {@link MutationCodec}. The current
+ * state of the file is its last snapshot with the journal replayed on top of it. Records hold whole
+ * entities, so replaying a prefix of the journal that is already part of the snapshot leaves the
+ * result unchanged. Not thread-safe; the owning {@link EntityStore} serializes access under its write
+ * lock.
+ *
+ * @param <T> The type of entities recorded in the journal.
+ */
+final class Journal<T extends Entity> {
+
+	private final Path path;
+	private final Class<T> entityClass;
+	private final MutationCodec<T> codec;
+	private final boolean sync;
+	private FileChannel channel;
+	private int records;
+
+	/**
+	 * Constructs the journal of the specified JSON file.
+	 *
+	 * @param jsonPaths The JSON file whose mutations are recorded.
+	 * @param clazz     The class type of entities.
+	 */
+	Journal(JsonPaths jsonPaths, Class<T> clazz) {
+		Path filePath = Paths.get(jsonPaths.getPath());
+		String fileName = filePath.getFileName().toString();
+		this.path = filePath.resolveSibling(fileName.substring(0, fileName.lastIndexOf('.')) + ".journal");
+		this.entityClass = clazz;
+		this.codec = new MutationCodec<>(clazz);
+		this.sync = StorageConfig.journalSync();
+	}
+
+	/**
+	 * Replays the journal on top of the snapshot entities. A torn last record, left by a crash during
+	 * an append, is the only record that fails to decode without a line break after it, and is cut off.
+	 *
+	 * @param entities The snapshot entities, updated in place.
+	 * @throws DeserializationException If the journal cannot be read or repaired, or if a record
+	 *                                  followed by a line break fails to decode.
+	 */
+	void replay(Map<UUID, T> entities) {
+		records = 0;
+		if (!Files.exists(path)) {
+			return;
+		}
+
+		long validLength = 0;
+		try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+			long size = Files.size(path);
+			int number = 0;
+			String line;
+			while ((line = reader.readLine()) != null) {
+				number++;
+				long length = line.getBytes(StandardCharsets.UTF_8).length;
+				if (!line.isBlank()) {
+					try {
+						apply(codec.decode(line), entities);
+					} catch (IOException | RuntimeException e) {
+						if (validLength + length < size) {
+							throw new DeserializationException("Corrupt record at line %d of journal %s: %s"
+							    .formatted(number, path, e.getMessage()), e);
+						}
+						break;
+					}
+					records++;
+				}
+				validLength += length + 1;
+			}
+		} catch (IOException e) {
+			throw new DeserializationException("Error reading journal %s: %s".formatted(path, e.getMessage()), e);
+		}
+
+		try {
+			if (Files.size(path) > validLength) {
+				try (FileChannel file = FileChannel.open(path, StandardOpenOption.WRITE)) {
+					file.truncate(validLength);
+					file.force(false);
+				}
+			}
+		} catch (IOException e) {
+			throw new DeserializationException("Error repairing journal %s: %s".formatted(path, e.getMessage()), e);
+		}
+	}
+
+	/**
+	 * Records a mutation, forcing it to disk if synchronous appends are configured.
+	 *
+	 * @param mutation The mutation to record.
+	 */
+	void record(Mutation mutation) {
+		append(codec.encode(mutation), sync);
+	}
+
+	/**
+	 * Records a mutation without forcing it to disk, for batches forced once by {@link #sync()}.
+	 *
+	 * @param mutation The mutation to record.
+	 */
+	void recordUnsynced(Mutation mutation) {
+		append(codec.encode(mutation), false);
+	}
+
+	/**
+	 * Records an already encoded mutation without forcing it to disk.
+	 *
+	 * @param record The encoded mutation.
+	 */
+	void recordUnsynced(String record) {
+		append(record, false);
+	}
+
+	/**
+	 * Forces the records appended so far to disk.
+	 */
+	void force() {
+		if (channel == null) {
+			return;
+		}
+		try {
+			channel.force(false);
+		} catch (IOException e) {
+			throw new SerializationException("Error writing to journal %s: %s".formatted(path, e.getMessage()), e);
+		}
+	}
+
+	/**
+	 * Forces the records appended so far to disk if synchronous appends are configured, ending a batch
+	 * of {@link #recordUnsynced(Mutation)} calls.
+	 */
+	void sync() {
+		if (sync) {
+			force();
+		}
+	}
+
+	/**
+	 * Applies a mutation to a set of entities.
+	 *
+	 * @param mutation The mutation to apply.
+	 * @param entities The entities to update.
+	 */
+	void apply(Mutation mutation, Map<UUID, T> entities) {
+		if (mutation.isDelete()) {
+			entities.remove(mutation.id());
+		} else {
+			entities.put(mutation.id(), entityClass.cast(mutation.entity()));
+		}
+	}
+
+	/**
+	 * Gets the size of the journal.
+	 *
+	 * @return The size of the journal in bytes.
+	 */
+	long size() {
+		try {
+			return channel != null ? channel.size() : Files.exists(path) ? Files.size(path) : 0;
+		} catch (IOException e) {
+			throw new SerializationException("Error reading journal size: " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Gets the number of records in the journal.
+	 *
+	 * @return The number of records.
+	 */
+	int records() {
+		return records;
+	}
+
+	/**
+	 * Discards the records written before the specified position, once they are part of a snapshot.
+	 * Records appended after that position are kept.
+	 *
+	 * @param position   The journal size at the time the snapshot was taken.
+	 * @param remaining  The number of records appended after that position.
+	 */
+	void discardHead(long position, int remaining) {
+		try {
+			close();
+			if (!Files.exists(path)) {
+				records = 0;
+				return;
+			}
+			if (Files.size(path) <= position) {
+				Files.delete(path);
+			} else {
+				Path tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+				try (FileChannel source = FileChannel.open(path, StandardOpenOption.READ);
+				    FileChannel target = FileChannel.open(tempPath, StandardOpenOption.CREATE,
+					  StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+					long size = source.size();
+					for (long copied = position; copied < size; ) {
+						copied += source.transferTo(copied, size - copied, target);
+					}
+					target.force(false);
+				}
+				Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			}
+			records = remaining;
+		} catch (IOException e) {
+			throw new SerializationException("Error compacting journal %s: %s".formatted(path, e.getMessage()), e);
+		}
+	}
+
+	/**
+	 * Closes the journal file. The next append reopens it.
+	 */
+	void close() {
+		if (channel == null) {
+			return;
+		}
+		try {
+			channel.close();
+		} catch (IOException e) {
+			throw new SerializationException("Error closing journal: " + e.getMessage(), e);
+		} finally {
+			channel = null;
+		}
+	}
+
+	/**
+	 * Appends a record line to the journal.
+	 *
+	 * @param record The compact JSON record.
+	 * @param force  Whether to force the record to disk before returning.
+	 */
+	private void append(String record, boolean force) {
+		try {
+			if (channel == null) {
+				Files.createDirectories(path.getParent());
+				channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				    StandardOpenOption.APPEND);
+			}
+			ByteBuffer buffer = ByteBuffer.wrap((record + "\n").getBytes(StandardCharsets.UTF_8));
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			if (force) {
+				channel.force(false);
+			}
+			records++;
+		} catch (IOException e) {
+			throw new SerializationException("Error writing to journal %s: %s".formatted(path, e.getMessage()), e);
+		}
+	}
+}
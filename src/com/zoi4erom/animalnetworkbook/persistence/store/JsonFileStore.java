@@ -0,0 +1,353 @@
+package com.zoi4erom.animalnetworkbook.persistence.store;
+
+import com.zoi4erom.animalnetworkbook.persistence.entity.Entity;
+import com.zoi4erom.animalnetworkbook.persistence.jsonhandler.JsonConverter;
+import com.zoi4erom.animalnetworkbook.persistence.jsonhandler.JsonPaths;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Process-wide store that serves the entities of one {@link JsonPaths} file straight from the file.
+ * <p>
+ * The store keeps no state of its own: every read goes through {@link JsonConverter}, which only
+ * parses the file again once it has changed, and every mutation writes the file back, except for
+ * insertions of new entities, which are appended. Records left in the write-ahead {@link Journal} by the resident backend are folded into
+ * the file on first use.
+ *
+ * @param <T> The type of entities kept in the store.
+ */
+public final class JsonFileStore<T extends Entity> extends AbstractStore<T> {
+
+	private static final Map<JsonPaths, JsonFileStore<?>> stores = new EnumMap<>(JsonPaths.class);
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private volatile boolean loaded;
+
+	private JsonFileStore(JsonPaths jsonPaths, Class<T> entityClass) {
+		super(jsonPaths, entityClass);
+	}
+
+	/**
+	 * Gets the store for the specified JSON file, creating it on first use.
+	 *
+	 * @param jsonPaths The JSON file backing the store.
+	 * @param clazz     The class type of entities.
+	 * @param <T>       The type of entities.
+	 * @return The process-wide store for the JSON file.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T extends Entity> JsonFileStore<T> of(JsonPaths jsonPaths, Class<T> clazz) {
+		synchronized (stores) {
+			if (jsonPaths.getEntityClass() != clazz) {
+				throw new IllegalArgumentException(
+				    "File %s does not store %s".formatted(jsonPaths.getPath(), clazz.getSimpleName()));
+			}
+			return (JsonFileStore<T>) stores.computeIfAbsent(jsonPaths, path -> new JsonFileStore<>(path, clazz));
+		}
+	}
+
+	/**
+	 * Reads all entities of the file, in file order.
+	 *
+	 * @return A mutable list of all entities.
+	 */
+	@Override
+	public List<T> findAll() {
+		return query(entities -> entities.collect(Collectors.toCollection(ArrayList::new)));
+	}
+
+	/**
+	 * Finds an entity by its identifier.
+	 *
+	 * @param id The identifier of the entity.
+	 * @return The entity with the specified identifier, or null if not found.
+	 */
+	@Override
+	public T findById(UUID id) {
+		List<T> found = query(entities -> entities.filter(entity -> id.equals(entity.getId())).limit(1).toList());
+		return found.isEmpty() ? null : found.get(0);
+	}
+
+	/**
+	 * Finds the entities with the specified identifiers in a single pass over the file.
+	 *
+	 * @param ids The identifiers of the entities.
+	 * @return A mutable list of the entities found, in the order of the identifiers.
+	 */
+	@Override
+	public List<T> findAllById(Collection<UUID> ids) {
+		Map<UUID, T> found = new LinkedHashMap<>();
+		ids.forEach(id -> found.put(id, null));
+		return query(entities -> {
+			entities.filter(entity -> found.containsKey(entity.getId()))
+			    .forEach(entity -> found.put(entity.getId(), entity));
+			return found.values().stream().filter(Objects::nonNull)
+			    .collect(Collectors.toCollection(ArrayList::new));
+		});
+	}
+
+	/**
+	 * Finds the first entity, in file order, matching the specified predicate.
+	 *
+	 * @param predicate The condition to match.
+	 * @return The first matching entity, or null if none matches.
+	 */
+	@Override
+	public T findFirst(Predicate<? super T> predicate) {
+		return findAll().stream().filter(predicate).findFirst().orElse(null);
+	}
+
+	/**
+	 * Finds all entities matching the specified predicate, in file order.
+	 *
+	 * @param predicate The condition to match.
+	 * @return A mutable list of the matching entities.
+	 */
+	@Override
+	public List<T> filter(Predicate<? super T> predicate) {
+		return findAll().stream().filter(predicate).collect(Collectors.toCollection(ArrayList::new));
+	}
+
+	/**
+	 * Streams the entities of the file, in file order.
+	 *
+	 * @return A sequential stream of the entities.
+	 */
+	@Override
+	public Stream<T> scan() {
+		return findAll().stream();
+	}
+
+	/**
+	 * Gets the number of entities in the file.
+	 *
+	 * @return The number of entities.
+	 */
+	@Override
+	public int size() {
+		return query(entities -> (int) entities.count());
+	}
+
+	/**
+	 * Inserts a new entity, appending it to the file instead of rewriting it. An entity whose
+	 * identifier is already in the file is replaced as by {@link #save(Entity)}.
+	 *
+	 * @param entity The entity to insert.
+	 */
+	@Override
+	public void insert(T entity) {
+		ensureLoaded();
+		lock.writeLock().lock();
+		try {
+			Map<UUID, T> entities = load();
+			if (entities.containsKey(entity.getId()) || !JsonConverter.append(entity, jsonPaths)) {
+				entities.put(entity.getId(), entity);
+				persist(entities);
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Inserts or replaces an entity and rewrites the file.
+	 *
+	 * @param entity The entity to save.
+	 */
+	@Override
+	public void save(T entity) {
+		saveAll(List.of(entity));
+	}
+
+	/**
+	 * Inserts or replaces several entities and rewrites the file once.
+	 *
+	 * @param updated The entities to save.
+	 */
+	@Override
+	public void saveAll(Collection<? extends T> updated) {
+		ensureLoaded();
+		lock.writeLock().lock();
+		try {
+			Map<UUID, T> entities = load();
+			for (T entity : updated) {
+				entities.put(entity.getId(), entity);
+			}
+			persist(entities);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Deletes the entity with the specified identifier and rewrites the file.
+	 *
+	 * @param id The identifier of the entity to delete.
+	 * @return true if an entity was deleted, false otherwise.
+	 */
+	@Override
+	public boolean delete(UUID id) {
+		return deleteAll(List.of(id)) > 0;
+	}
+
+	/**
+	 * Deletes the entities with the specified identifiers and rewrites the file once.
+	 *
+	 * @param ids The identifiers of the entities to delete.
+	 * @return The number of entities deleted.
+	 */
+	@Override
+	public int deleteAll(Collection<UUID> ids) {
+		ensureLoaded();
+		lock.writeLock().lock();
+		try {
+			Map<UUID, T> entities = load();
+			int deleted = 0;
+			for (UUID id : ids) {
+				if (entities.remove(id) != null) {
+					deleted++;
+				}
+			}
+			if (deleted > 0) {
+				persist(entities);
+			}
+			return deleted;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Deletes all entities matching the specified predicate and rewrites the file.
+	 *
+	 * @param predicate The condition for the entities to delete.
+	 * @return true if any entity was deleted, false otherwise.
+	 */
+	@Override
+	public boolean deleteIf(Predicate<? super T> predicate) {
+		List<UUID> matching = filter(predicate).stream().map(Entity::getId).toList();
+		return !matching.isEmpty() && deleteAll(matching) > 0;
+	}
+
+	/**
+	 * Gets the lock guarding the file against concurrent mutation.
+	 *
+	 * @return The write lock of the store.
+	 */
+	@Override
+	Lock writeLock() {
+		return lock.writeLock();
+	}
+
+	/**
+	 * Applies mutations whose commit is already durable elsewhere, rewriting the file once.
+	 *
+	 * @param mutations The mutations to apply, in order.
+	 * @param records   The encoded mutations, unused by this store.
+	 */
+	@Override
+	void applyCommitted(List<Mutation> mutations, List<String> records) {
+		ensureLoaded();
+		lock.writeLock().lock();
+		try {
+			Map<UUID, T> entities = load();
+			for (Mutation mutation : mutations) {
+				if (mutation.isDelete()) {
+					entities.remove(mutation.id());
+				} else {
+					entities.put(mutation.id(), entityClass.cast(mutation.entity()));
+				}
+			}
+			persist(entities);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Prepares the file the first time the store is used: an append interrupted by a previous crash is
+	 * rolled back, and pending journal records are folded into the file.
+	 */
+	@Override
+	void ensureLoaded() {
+		if (loaded) {
+			return;
+		}
+		lock.writeLock().lock();
+		try {
+			if (!loaded) {
+				JsonConverter.recoverAppend(jsonPaths);
+				Journal<T> journal = new Journal<>(jsonPaths, entityClass);
+				Map<UUID, T> entities = load();
+				journal.replay(entities);
+				if (journal.records() > 0) {
+					persist(entities);
+				}
+				journal.discardHead(journal.size(), 0);
+				loaded = true;
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Runs a query over the entities of the file under the read lock, then resolves the
+	 * references of the entities in the result outside of it, so that the locks of other stores are
+	 * never requested while this one is held.
+	 *
+	 * @param query The query over the entities.
+	 * @param <R>   The type of the query result.
+	 * @return The result of the query.
+	 */
+	private <R> R query(Function<Stream<T>, R> query) {
+		ensureLoaded();
+		R result;
+		lock.readLock().lock();
+		try {
+			result = query.apply(JsonConverter.deserialization(jsonPaths, entityClass).stream());
+		} finally {
+			lock.readLock().unlock();
+		}
+		if (result instanceof Collection<?> found) {
+			ReferenceResolver.resolveAll(found.stream().map(Entity.class::cast).toList());
+		}
+		return result;
+	}
+
+	/**
+	 * Reads the entities of the file, keyed by identifier. Must be called under the write lock.
+	 *
+	 * @return The entities of the file, in file order.
+	 */
+	private Map<UUID, T> load() {
+		Map<UUID, T> entities = new LinkedHashMap<>();
+		for (T entity : JsonConverter.deserialization(jsonPaths, entityClass)) {
+			entities.put(entity.getId(), entity);
+		}
+		return entities;
+	}
+
+	/**
+	 * Writes the entities back to the file. Must be called under the write lock.
+	 *
+	 * @param entities The entities to write.
+	 */
+	private void persist(Map<UUID, T> entities) {
+		JsonConverter.serialization(new ArrayList<>(entities.values()), jsonPaths);
+	}
+}
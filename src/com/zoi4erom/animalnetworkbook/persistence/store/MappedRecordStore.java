@@ -0,0 +1,461 @@
+package com.zoi4erom.animalnetworkbook.persistence.store;
+
+import com.zoi4erom.animalnetworkbook.persistence.entity.Entity;
+import com.zoi4erom.animalnetworkbook.persistence.exception.SerializationException;
+import com.zoi4erom.animalnetworkbook.persistence.jsonhandler.EntityCursor;
+import com.zoi4erom.animalnetworkbook.persistence.jsonhandler.JsonConverter;
+import com.zoi4erom.animalnetworkbook.persistence.jsonhandler.JsonPaths;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Process-wide store of the entities of one {@link JsonPaths} file, kept in a memory-mapped
+ * {@link RecordFile} with a persistent {@link OffsetIndex} from identifiers to records.
+ * <p>
+ * Entities are not held in memory; they are decoded from the mapped file on every read, so startup
+ * only maps two files and the heap does not grow with the data. On first use the records are
+ * imported from the JSON snapshot and its journal; from then on the record file is the source of
+ * truth and the JSON file is no longer updated. Each mutation appends a record and marks the replaced
+ * one dead; dead records are dropped when the file is opened and they take half of it.
+ *
+ * @param <T> The type of entities kept in the store.
+ */
+public final class MappedRecordStore<T extends Entity> extends AbstractStore<T> {
+
+	private static final Map<JsonPaths, MappedRecordStore<?>> stores = new EnumMap<>(JsonPaths.class);
+
+	static {
+		Runtime.getRuntime().addShutdownHook(new Thread(MappedRecordStore::closeAll, "record-store-close"));
+	}
+
+	private final RecordFile records;
+	private final OffsetIndex index;
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private final boolean sync;
+	private volatile boolean loaded;
+
+	private MappedRecordStore(JsonPaths jsonPaths, Class<T> entityClass) {
+		super(jsonPaths, entityClass);
+		Path filePath = Paths.get(jsonPaths.getPath());
+		String fileName = filePath.getFileName().toString();
+		String baseName = fileName.substring(0, fileName.lastIndexOf('.'));
+		this.records = new RecordFile(filePath.resolveSibling(baseName + ".records"));
+		this.index = new OffsetIndex(filePath.resolveSibling(baseName + ".index"));
+		this.sync = StorageConfig.mappedSync();
+	}
+
+	/**
+	 * Gets the store for the specified JSON file, creating it on first use.
+	 *
+	 * @param jsonPaths The JSON file whose entities the store keeps.
+	 * @param clazz     The class type of entities.
+	 * @param <T>       The type of entities.
+	 * @return The process-wide store for the JSON file.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T extends Entity> MappedRecordStore<T> of(JsonPaths jsonPaths, Class<T> clazz) {
+		synchronized (stores) {
+			if (jsonPaths.getEntityClass() != clazz) {
+				throw new IllegalArgumentException(
+				    "File %s does not store %s".formatted(jsonPaths.getPath(), clazz.getSimpleName()));
+			}
+			return (MappedRecordStore<T>) stores.computeIfAbsent(jsonPaths, path -> new MappedRecordStore<>(path, clazz));
+		}
+	}
+
+	/**
+	 * Retrieves all entities in the store, in record order.
+	 *
+	 * @return A mutable list of all entities.
+	 */
+	@Override
+	public List<T> findAll() {
+		try (Stream<T> entities = scan()) {
+			return entities.collect(Collectors.toCollection(ArrayList::new));
+		}
+	}
+
+	/**
+	 * Finds an entity by its identifier through the offset index.
+	 *
+	 * @param id The identifier of the entity.
+	 * @return The entity with the specified identifier, or null if not found.
+	 */
+	@Override
+	public T findById(UUID id) {
+		ensureLoaded();
+		T entity;
+		lock.readLock().lock();
+		try {
+			long offset = index.get(id);
+			if (offset < 0) {
+				return null;
+			}
+			entity = BinaryCodec.read(records.payload(offset), entityClass);
+		} finally {
+			lock.readLock().unlock();
+		}
+		ReferenceResolver.resolve(entity);
+		return entity;
+	}
+
+	/**
+	 * Finds the first entity, in record order, matching the specified predicate.
+	 *
+	 * @param predicate The condition to match.
+	 * @return The first matching entity, or null if none matches.
+	 */
+	@Override
+	public T findFirst(Predicate<? super T> predicate) {
+		try (Stream<T> entities = scan()) {
+			return entities.filter(predicate).findFirst().orElse(null);
+		}
+	}
+
+	/**
+	 * Finds all entities matching the specified predicate, in record order.
+	 *
+	 * @param predicate The condition to match.
+	 * @return A mutable list of the matching entities.
+	 */
+	@Override
+	public List<T> filter(Predicate<? super T> predicate) {
+		try (Stream<T> entities = scan()) {
+			return entities.filter(predicate).collect(Collectors.toCollection(ArrayList::new));
+		}
+	}
+
+	/**
+	 * Streams the entities in record order, decoding each one only when the stream reaches it. Records
+	 * appended after the stream is created are not visited; entities deleted meanwhile are skipped.
+	 *
+	 * @return A sequential stream of the entities.
+	 */
+	@Override
+	public Stream<T> scan() {
+		ensureLoaded();
+		long end;
+		lock.readLock().lock();
+		try {
+			end = records.end();
+		} finally {
+			lock.readLock().unlock();
+		}
+		return Stream.iterate(RecordFile.start(), offset -> offset < end, records::next)
+		    .filter(records::isLive)
+		    .map(offset -> {
+			    T entity = BinaryCodec.read(records.payload(offset), entityClass);
+			    ReferenceResolver.resolve(entity);
+			    return entity;
+		    });
+	}
+
+	/**
+	 * Gets the number of entities in the store.
+	 *
+	 * @return The number of entities.
+	 */
+	@Override
+	public int size() {
+		ensureLoaded();
+		lock.readLock().lock();
+		try {
+			return index.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Inserts a new entity. An entity whose identifier is already in the store is replaced as by
+	 * {@link #save(Entity)}.
+	 *
+	 * @param entity The entity to insert.
+	 */
+	@Override
+	public void insert(T entity) {
+		save(entity);
+	}
+
+	/**
+	 * Inserts or replaces an entity.
+	 *
+	 * @param entity The entity to save.
+	 */
+	@Override
+	public void save(T entity) {
+		saveAll(List.of(entity));
+	}
+
+	/**
+	 * Inserts or replaces several entities, forcing the record file once.
+	 *
+	 * @param updated The entities to save.
+	 */
+	@Override
+	public void saveAll(Collection<? extends T> updated) {
+		ensureLoaded();
+		lock.writeLock().lock();
+		try {
+			for (T entity : updated) {
+				write(entity);
+			}
+			if (sync) {
+				records.force();
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Deletes the entity with the specified identifier.
+	 *
+	 * @param id The identifier of the entity to delete.
+	 * @return true if an entity was deleted, false otherwise.
+	 */
+	@Override
+	public boolean delete(UUID id) {
+		ensureLoaded();
+		lock.writeLock().lock();
+		try {
+			boolean deleted = remove(id);
+			if (deleted && sync) {
+				records.force();
+			}
+			return deleted;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Deletes all entities matching the specified predicate. The predicate is evaluated outside the
+	 * write lock, so entities saved while the store is scanned may not be considered.
+	 *
+	 * @param predicate The condition for the entities to delete.
+	 * @return true if any entity was deleted, false otherwise.
+	 */
+	@Override
+	public boolean deleteIf(Predicate<? super T> predicate) {
+		List<UUID> matching;
+		try (Stream<T> entities = scan()) {
+			matching = entities.filter(predicate).map(Entity::getId).toList();
+		}
+		return deleteAll(matching) > 0;
+	}
+
+	/**
+	 * Deletes the entities with the specified identifiers, forcing the record file once.
+	 *
+	 * @param ids The identifiers of the entities to delete.
+	 * @return The number of entities deleted.
+	 */
+	@Override
+	public int deleteAll(Collection<UUID> ids) {
+		ensureLoaded();
+		lock.writeLock().lock();
+		try {
+			int deleted = 0;
+			for (UUID id : ids) {
+				if (remove(id)) {
+					deleted++;
+				}
+			}
+			if (deleted > 0 && sync) {
+				records.force();
+			}
+			return deleted;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Gets the lock guarding the record file and the index against concurrent mutation.
+	 *
+	 * @return The write lock of the store.
+	 */
+	@Override
+	Lock writeLock() {
+		return lock.writeLock();
+	}
+
+	/**
+	 * Applies mutations whose commit is already durable elsewhere, forcing the record file once for the
+	 * batch regardless of {@link StorageConfig#mappedSync()}, since the commit intent is deleted next.
+	 *
+	 * @param mutations The mutations to apply, in order.
+	 * @param encoded   The encoded mutations, unused by this store.
+	 */
+	@Override
+	void applyCommitted(List<Mutation> mutations, List<String> encoded) {
+		ensureLoaded();
+		lock.writeLock().lock();
+		try {
+			for (Mutation mutation : mutations) {
+				if (mutation.isDelete()) {
+					remove(mutation.id());
+				} else {
+					write(entityClass.cast(mutation.entity()));
+				}
+			}
+			records.force();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Opens the record file and the index the first time the store is used. Dead records are dropped
+	 * first if they take half of the file. The records are imported from the JSON snapshot and its
+	 * journal when no record file exists yet, and the index is rebuilt when it was not closed cleanly
+	 * or the record file was created or rewritten.
+	 */
+	@Override
+	void ensureLoaded() {
+		if (loaded) {
+			return;
+		}
+		for (JsonPaths dependency : ReferenceResolver.dependencies(jsonPaths)) {
+			Repositories.storeOf(dependency, dependency.getEntityClass()).ensureLoaded();
+		}
+		lock.writeLock().lock();
+		try {
+			if (!loaded) {
+				boolean imported = !records.exists();
+				if (imported) {
+					importSnapshot();
+				}
+				boolean vacuumed = records.vacuum();
+				records.open();
+				boolean indexValid = index.open();
+				if (imported || vacuumed || !indexValid) {
+					rebuildIndex();
+				}
+				loaded = true;
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Creates the record file from the entities of the JSON snapshot, with the journal replayed on top
+	 * of it. The file appears complete or not at all, so an import interrupted by a crash is simply
+	 * started over. Must be called under the write lock, before the record file is opened.
+	 */
+	private void importSnapshot() {
+		JsonConverter.recoverAppend(jsonPaths);
+		Map<UUID, T> entities = new LinkedHashMap<>();
+		try (EntityCursor<T> cursor = JsonConverter.cursor(jsonPaths, entityClass)) {
+			cursor.forEachRemaining(entity -> entities.put(entity.getId(), entity));
+		}
+		Journal<T> journal = new Journal<>(jsonPaths, entityClass);
+		try {
+			journal.replay(entities);
+		} finally {
+			journal.close();
+		}
+		records.create(entities.values().stream().map(MappedRecordStore::encode).toList());
+	}
+
+	/**
+	 * Rebuilds the index from the live records. Of two live records of the same entity, left by a crash
+	 * between appending a record and retiring the previous one, the later one wins. Must be called under
+	 * the write lock.
+	 */
+	private void rebuildIndex() {
+		index.clear();
+		records.forEachLive(offset -> {
+			long previous = index.put(BinaryCodec.readUuid(records.payload(offset)), offset);
+			if (previous >= 0) {
+				records.markDead(previous);
+			}
+		});
+	}
+
+	/**
+	 * Appends the record of an entity and retires the record it replaces. Must be called under the
+	 * write lock.
+	 *
+	 * @param entity The entity to write.
+	 */
+	private void write(T entity) {
+		long previous = index.put(entity.getId(), records.append(encode(entity)));
+		if (previous >= 0) {
+			records.markDead(previous);
+		}
+	}
+
+	/**
+	 * Encodes an entity as the payload of its record.
+	 *
+	 * @param entity The entity to encode.
+	 * @return The encoded entity.
+	 */
+	private static byte[] encode(Entity entity) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			BinaryCodec.write(out, entity);
+		} catch (IOException e) {
+			throw new SerializationException("Error encoding entity %s: %s".formatted(entity.getId(), e.getMessage()), e);
+		}
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * Retires the record of an entity. Must be called under the write lock.
+	 *
+	 * @param id The identifier of the entity.
+	 * @return true if the entity was in the store.
+	 */
+	private boolean remove(UUID id) {
+		long previous = index.remove(id);
+		if (previous < 0) {
+			return false;
+		}
+		records.markDead(previous);
+		return true;
+	}
+
+	/**
+	 * Closes the record files and the indexes of all opened stores, marking the indexes clean, after
+	 * flushing any write-behind buffer into them. Runs when the application exits.
+	 */
+	private static void closeAll() {
+		WriteBehindStore.flushAll();
+		List<MappedRecordStore<?>> opened;
+		synchronized (stores) {
+			opened = new ArrayList<>(stores.values());
+		}
+		for (MappedRecordStore<?> store : opened) {
+			store.lock.writeLock().lock();
+			try {
+				if (store.loaded) {
+					store.records.close();
+					store.index.close();
+				}
+			} finally {
+				store.lock.writeLock().unlock();
+			}
+		}
+	}
+}
@@ -0,0 +1,43 @@
+package com.zoi4erom.animalnetworkbook.persistence.store;
+
+import com.zoi4erom.animalnetworkbook.persistence.entity.Entity;
+
+import java.util.UUID;
+
+/**
+ * A single change to a store: the new state of an entity, or the deletion of an entity.
+ *
+ * @param id     The identifier of the changed entity.
+ * @param entity The new state of the entity, or null if the entity is deleted.
+ */
+record Mutation(UUID id, Entity entity) {
+
+	/**
+	 * Creates the mutation inserting or replacing an entity.
+	 *
+	 * @param entity The new state of the entity.
+	 * @return The upsert mutation.
+	 */
+	static Mutation upsert(Entity entity) {
+		return new Mutation(entity.getId(), entity);
+	}
+
+	/**
+	 * Creates the mutation deleting an entity.
+	 *
+	 * @param id The identifier of the entity to delete.
+	 * @return The delete mutation.
+	 */
+	static Mutation delete(UUID id) {
+		return new Mutation(id, null);
+	}
+
+	/**
+	 * Checks whether this mutation deletes the entity.
+	 *
+	 * @return true for a delete, false for an upsert.
+	 */
+	boolean isDelete() {
+		return entity == null;
+	}
+}
@@ -0,0 +1,95 @@
+package com.zoi4erom.animalnetworkbook.persistence.store;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.zoi4erom.animalnetworkbook.persistence.entity.Entity;
+import com.zoi4erom.animalnetworkbook.persistence.exception.SerializationException;
+import com.zoi4erom.animalnetworkbook.persistence.jsonhandler.EntityCodec;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.UUID;
+
+/**
+ * Encodes mutations of one entity type as compact, single-line JSON records, either
+ * {@code {"op":"upsert","entity":{...}}} or {@code {"op":"delete","id":"..."}}. The same records are
+ * used by the {@link Journal} and by transaction intents.
+ *
+ * @param <T> The type of entities of the encoded mutations.
+ */
+final class MutationCodec<T extends Entity> {
+
+	private static final String UPSERT = "upsert";
+	private static final String DELETE = "delete";
+
+	private final Class<T> entityClass;
+	private final TypeAdapter<T> adapter;
+
+	/**
+	 * Constructs the codec of the specified entity type.
+	 *
+	 * @param clazz The class type of entities.
+	 */
+	MutationCodec(Class<T> clazz) {
+		this.entityClass = clazz;
+		this.adapter = EntityCodec.gson().getAdapter(clazz);
+	}
+
+	/**
+	 * Encodes a mutation as a compact, single-line JSON record.
+	 *
+	 * @param mutation The mutation to encode.
+	 * @return The journal record.
+	 */
+	String encode(Mutation mutation) {
+		if (mutation.isDelete()) {
+			return "{\"op\":\"" + DELETE + "\",\"id\":\"" + mutation.id() + "\"}";
+		}
+		StringWriter buffer = new StringWriter();
+		try (JsonWriter out = new JsonWriter(buffer)) {
+			out.beginObject();
+			out.name("op").value(UPSERT);
+			out.name("entity");
+			adapter.write(out, entityClass.cast(mutation.entity()));
+			out.endObject();
+		} catch (IOException e) {
+			throw new SerializationException("Error encoding journal record: " + e.getMessage(), e);
+		}
+		return buffer.toString();
+	}
+
+	/**
+	 * Decodes a journal record.
+	 *
+	 * @param line The journal record.
+	 * @return The recorded mutation.
+	 * @throws IOException If the record is malformed.
+	 */
+	Mutation decode(String line) throws IOException {
+		try (JsonReader in = new JsonReader(new StringReader(line))) {
+			String op = null;
+			T entity = null;
+			UUID id = null;
+
+			in.beginObject();
+			while (in.hasNext()) {
+				switch (in.nextName()) {
+					case "op" -> op = in.nextString();
+					case "entity" -> entity = adapter.read(in);
+					case "id" -> id = UUID.fromString(in.nextString());
+					default -> in.skipValue();
+				}
+			}
+			in.endObject();
+
+			if (UPSERT.equals(op) && entity != null) {
+				return Mutation.upsert(entity);
+			} else if (DELETE.equals(op) && id != null) {
+				return Mutation.delete(id);
+			}
+			throw new IOException("Unknown journal record: " + line);
+		}
+	}
+}
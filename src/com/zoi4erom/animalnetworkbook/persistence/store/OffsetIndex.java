@@ -0,0 +1,296 @@
+package com.zoi4erom.animalnetworkbook.persistence.store;
+
+import com.zoi4erom.animalnetworkbook.persistence.exception.DeserializationException;
+import com.zoi4erom.animalnetworkbook.persistence.exception.SerializationException;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+
+/**
+ * Persistent, memory-mapped hash table from entity identifiers to record offsets in a {@link RecordFile}.
+ * <p>
+ * The table uses open addressing with linear probing over fixed-size slots holding the two halves of
+ * the UUID and the record offset; an offset of 0 marks an empty slot and -1 a deleted one. The header
+ * carries a clean flag that is cleared while the index is open and set again on {@link #close()}; an
+ * index that was not closed cleanly is rebuilt from the record file. Not thread-safe; the owning
+ * {@link MappedRecordStore} serializes writers.
+ */
+final class OffsetIndex {
+
+	private static final int MAGIC = 0x414E4249;
+	private static final int VERSION = 1;
+	private static final int HEADER_SIZE = 32;
+	private static final int CAPACITY_OFFSET = 8;
+	private static final int SIZE_OFFSET = 12;
+	private static final int TOMBSTONES_OFFSET = 16;
+	private static final int CLEAN_OFFSET = 20;
+	private static final int SLOT_SIZE = 24;
+	private static final int INITIAL_CAPACITY = 1024;
+	private static final long EMPTY = 0;
+	private static final long DELETED = -1;
+	private static final double MAX_LOAD = 0.7;
+
+	private final Path path;
+	private FileChannel channel;
+	private volatile MappedByteBuffer buffer;
+	private int capacity;
+	private int size;
+	private int tombstones;
+
+	/**
+	 * Constructs the index at the specified path. The index is not opened yet.
+	 *
+	 * @param path The path of the index file.
+	 */
+	OffsetIndex(Path path) {
+		this.path = path;
+	}
+
+	/**
+	 * Opens and maps the index, creating it if it does not exist, and marks it in use.
+	 *
+	 * @return true if the index was closed cleanly and can be used as is, false if it must be rebuilt.
+	 */
+	boolean open() {
+		try {
+			Files.createDirectories(path.getParent());
+			boolean created = !Files.exists(path);
+			channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+			boolean valid = !created && channel.size() >= HEADER_SIZE;
+			if (valid) {
+				buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+				valid = buffer.getInt(0) == MAGIC && buffer.getInt(4) == VERSION
+				    && buffer.get(CLEAN_OFFSET) == 1
+				    && channel.size() == HEADER_SIZE + (long) buffer.getInt(CAPACITY_OFFSET) * SLOT_SIZE;
+			}
+			if (valid) {
+				capacity = buffer.getInt(CAPACITY_OFFSET);
+				size = buffer.getInt(SIZE_OFFSET);
+				tombstones = buffer.getInt(TOMBSTONES_OFFSET);
+			} else {
+				reset(INITIAL_CAPACITY);
+			}
+			buffer.put(CLEAN_OFFSET, (byte) 0);
+			buffer.force();
+			return valid;
+		} catch (IOException e) {
+			throw new DeserializationException("Error opening index %s: %s".formatted(path, e.getMessage()), e);
+		}
+	}
+
+	/**
+	 * Removes all entries.
+	 */
+	void clear() {
+		reset(INITIAL_CAPACITY);
+	}
+
+	/**
+	 * Gets the record offset of an entity.
+	 *
+	 * @param id The identifier of the entity.
+	 * @return The offset of the entity's record, or -1 if the entity is not indexed.
+	 */
+	long get(UUID id) {
+		MappedByteBuffer table = buffer;
+		int slots = capacity;
+		long msb = id.getMostSignificantBits();
+		long lsb = id.getLeastSignificantBits();
+		for (int slot = slot(msb, lsb, slots), probes = 0; probes < slots; slot = (slot + 1) & (slots - 1), probes++) {
+			int position = HEADER_SIZE + slot * SLOT_SIZE;
+			long offset = table.getLong(position + 16);
+			if (offset == EMPTY) {
+				return -1;
+			}
+			if (offset != DELETED && table.getLong(position) == msb && table.getLong(position + 8) == lsb) {
+				return offset;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Sets the record offset of an entity.
+	 *
+	 * @param id     The identifier of the entity.
+	 * @param offset The offset of the entity's record.
+	 * @return The previous offset of the entity's record, or -1 if the entity was not indexed.
+	 */
+	long put(UUID id, long offset) {
+		if (size + tombstones + 1 > capacity * MAX_LOAD) {
+			rehash(size + 1 > capacity * MAX_LOAD / 2 ? capacity * 2 : capacity);
+		}
+		long msb = id.getMostSignificantBits();
+		long lsb = id.getLeastSignificantBits();
+		int free = -1;
+		for (int slot = slot(msb, lsb, capacity), probes = 0; probes < capacity; slot = (slot + 1) & (capacity - 1), probes++) {
+			int position = HEADER_SIZE + slot * SLOT_SIZE;
+			long current = buffer.getLong(position + 16);
+			if (current == EMPTY) {
+				if (free < 0) {
+					free = position;
+				}
+				break;
+			}
+			if (current == DELETED) {
+				if (free < 0) {
+					free = position;
+				}
+			} else if (buffer.getLong(position) == msb && buffer.getLong(position + 8) == lsb) {
+				buffer.putLong(position + 16, offset);
+				return current;
+			}
+		}
+
+		if (buffer.getLong(free + 16) == DELETED) {
+			tombstones--;
+		}
+		buffer.putLong(free, msb);
+		buffer.putLong(free + 8, lsb);
+		buffer.putLong(free + 16, offset);
+		size++;
+		writeHeader();
+		return -1;
+	}
+
+	/**
+	 * Removes the entry of an entity.
+	 *
+	 * @param id The identifier of the entity.
+	 * @return The offset of the entity's record, or -1 if the entity was not indexed.
+	 */
+	long remove(UUID id) {
+		long msb = id.getMostSignificantBits();
+		long lsb = id.getLeastSignificantBits();
+		for (int slot = slot(msb, lsb, capacity), probes = 0; probes < capacity; slot = (slot + 1) & (capacity - 1), probes++) {
+			int position = HEADER_SIZE + slot * SLOT_SIZE;
+			long offset = buffer.getLong(position + 16);
+			if (offset == EMPTY) {
+				return -1;
+			}
+			if (offset != DELETED && buffer.getLong(position) == msb && buffer.getLong(position + 8) == lsb) {
+				buffer.putLong(position + 16, DELETED);
+				size--;
+				tombstones++;
+				writeHeader();
+				return offset;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Gets the number of indexed entities.
+	 *
+	 * @return The number of entries.
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Marks the index clean, forces it to disk and closes it.
+	 */
+	void close() {
+		if (channel == null) {
+			return;
+		}
+		try {
+			buffer.put(CLEAN_OFFSET, (byte) 1);
+			buffer.force();
+			channel.close();
+		} catch (IOException e) {
+			throw new SerializationException("Error closing index %s: %s".formatted(path, e.getMessage()), e);
+		} finally {
+			channel = null;
+		}
+	}
+
+	/**
+	 * Rebuilds the table with the specified capacity, dropping deleted slots.
+	 *
+	 * @param newCapacity The new number of slots, a power of two.
+	 */
+	private void rehash(int newCapacity) {
+		long[] entries = new long[size * 3];
+		int count = 0;
+		for (int slot = 0; slot < capacity; slot++) {
+			int position = HEADER_SIZE + slot * SLOT_SIZE;
+			long offset = buffer.getLong(position + 16);
+			if (offset != EMPTY && offset != DELETED) {
+				entries[count++] = buffer.getLong(position);
+				entries[count++] = buffer.getLong(position + 8);
+				entries[count++] = offset;
+			}
+		}
+
+		reset(newCapacity);
+		for (int i = 0; i < count; i += 3) {
+			int slot = slot(entries[i], entries[i + 1], capacity);
+			int position = HEADER_SIZE + slot * SLOT_SIZE;
+			while (buffer.getLong(position + 16) != EMPTY) {
+				slot = (slot + 1) & (capacity - 1);
+				position = HEADER_SIZE + slot * SLOT_SIZE;
+			}
+			buffer.putLong(position, entries[i]);
+			buffer.putLong(position + 8, entries[i + 1]);
+			buffer.putLong(position + 16, entries[i + 2]);
+		}
+		size = count / 3;
+		writeHeader();
+	}
+
+	/**
+	 * Truncates the file to an empty table of the specified capacity and maps it.
+	 *
+	 * @param newCapacity The number of slots, a power of two.
+	 */
+	private void reset(int newCapacity) {
+		long length = HEADER_SIZE + (long) newCapacity * SLOT_SIZE;
+		if (length > Integer.MAX_VALUE) {
+			throw new SerializationException("Index %s exceeds the maximal size of a mapping".formatted(path), null);
+		}
+		try {
+			channel.truncate(0);
+			buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+		} catch (IOException e) {
+			throw new SerializationException("Error resizing index %s: %s".formatted(path, e.getMessage()), e);
+		}
+		capacity = newCapacity;
+		size = 0;
+		tombstones = 0;
+		buffer.putInt(0, MAGIC);
+		buffer.putInt(4, VERSION);
+		writeHeader();
+	}
+
+	/**
+	 * Writes the capacity and the entry counts to the header.
+	 */
+	private void writeHeader() {
+		buffer.putInt(CAPACITY_OFFSET, capacity);
+		buffer.putInt(SIZE_OFFSET, size);
+		buffer.putInt(TOMBSTONES_OFFSET, tombstones);
+	}
+
+	/**
+	 * Gets the home slot of a UUID.
+	 *
+	 * @param msb   The most significant bits of the UUID.
+	 * @param lsb   The least significant bits of the UUID.
+	 * @param slots The number of slots, a power of two.
+	 * @return The home slot.
+	 */
+	private static int slot(long msb, long lsb, int slots) {
+		long hash = msb ^ lsb;
+		hash ^= hash >>> 33;
+		hash *= 0xff51afd7ed558ccdL;
+		hash ^= hash >>> 33;
+		return (int) hash & (slots - 1);
+	}
+}
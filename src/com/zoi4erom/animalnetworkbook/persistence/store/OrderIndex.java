@@ -0,0 +1,195 @@
+package com.zoi4erom.animalnetworkbook.persistence.store;
+
+import com.zoi4erom.animalnetworkbook.persistence.entity.Entity;
+import com.zoi4erom.animalnetworkbook.persistence.jsonhandler.JsonPaths;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Index of entities in the stable order of their identifiers, for keyset pagination.
+ * <p>
+ * A page is located by the identifier it starts after or ends before, rather than by an offset, so
+ * that it is found in time logarithmic in the number of entities, and entities inserted or deleted
+ * meanwhile never shift the pages around them. The cursors handed out are opaque: they encode the
+ * direction and the identifier in Base64.
+ *
+ * @param <T> The type of indexed entities.
+ */
+public final class OrderIndex<T extends Entity> extends EntityIndex<T> {
+
+	private static final String AFTER = "after:";
+	private static final String BEFORE = "before:";
+
+	private final NavigableSet<UUID> ids = new TreeSet<>();
+
+	/**
+	 * Constructs an index of the entities of a JSON file in the order of their identifiers.
+	 *
+	 * @param jsonPaths The JSON file the indexed entities belong to.
+	 */
+	OrderIndex(JsonPaths jsonPaths) {
+		super(jsonPaths);
+	}
+
+	/**
+	 * Gets a page of identifiers.
+	 *
+	 * @param cursor The cursor of the page, as handed out by a previous page, or null for the first
+	 *               page.
+	 * @param limit  The maximal number of identifiers on the page.
+	 * @return The identifiers of the page, in ascending order, with the cursors of the pages around it.
+	 * @throws IllegalArgumentException If the cursor is malformed or the limit is not positive.
+	 */
+	public Page<UUID> page(String cursor, int limit) {
+		String position = position(cursor, limit);
+		return read(() -> slice(ids, position, limit));
+	}
+
+	/**
+	 * Gets a page of some of the identifiers, such as those matching a filter, in the same order and
+	 * with cursors of the same form as the pages of all identifiers.
+	 *
+	 * @param subset The identifiers to page through, in any order.
+	 * @param cursor The cursor of the page, as handed out by a previous page of the same subset, or
+	 *               null for the first page.
+	 * @param limit  The maximal number of identifiers on the page.
+	 * @return The identifiers of the page, in ascending order, with the cursors of the pages around it.
+	 * @throws IllegalArgumentException If the cursor is malformed or the limit is not positive.
+	 */
+	public Page<UUID> page(Collection<UUID> subset, String cursor, int limit) {
+		return slice(new TreeSet<>(subset), position(cursor, limit), limit);
+	}
+
+	/**
+	 * Adds an entity to the order.
+	 *
+	 * @param entity The entity to add.
+	 */
+	@Override
+	void index(T entity) {
+		ids.add(entity.getId());
+	}
+
+	/**
+	 * Removes an entity from the order.
+	 *
+	 * @param id The identifier of the entity to remove.
+	 */
+	@Override
+	void unindex(UUID id) {
+		ids.remove(id);
+	}
+
+	/**
+	 * Removes all entities.
+	 */
+	@Override
+	void reset() {
+		ids.clear();
+	}
+
+	/**
+	 * Validates the arguments of a page request.
+	 *
+	 * @param cursor The cursor of the page, or null for the first page.
+	 * @param limit  The maximal number of identifiers on the page.
+	 * @return The position the cursor encodes.
+	 * @throws IllegalArgumentException If the cursor is malformed or the limit is not positive.
+	 */
+	private static String position(String cursor, int limit) {
+		if (limit <= 0) {
+			throw new IllegalArgumentException("Page limit must be positive: " + limit);
+		}
+		String position = cursor == null ? AFTER : decode(cursor);
+		bound(position);
+		return position;
+	}
+
+	/**
+	 * Cuts a page out of ordered identifiers.
+	 *
+	 * @param ids      The ordered identifiers.
+	 * @param position The position of the page: the direction, followed by the identifier it is
+	 *                 relative to, if any.
+	 * @param limit    The maximal number of identifiers on the page.
+	 * @return The page.
+	 */
+	private static Page<UUID> slice(NavigableSet<UUID> ids, String position, int limit) {
+		boolean backward = position.startsWith(BEFORE);
+		UUID bound = bound(position);
+		NavigableSet<UUID> range = backward
+		    ? (bound == null ? ids : ids.headSet(bound, false)).descendingSet()
+		    : (bound == null ? ids : ids.tailSet(bound, false));
+		List<UUID> page = new ArrayList<>(Math.min(limit, ids.size()));
+		Iterator<UUID> iterator = range.iterator();
+		while (page.size() < limit && iterator.hasNext()) {
+			page.add(iterator.next());
+		}
+		if (backward) {
+			Collections.reverse(page);
+		}
+		if (page.isEmpty()) {
+			return new Page<>(page, backward || ids.isEmpty() ? null : encode(BEFORE),
+			    !backward || ids.isEmpty() ? null : encode(AFTER));
+		}
+		UUID first = page.get(0);
+		UUID last = page.get(page.size() - 1);
+		return new Page<>(page, ids.lower(first) != null ? encode(BEFORE + first) : null,
+		    ids.higher(last) != null ? encode(AFTER + last) : null);
+	}
+
+	/**
+	 * Encodes a position into an opaque cursor.
+	 *
+	 * @param position The direction, followed by the identifier it is relative to, if any.
+	 * @return The cursor.
+	 */
+	private static String encode(String position) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Decodes a cursor into the position it encodes.
+	 *
+	 * @param cursor The cursor.
+	 * @return The direction, followed by the identifier it is relative to, if any.
+	 * @throws IllegalArgumentException If the cursor is malformed.
+	 */
+	private static String decode(String cursor) {
+		String position;
+		try {
+			position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("Malformed page cursor: " + cursor, e);
+		}
+		if (!position.startsWith(AFTER) && !position.startsWith(BEFORE)) {
+			throw new IllegalArgumentException("Malformed page cursor: " + cursor);
+		}
+		return position;
+	}
+
+	/**
+	 * Parses the identifier a position is relative to.
+	 *
+	 * @param position The direction, followed by the identifier it is relative to, if any.
+	 * @return The identifier, or null for the edge of the order.
+	 * @throws IllegalArgumentException If the identifier is malformed.
+	 */
+	private static UUID bound(String position) {
+		String bound = position.substring(position.startsWith(BEFORE) ? BEFORE.length() : AFTER.length());
+		try {
+			return bound.isEmpty() ? null : UUID.fromString(bound);
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("Malformed page cursor bound: " + bound, e);
+		}
+	}
+}
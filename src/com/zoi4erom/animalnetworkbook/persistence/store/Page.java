@@ -0,0 +1,44 @@
+package com.zoi4erom.animalnetworkbook.persistence.store;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A page of a listing, with the opaque cursors of the pages around it.
+ *
+ * @param items    The items of the page.
+ * @param previous The cursor of the previous page, or null if this is the first page.
+ * @param next     The cursor of the next page, or null if this is the last page.
+ * @param <T>      The type of items.
+ */
+public record Page<T>(List<T> items, String previous, String next) {
+
+	/**
+	 * Checks whether a page follows this one.
+	 *
+	 * @return true if there is a next page.
+	 */
+	public boolean hasNext() {
+		return next != null;
+	}
+
+	/**
+	 * Checks whether a page precedes this one.
+	 *
+	 * @return true if there is a previous page.
+	 */
+	public boolean hasPrevious() {
+		return previous != null;
+	}
+
+	/**
+	 * Replaces the items of the page, keeping its cursors.
+	 *
+	 * @param mapper The function mapping the items to the new items.
+	 * @param <R>    The type of the new items.
+	 * @return The page with the new items.
+	 */
+	public <R> Page<R> map(Function<? super List<T>, List<R>> mapper) {
+		return new Page<>(mapper.apply(items), previous, next);
+	}
+}
@@ -0,0 +1,316 @@
+package com.zoi4erom.animalnetworkbook.persistence.store;
+
+import com.zoi4erom.animalnetworkbook.persistence.entity.Entity;
+import com.zoi4erom.animalnetworkbook.persistence.jsonhandler.JsonPaths;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Secondary index of entities by a text attribute, kept in a radix tree for prefix lookups.
+ * <p>
+ * Values are folded as by {@link TextKey}, and each edge of the tree is labelled with the longest run
+ * of characters its keys share, so that a lookup walks at most one node per branching point. The
+ * entities ending at a node are kept with their original value, which is what completions return.
+ *
+ * @param <T> The type of indexed entities.
+ */
+public final class PrefixIndex<T extends Entity> extends EntityIndex<T> {
+
+	private final Function<? super T, String> attribute;
+	private final Node root = new Node("");
+	private final Map<UUID, String> keyById = new HashMap<>();
+
+	/**
+	 * Constructs a prefix index of the entities of a JSON file by a text attribute.
+	 *
+	 * @param jsonPaths The JSON file the indexed entities belong to.
+	 * @param attribute The attribute to index entities by.
+	 */
+	PrefixIndex(JsonPaths jsonPaths, Function<? super T, String> attribute) {
+		super(jsonPaths);
+		this.attribute = attribute;
+	}
+
+	/**
+	 * Finds the identifiers of the entities whose attribute equals a value, ignoring letter case and
+	 * Unicode composition.
+	 *
+	 * @param value The value to look up.
+	 * @return The identifiers of the matching entities, in the order they were indexed.
+	 */
+	public List<UUID> find(String value) {
+		String key = TextKey.fold(value);
+		if (key == null) {
+			return List.of();
+		}
+		return read(() -> {
+			Node node = lookup(key, true);
+			return node == null || node.values == null ? List.of() : List.copyOf(node.values.keySet());
+		});
+	}
+
+	/**
+	 * Counts the entities whose attribute equals a value, ignoring letter case and Unicode composition.
+	 *
+	 * @param value The value to look up.
+	 * @return The number of matching entities.
+	 */
+	public int count(String value) {
+		String key = TextKey.fold(value);
+		if (key == null) {
+			return 0;
+		}
+		return read(() -> {
+			Node node = lookup(key, true);
+			return node == null || node.values == null ? 0 : node.values.size();
+		});
+	}
+
+	/**
+	 * Finds the identifiers of the entities whose attribute starts with a prefix, ignoring letter case
+	 * and Unicode composition.
+	 *
+	 * @param prefix The beginning of the value, possibly empty.
+	 * @return The identifiers of the matching entities, in the order of their folded keys.
+	 */
+	public List<UUID> findByPrefix(String prefix) {
+		String key = prefix == null ? "" : TextKey.fold(prefix);
+		return read(() -> {
+			Node node = lookup(key, false);
+			List<UUID> ids = new ArrayList<>();
+			if (node != null) {
+				collectIds(node, ids);
+			}
+			return ids;
+		});
+	}
+
+	/**
+	 * Completes a prefix with the values of the attribute starting with it, ignoring letter case and
+	 * Unicode composition.
+	 *
+	 * @param prefix The beginning of the value, possibly empty.
+	 * @param limit  The maximal number of completions.
+	 * @return The distinct values starting with the prefix, in the order of their folded keys.
+	 */
+	public List<String> complete(String prefix, int limit) {
+		String key = prefix == null ? "" : TextKey.fold(prefix);
+		if (limit <= 0) {
+			return List.of();
+		}
+		return read(() -> {
+			Node node = lookup(key, false);
+			if (node == null) {
+				return List.of();
+			}
+			Set<String> completions = new LinkedHashSet<>();
+			collect(node, completions, limit);
+			return List.copyOf(completions);
+		});
+	}
+
+	/**
+	 * Adds an entity under the key of its attribute, unless the attribute is null.
+	 *
+	 * @param entity The entity to add.
+	 */
+	@Override
+	void index(T entity) {
+		String value = attribute.apply(entity);
+		String key = TextKey.fold(value);
+		if (key == null) {
+			return;
+		}
+		Node node = root;
+		int offset = 0;
+		while (offset < key.length()) {
+			Node child = node.children.get(key.charAt(offset));
+			if (child == null) {
+				child = new Node(key.substring(offset));
+				node.children.put(child.label.charAt(0), child);
+				node = child;
+				break;
+			}
+			int common = commonPrefix(child.label, key, offset);
+			if (common < child.label.length()) {
+				Node middle = new Node(child.label.substring(0, common));
+				child.label = child.label.substring(common);
+				middle.children.put(child.label.charAt(0), child);
+				node.children.put(middle.label.charAt(0), middle);
+				child = middle;
+			}
+			node = child;
+			offset += common;
+		}
+		if (node.values == null) {
+			node.values = new LinkedHashMap<>();
+		}
+		node.values.put(entity.getId(), value);
+		keyById.put(entity.getId(), key);
+	}
+
+	/**
+	 * Removes an entity from the key it was added under, pruning the nodes left without entities and
+	 * merging those left with a single child.
+	 *
+	 * @param id The identifier of the entity to remove.
+	 */
+	@Override
+	void unindex(UUID id) {
+		String key = keyById.remove(id);
+		if (key == null) {
+			return;
+		}
+		List<Node> path = new ArrayList<>();
+		path.add(root);
+		Node node = root;
+		int offset = 0;
+		while (offset < key.length()) {
+			node = node.children.get(key.charAt(offset));
+			path.add(node);
+			offset += node.label.length();
+		}
+		node.values.remove(id);
+		if (node.values.isEmpty()) {
+			node.values = null;
+		}
+		for (int i = path.size() - 1; i > 0; i--) {
+			Node current = path.get(i);
+			if (current.values != null) {
+				break;
+			}
+			if (current.children.isEmpty()) {
+				path.get(i - 1).children.remove(current.label.charAt(0));
+			} else if (current.children.size() == 1) {
+				Node child = current.children.firstEntry().getValue();
+				current.label += child.label;
+				current.children = child.children;
+				current.values = child.values;
+				break;
+			} else {
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Removes all keys.
+	 */
+	@Override
+	void reset() {
+		root.children.clear();
+		root.values = null;
+		keyById.clear();
+	}
+
+	/**
+	 * Finds the node of a folded key, or the topmost node under which the keys starting with it are.
+	 * Must be called under the read lock.
+	 *
+	 * @param key   The folded key or prefix.
+	 * @param exact Whether the key must end at the node rather than within the label of its edge.
+	 * @return The node, or null if no key equals, or starts with, the key.
+	 */
+	private Node lookup(String key, boolean exact) {
+		Node node = root;
+		int offset = 0;
+		while (offset < key.length()) {
+			Node child = node.children.get(key.charAt(offset));
+			if (child == null) {
+				return null;
+			}
+			int common = commonPrefix(child.label, key, offset);
+			if (common < child.label.length() && (exact || offset + common < key.length())) {
+				return null;
+			}
+			node = child;
+			offset += common;
+		}
+		return node;
+	}
+
+	/**
+	 * Collects the values of a node and of its descendants, in the order of their keys.
+	 *
+	 * @param node        The node to start from.
+	 * @param completions The distinct values collected so far.
+	 * @param limit       The number of values to stop at.
+	 */
+	private static void collect(Node node, Set<String> completions, int limit) {
+		if (node.values != null) {
+			for (String value : node.values.values()) {
+				if (completions.size() >= limit) {
+					return;
+				}
+				completions.add(value);
+			}
+		}
+		for (Node child : node.children.values()) {
+			if (completions.size() >= limit) {
+				return;
+			}
+			collect(child, completions, limit);
+		}
+	}
+
+	/**
+	 * Collects the identifiers of the entities of a node and of its descendants, in the order of their
+	 * keys.
+	 *
+	 * @param node The node to start from.
+	 * @param ids  The identifiers collected so far.
+	 */
+	private static void collectIds(Node node, List<UUID> ids) {
+		if (node.values != null) {
+			ids.addAll(node.values.keySet());
+		}
+		for (Node child : node.children.values()) {
+			collectIds(child, ids);
+		}
+	}
+
+	/**
+	 * Counts the leading characters of a label that a key has from an offset on.
+	 *
+	 * @param label  The label of an edge.
+	 * @param key    The key.
+	 * @param offset The position in the key the label starts at.
+	 * @return The length of the common prefix.
+	 */
+	private static int commonPrefix(String label, String key, int offset) {
+		int length = Math.min(label.length(), key.length() - offset);
+		int common = 0;
+		while (common < length && label.charAt(common) == key.charAt(offset + common)) {
+			common++;
+		}
+		return common;
+	}
+
+	/**
+	 * A node of the radix tree, reached through an edge labelled with part of a key.
+	 */
+	private static final class Node {
+
+		private String label;
+		private TreeMap<Character, Node> children = new TreeMap<>();
+		private Map<UUID, String> values;
+
+		/**
+		 * Constructs a node without entities.
+		 *
+		 * @param label The label of the edge to the node.
+		 */
+		private Node(String label) {
+			this.label = label;
+		}
+	}
+}
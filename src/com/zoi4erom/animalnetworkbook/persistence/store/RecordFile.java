@@ -0,0 +1,354 @@
+package com.zoi4erom.animalnetworkbook.persistence.store;
+
+import com.zoi4erom.animalnetworkbook.persistence.exception.DeserializationException;
+import com.zoi4erom.animalnetworkbook.persistence.exception.SerializationException;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.function.LongConsumer;
+
+/**
+ * Memory-mapped, append-only file of entity records in {@link BinaryCodec} encoding.
+ * <p>
+ * The file starts with a header holding a magic number, the format version, the end of the last
+ * record and the number of bytes taken by dead records. Each record is its payload length, a status
+ * byte and the payload. Replacing an entity appends a new record and marks the previous one dead, so
+ * record offsets never change while the file is open; dead records are dropped by {@link #vacuum()}
+ * before the file is mapped. Not thread-safe; the owning {@link MappedRecordStore} serializes writers.
+ */
+final class RecordFile {
+
+	private static final int MAGIC = 0x414E4252;
+	private static final int VERSION = 1;
+	private static final int HEADER_SIZE = 32;
+	private static final int END_OFFSET = 8;
+	private static final int DEAD_OFFSET = 16;
+	private static final int RECORD_HEADER_SIZE = 5;
+	private static final byte LIVE = 1;
+	private static final byte DEAD = 0;
+	private static final long INITIAL_CAPACITY = 1 << 20;
+
+	private final Path path;
+	private FileChannel channel;
+	private volatile MappedByteBuffer buffer;
+	private long end;
+	private long dead;
+
+	/**
+	 * Constructs the record file at the specified path. The file is not opened yet.
+	 *
+	 * @param path The path of the record file.
+	 */
+	RecordFile(Path path) {
+		this.path = path;
+	}
+
+	/**
+	 * Checks whether the record file exists.
+	 *
+	 * @return true if the file exists.
+	 */
+	boolean exists() {
+		return Files.exists(path);
+	}
+
+	/**
+	 * Opens and maps the record file, creating it if it does not exist.
+	 */
+	void open() {
+		try {
+			Files.createDirectories(path.getParent());
+			boolean created = !Files.exists(path);
+			channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+			map(Math.max(channel.size(), INITIAL_CAPACITY));
+			if (created || buffer.getInt(0) != MAGIC) {
+				buffer.putInt(0, MAGIC);
+				buffer.putInt(4, VERSION);
+				end = HEADER_SIZE;
+				dead = 0;
+				writeHeader();
+			} else if (buffer.getInt(4) != VERSION) {
+				throw new DeserializationException("Unsupported record file version in " + path, null);
+			} else {
+				end = buffer.getLong(END_OFFSET);
+				dead = buffer.getLong(DEAD_OFFSET);
+			}
+		} catch (IOException e) {
+			throw new DeserializationException("Error opening record file %s: %s".formatted(path, e.getMessage()), e);
+		}
+	}
+
+	/**
+	 * Appends a record.
+	 *
+	 * @param payload The encoded entity.
+	 * @return The offset of the new record.
+	 */
+	long append(byte[] payload) {
+		long offset = end;
+		long recordEnd = offset + RECORD_HEADER_SIZE + payload.length;
+		if (recordEnd > buffer.capacity()) {
+			grow(recordEnd);
+		}
+		ByteBuffer target = buffer.duplicate();
+		target.position((int) offset);
+		target.putInt(payload.length);
+		target.put(LIVE);
+		target.put(payload);
+		end = recordEnd;
+		writeHeader();
+		return offset;
+	}
+
+	/**
+	 * Gets the payload of the record at the specified offset.
+	 *
+	 * @param offset The offset of the record.
+	 * @return A buffer positioned at the start of the payload and limited to its end.
+	 */
+	ByteBuffer payload(long offset) {
+		ByteBuffer source = buffer.duplicate();
+		int length = source.getInt((int) offset);
+		source.limit((int) offset + RECORD_HEADER_SIZE + length);
+		source.position((int) offset + RECORD_HEADER_SIZE);
+		return source;
+	}
+
+	/**
+	 * Marks the record at the specified offset dead.
+	 *
+	 * @param offset The offset of the record.
+	 */
+	void markDead(long offset) {
+		if (buffer.get((int) offset + 4) == DEAD) {
+			return;
+		}
+		buffer.put((int) offset + 4, DEAD);
+		dead += RECORD_HEADER_SIZE + buffer.getInt((int) offset);
+		writeHeader();
+	}
+
+	/**
+	 * Passes the offset of every live record, in file order, to the consumer. Records appended while
+	 * iterating are not visited.
+	 *
+	 * @param consumer The consumer of the record offsets.
+	 */
+	void forEachLive(LongConsumer consumer) {
+		ByteBuffer source = buffer.duplicate();
+		long limit = end;
+		long offset = HEADER_SIZE;
+		while (offset < limit) {
+			int length = source.getInt((int) offset);
+			if (source.get((int) offset + 4) == LIVE) {
+				consumer.accept(offset);
+			}
+			offset += RECORD_HEADER_SIZE + length;
+		}
+	}
+
+	/**
+	 * Gets the offset just past the last record.
+	 *
+	 * @return The end of the records.
+	 */
+	long end() {
+		return end;
+	}
+
+	/**
+	 * Gets the offset of the record following the one at the specified offset.
+	 *
+	 * @param offset The offset of a record.
+	 * @return The offset of the next record, or {@link #end()} after the last one.
+	 */
+	long next(long offset) {
+		return offset + RECORD_HEADER_SIZE + buffer.getInt((int) offset);
+	}
+
+	/**
+	 * Checks whether the record at the specified offset is live.
+	 *
+	 * @param offset The offset of a record.
+	 * @return true if the record is live.
+	 */
+	boolean isLive(long offset) {
+		return buffer.get((int) offset + 4) == LIVE;
+	}
+
+	/**
+	 * Gets the offset of the first record.
+	 *
+	 * @return The offset just past the header.
+	 */
+	static long start() {
+		return HEADER_SIZE;
+	}
+
+	/**
+	 * Forces the mapped records to disk.
+	 */
+	void force() {
+		buffer.force();
+	}
+
+	/**
+	 * Forces the records to disk and closes the file.
+	 */
+	void close() {
+		if (channel == null) {
+			return;
+		}
+		try {
+			buffer.force();
+			channel.close();
+		} catch (IOException e) {
+			throw new SerializationException("Error closing record file %s: %s".formatted(path, e.getMessage()), e);
+		} finally {
+			channel = null;
+		}
+	}
+
+	/**
+	 * Creates the file with the specified records. The records are written to a temporary file that
+	 * is forced to disk and then atomically renamed, so that a crash while creating leaves either no
+	 * file or a complete one. Must be called before the file is opened.
+	 *
+	 * @param payloads The encoded entities, in file order.
+	 */
+	void create(Collection<byte[]> payloads) {
+		Path tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+		try {
+			Files.createDirectories(path.getParent());
+			try (FileChannel target = FileChannel.open(tempPath, StandardOpenOption.CREATE,
+			    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+				DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(target)));
+				long fileEnd = HEADER_SIZE;
+				for (byte[] payload : payloads) {
+					fileEnd += RECORD_HEADER_SIZE + payload.length;
+				}
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeLong(fileEnd);
+				out.writeLong(0);
+				out.writeLong(0);
+				for (byte[] payload : payloads) {
+					out.writeInt(payload.length);
+					out.writeByte(LIVE);
+					out.write(payload);
+				}
+				out.flush();
+				target.force(false);
+			}
+			Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			throw new SerializationException("Error creating record file %s: %s".formatted(path, e.getMessage()), e);
+		}
+	}
+
+	/**
+	 * Rewrites the file without its dead records if they take more than half of it. Must be called
+	 * before the file is opened, so that no mapping of the old file exists while it is replaced.
+	 *
+	 * @return true if the file was rewritten, in which case record offsets have changed.
+	 */
+	boolean vacuum() {
+		if (!Files.exists(path)) {
+			return false;
+		}
+		Path tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+		try {
+			long fileEnd;
+			long fileDead;
+			try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+				if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+					return false;
+				}
+				fileEnd = in.readLong();
+				fileDead = in.readLong();
+			}
+			if (fileDead * 2 < fileEnd - HEADER_SIZE) {
+				return false;
+			}
+
+			try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)));
+			    FileChannel target = FileChannel.open(tempPath, StandardOpenOption.CREATE,
+				  StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+				DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(target)));
+				in.skipNBytes(HEADER_SIZE);
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeLong(fileEnd - fileDead);
+				out.writeLong(0);
+				out.writeLong(0);
+				for (long offset = HEADER_SIZE; offset < fileEnd; ) {
+					int length = in.readInt();
+					byte status = in.readByte();
+					byte[] payload = in.readNBytes(length);
+					if (status == LIVE) {
+						out.writeInt(length);
+						out.writeByte(LIVE);
+						out.write(payload);
+					}
+					offset += RECORD_HEADER_SIZE + length;
+				}
+				out.flush();
+				target.force(false);
+			}
+			Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			return true;
+		} catch (IOException e) {
+			throw new SerializationException("Error compacting record file %s: %s".formatted(path, e.getMessage()), e);
+		}
+	}
+
+	/**
+	 * Remaps the file with enough capacity for the specified end offset, doubling the capacity.
+	 *
+	 * @param required The offset the file must reach.
+	 */
+	private void grow(long required) {
+		long capacity = buffer.capacity();
+		while (capacity < required) {
+			capacity *= 2;
+		}
+		buffer.force();
+		map(capacity);
+	}
+
+	/**
+	 * Maps the file with the specified capacity, extending the file if needed.
+	 *
+	 * @param capacity The size of the mapping.
+	 */
+	private void map(long capacity) {
+		if (capacity > Integer.MAX_VALUE) {
+			throw new SerializationException("Record file %s exceeds the maximal size of a mapping".formatted(path), null);
+		}
+		try {
+			buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+		} catch (IOException e) {
+			throw new SerializationException("Error mapping record file %s: %s".formatted(path, e.getMessage()), e);
+		}
+	}
+
+	/**
+	 * Writes the end offset and the dead byte count to the header.
+	 */
+	private void writeHeader() {
+		buffer.putLong(END_OFFSET, end);
+		buffer.putLong(DEAD_OFFSET, dead);
+	}
+}
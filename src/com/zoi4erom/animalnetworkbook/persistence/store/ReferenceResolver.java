@@ -0,0 +1,141 @@
+package com.zoi4erom.animalnetworkbook.persistence.store;
+
+import com.zoi4erom.animalnetworkbook.persistence.entity.Animal;
+import com.zoi4erom.animalnetworkbook.persistence.entity.Entity;
+import com.zoi4erom.animalnetworkbook.persistence.entity.Request;
+import com.zoi4erom.animalnetworkbook.persistence.entity.Shelter;
+import com.zoi4erom.animalnetworkbook.persistence.entity.User;
+import com.zoi4erom.animalnetworkbook.persistence.jsonhandler.JsonPaths;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Replaces the entity references read from the data files with the entities of the owning stores.
+ * <p>
+ * Animals reference their shelter, and requests reference their animal and user, by identifier only.
+ * After resolution, every reference points at the entity served by the owning repository; with the
+ * resident backend that is the single instance held in memory, so an update to that instance is seen
+ * through all references to it.
+ */
+final class ReferenceResolver {
+
+	private ReferenceResolver() {
+	}
+
+	/**
+	 * Gets the files holding the entities referenced by the entities of the specified file.
+	 *
+	 * @param jsonPaths The JSON file of the referencing entities.
+	 * @return The files that must be loaded first.
+	 */
+	static List<JsonPaths> dependencies(JsonPaths jsonPaths) {
+		return switch (jsonPaths) {
+			case ANIMAL -> List.of(JsonPaths.SHELTERS);
+			case REQUEST -> List.of(JsonPaths.ANIMAL, JsonPaths.USER);
+			default -> List.of();
+		};
+	}
+
+	/**
+	 * Resolves the references of an entity in place. References to entities that no longer exist are
+	 * left as they were read.
+	 *
+	 * @param entity The entity whose references to resolve.
+	 */
+	static void resolve(Entity entity) {
+		if (entity instanceof Animal animal) {
+			Shelter shelter = find(JsonPaths.SHELTERS, Shelter.class, animal.getShelter());
+			if (shelter != null) {
+				animal.setShelter(shelter);
+			}
+		} else if (entity instanceof Request request) {
+			Animal animal = find(JsonPaths.ANIMAL, Animal.class, request.getAnimal());
+			if (animal != null) {
+				request.setAnimal(animal);
+			}
+			User user = find(JsonPaths.USER, User.class, request.getUser());
+			if (user != null) {
+				request.setUser(user);
+			}
+		}
+	}
+
+	/**
+	 * Resolves the references of several entities in place, looking up the entities referenced by all
+	 * of them with one batch query per referenced repository. References to entities that no longer
+	 * exist are left as they were read.
+	 *
+	 * @param entities The entities whose references to resolve.
+	 */
+	static void resolveAll(Collection<? extends Entity> entities) {
+		Map<UUID, Shelter> shelters = findAll(JsonPaths.SHELTERS, Shelter.class, entities,
+		    entity -> entity instanceof Animal animal ? animal.getShelter() : null);
+		Map<UUID, Animal> animals = findAll(JsonPaths.ANIMAL, Animal.class, entities,
+		    entity -> entity instanceof Request request ? request.getAnimal() : null);
+		Map<UUID, User> users = findAll(JsonPaths.USER, User.class, entities,
+		    entity -> entity instanceof Request request ? request.getUser() : null);
+		for (Entity entity : entities) {
+			if (entity instanceof Animal animal && animal.getShelter() != null) {
+				animal.setShelter(shelters.getOrDefault(animal.getShelter().getId(), animal.getShelter()));
+			} else if (entity instanceof Request request) {
+				if (request.getAnimal() != null) {
+					request.setAnimal(animals.getOrDefault(request.getAnimal().getId(), request.getAnimal()));
+				}
+				if (request.getUser() != null) {
+					request.setUser(users.getOrDefault(request.getUser().getId(), request.getUser()));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Finds the entities referenced by several entities in one batch query.
+	 *
+	 * @param jsonPaths The JSON file of the referenced entities.
+	 * @param clazz     The class type of the referenced entities.
+	 * @param entities  The referencing entities.
+	 * @param reference Extracts the reference from a referencing entity, or null if it has none.
+	 * @param <T>       The type of the referenced entities.
+	 * @return The referenced entities that exist, keyed by identifier.
+	 */
+	private static <T extends Entity> Map<UUID, T> findAll(JsonPaths jsonPaths, Class<T> clazz,
+	    Collection<? extends Entity> entities, Function<Entity, T> reference) {
+		Set<UUID> ids = new LinkedHashSet<>();
+		for (Entity entity : entities) {
+			T referenced = reference.apply(entity);
+			if (referenced != null && referenced.getId() != null) {
+				ids.add(referenced.getId());
+			}
+		}
+		Map<UUID, T> found = new HashMap<>();
+		if (!ids.isEmpty()) {
+			for (T referenced : Repositories.of(jsonPaths, clazz).findAllById(ids)) {
+				found.put(referenced.getId(), referenced);
+			}
+		}
+		return found;
+	}
+
+	/**
+	 * Finds the resident instance of a referenced entity.
+	 *
+	 * @param jsonPaths The JSON file of the referenced entity.
+	 * @param clazz     The class type of the referenced entity.
+	 * @param reference The reference read from the file, may be null.
+	 * @param <T>       The type of the referenced entity.
+	 * @return The resident entity, or null if there is no reference or the entity does not exist.
+	 */
+	private static <T extends Entity> T find(JsonPaths jsonPaths, Class<T> clazz, T reference) {
+		if (reference == null || reference.getId() == null) {
+			return null;
+		}
+		return Repositories.of(jsonPaths, clazz).findById(reference.getId());
+	}
+}
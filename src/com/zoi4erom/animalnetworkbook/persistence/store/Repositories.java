@@ -0,0 +1,121 @@
+package com.zoi4erom.animalnetworkbook.persistence.store;
+
+import com.zoi4erom.animalnetworkbook.persistence.entity.Animal;
+import com.zoi4erom.animalnetworkbook.persistence.entity.Entity;
+import com.zoi4erom.animalnetworkbook.persistence.jsonhandler.JsonPaths;
+
+import java.util.List;
+
+/**
+ * Entry point to the repositories, serving each {@link JsonPaths} file from the backend selected by
+ * {@link StorageConfig#backend()}.
+ */
+public final class Repositories {
+
+	private Repositories() {
+	}
+
+	/**
+	 * Gets the repository of the entities of the specified JSON file.
+	 *
+	 * @param jsonPaths The JSON file the entities belong to.
+	 * @param clazz     The class type of entities.
+	 * @param <T>       The type of entities.
+	 * @return The process-wide repository of the entities.
+	 */
+	public static <T extends Entity> Repository<T> of(JsonPaths jsonPaths, Class<T> clazz) {
+		return storeOf(jsonPaths, clazz);
+	}
+
+	/**
+	 * Loads every repository that has not been loaded yet, then replays the transactions that were
+	 * committed but not fully applied before the previous run stopped. Intended to be called once at
+	 * startup. The in-memory backend writes no transaction intents and leaves those of other backends
+	 * for the next run with a durable backend.
+	 */
+	public static void loadAll() {
+		for (JsonPaths jsonPaths : JsonPaths.values()) {
+			storeOf(jsonPaths, jsonPaths.getEntityClass()).ensureLoaded();
+		}
+		if (StorageConfig.backend() != StorageBackend.MEMORY) {
+			GroupCommitter.recover();
+		}
+	}
+
+	/**
+	 * Writes the mutations buffered by the write-behind stores, returning once they are durable. Does
+	 * nothing when the write-behind buffer is disabled.
+	 */
+	public static void flush() {
+		if (!writeBehind()) {
+			return;
+		}
+		for (JsonPaths jsonPaths : JsonPaths.values()) {
+			WriteBehindStore.of(backendStore(jsonPaths, jsonPaths.getEntityClass())).flush();
+		}
+	}
+
+	/**
+	 * Gets the store of the configured backend for the specified JSON file, behind a write-behind
+	 * buffer if one is enabled, and behind an {@link IndexedStore} if the file has secondary indexes.
+	 *
+	 * @param jsonPaths The JSON file the entities belong to.
+	 * @param clazz     The class type of entities.
+	 * @param <T>       The type of entities.
+	 * @return The process-wide store of the entities.
+	 */
+	static <T extends Entity> AbstractStore<T> storeOf(JsonPaths jsonPaths, Class<T> clazz) {
+		AbstractStore<T> store = backendStore(jsonPaths, clazz);
+		if (writeBehind()) {
+			store = WriteBehindStore.of(store);
+		}
+		List<EntityIndex<T>> indexes = Indexes.of(jsonPaths);
+		if (!indexes.isEmpty()) {
+			store = IndexedStore.of(store, indexes);
+		}
+		return store;
+	}
+
+	/**
+	 * Gets the store of the configured backend itself for the specified JSON file.
+	 *
+	 * @param jsonPaths The JSON file the entities belong to.
+	 * @param clazz     The class type of entities.
+	 * @param <T>       The type of entities.
+	 * @return The process-wide backend store of the entities.
+	 */
+	private static <T extends Entity> AbstractStore<T> backendStore(JsonPaths jsonPaths, Class<T> clazz) {
+		return switch (StorageConfig.backend()) {
+			case RESIDENT -> EntityStore.of(jsonPaths, clazz);
+			case JSON -> jsonPaths == JsonPaths.ANIMAL && StorageConfig.jsonSharded()
+			    ? shardedAnimals(clazz) : JsonFileStore.of(jsonPaths, clazz);
+			case MEMORY -> InMemoryStore.of(jsonPaths, clazz);
+			case MAPPED -> MappedRecordStore.of(jsonPaths, clazz);
+		};
+	}
+
+	/**
+	 * Checks whether mutations go through a write-behind buffer, which the in-memory backend never
+	 * needs.
+	 *
+	 * @return true if the stores are wrapped in a {@link WriteBehindStore}
+	 */
+	private static boolean writeBehind() {
+		return StorageConfig.writeBehindEnabled() && StorageConfig.backend() != StorageBackend.MEMORY;
+	}
+
+	/**
+	 * Gets the sharded animal store in place of the store of {@code animal.json}.
+	 *
+	 * @param clazz The class type of entities, which must be {@link Animal}.
+	 * @param <T>   The type of entities.
+	 * @return The process-wide sharded animal store.
+	 */
+	@SuppressWarnings("unchecked")
+	private static <T extends Entity> AbstractStore<T> shardedAnimals(Class<T> clazz) {
+		if (clazz != Animal.class) {
+			throw new IllegalArgumentException("Animal shards do not store " + clazz.getSimpleName());
+		}
+		return (AbstractStore<T>) ShardedAnimalStore.instance();
+	}
+}
@@ -0,0 +1,128 @@
+package com.zoi4erom.animalnetworkbook.persistence.store;
+
+import com.zoi4erom.animalnetworkbook.persistence.entity.Entity;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Storage of the entities of one type, independent of how and where they are persisted.
+ * <p>
+ * Services access entities only through this interface; the backend behind it is chosen by
+ * {@link Repositories#of(com.zoi4erom.animalnetworkbook.persistence.jsonhandler.JsonPaths, Class)}.
+ *
+ * @param <T> The type of entities kept in the repository.
+ */
+public interface Repository<T extends Entity> {
+
+	/**
+	 * Retrieves all entities of the repository.
+	 *
+	 * @return A mutable list of all entities.
+	 */
+	List<T> findAll();
+
+	/**
+	 * Finds an entity by its identifier.
+	 *
+	 * @param id The identifier of the entity.
+	 * @return The entity with the specified identifier, or null if not found.
+	 */
+	T findById(UUID id);
+
+	/**
+	 * Finds the entities with the specified identifiers. Identifiers without an entity are skipped.
+	 *
+	 * @param ids The identifiers of the entities.
+	 * @return A mutable list of the entities found, in the order of the identifiers.
+	 */
+	default List<T> findAllById(Collection<UUID> ids) {
+		List<T> result = new ArrayList<>(ids.size());
+		for (UUID id : ids) {
+			T entity = findById(id);
+			if (entity != null) {
+				result.add(entity);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Finds the first entity matching the specified predicate.
+	 *
+	 * @param predicate The condition to match.
+	 * @return The first matching entity, or null if none matches.
+	 */
+	T findFirst(Predicate<? super T> predicate);
+
+	/**
+	 * Finds all entities matching the specified predicate.
+	 *
+	 * @param predicate The condition to match.
+	 * @return A mutable list of the matching entities.
+	 */
+	List<T> filter(Predicate<? super T> predicate);
+
+	/**
+	 * Streams the entities of the repository without copying them into a list first.
+	 *
+	 * @return A sequential stream of the entities, which the caller should close.
+	 */
+	Stream<T> scan();
+
+	/**
+	 * Gets the number of entities in the repository.
+	 *
+	 * @return The number of entities.
+	 */
+	int size();
+
+	/**
+	 * Inserts a new entity. An entity whose identifier is already present is replaced.
+	 *
+	 * @param entity The entity to insert.
+	 */
+	void insert(T entity);
+
+	/**
+	 * Inserts or replaces an entity.
+	 *
+	 * @param entity The entity to save.
+	 */
+	void save(T entity);
+
+	/**
+	 * Inserts or replaces several entities.
+	 *
+	 * @param entities The entities to save.
+	 */
+	void saveAll(Collection<? extends T> entities);
+
+	/**
+	 * Deletes the entity with the specified identifier.
+	 *
+	 * @param id The identifier of the entity to delete.
+	 * @return true if an entity was deleted, false otherwise.
+	 */
+	boolean delete(UUID id);
+
+	/**
+	 * Deletes the entities with the specified identifiers, persisting the repository once.
+	 *
+	 * @param ids The identifiers of the entities to delete.
+	 * @return The number of entities deleted.
+	 */
+	int deleteAll(Collection<UUID> ids);
+
+	/**
+	 * Deletes all entities matching the specified predicate.
+	 *
+	 * @param predicate The condition for the entities to delete.
+	 * @return true if any entity was deleted, false otherwise.
+	 */
+	boolean deleteIf(Predicate<? super T> predicate);
+}
@@ -0,0 +1,541 @@
+package com.zoi4erom.animalnetworkbook.persistence.store;
+
+import com.zoi4erom.animalnetworkbook.persistence.entity.Animal;
+import com.zoi4erom.animalnetworkbook.persistence.entity.Entity;
+import com.zoi4erom.animalnetworkbook.persistence.exception.DeserializationException;
+import com.zoi4erom.animalnetworkbook.persistence.exception.SerializationException;
+import com.zoi4erom.animalnetworkbook.persistence.jsonhandler.JsonConverter;
+import com.zoi4erom.animalnetworkbook.persistence.jsonhandler.JsonPaths;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Store of the animals in one JSON file per shelter, {@code Data/shelters/<shelterId>/animals.json},
+ * with animals without a shelter in {@code Data/shelters/unassigned/animals.json}.
+ * <p>
+ * A mutation only rewrites the shards of the animals it touches, and an insertion is appended to its
+ * shard. Queries spanning all shelters read and filter the shards in parallel on a
+ * {@link ForkJoinPool} and merge the results in shard order. The shard of every animal is kept in
+ * memory so that lookups by identifier read a single shard. On first use, the animals of
+ * {@code animal.json} and its journal are split into shards, written under
+ * {@code Data/shelters.migrating} and renamed to {@code Data/shelters} at once, so that an interrupted
+ * migration leaves either all shards or none; {@code animal.json} itself is left as it was and no
+ * longer updated.
+ */
+public final class ShardedAnimalStore extends AbstractStore<Animal> {
+
+	private static final Path SHARD_DIRECTORY = Paths.get("Data/shelters");
+	private static final Path STAGING_DIRECTORY = Paths.get("Data/shelters.migrating");
+	private static final String SHARD_FILE = "animals.json";
+	private static final String UNASSIGNED = "unassigned";
+	private static final ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+	private static ShardedAnimalStore instance;
+
+	private final Map<UUID, String> shardOf = new HashMap<>();
+	private final Set<String> shards = new TreeSet<>();
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private volatile boolean loaded;
+
+	private ShardedAnimalStore() {
+		super(JsonPaths.ANIMAL, Animal.class);
+	}
+
+	/**
+	 * Gets the process-wide sharded animal store, creating it on first use.
+	 *
+	 * @return The sharded animal store.
+	 */
+	public static synchronized ShardedAnimalStore instance() {
+		if (instance == null) {
+			instance = new ShardedAnimalStore();
+		}
+		return instance;
+	}
+
+	/**
+	 * Reads the animals of all shards in parallel, in shard order.
+	 *
+	 * @return A mutable list of all animals.
+	 */
+	@Override
+	public List<Animal> findAll() {
+		return fanOut(null);
+	}
+
+	/**
+	 * Finds an animal by its identifier, reading only its shard.
+	 *
+	 * @param id The identifier of the animal.
+	 * @return The animal with the specified identifier, or null if not found.
+	 */
+	@Override
+	public Animal findById(UUID id) {
+		ensureLoaded();
+		Animal found = null;
+		lock.readLock().lock();
+		try {
+			String shard = shardOf.get(id);
+			if (shard == null) {
+				return null;
+			}
+			for (Animal animal : JsonConverter.deserialization(shardPath(shard), Animal.class)) {
+				if (id.equals(animal.getId())) {
+					found = animal;
+					break;
+				}
+			}
+		} finally {
+			lock.readLock().unlock();
+		}
+		if (found != null) {
+			ReferenceResolver.resolve(found);
+		}
+		return found;
+	}
+
+	/**
+	 * Finds the first animal, in shard order, matching the specified predicate.
+	 *
+	 * @param predicate The condition to match.
+	 * @return The first matching animal, or null if none matches.
+	 */
+	@Override
+	public Animal findFirst(Predicate<? super Animal> predicate) {
+		List<Animal> matching = fanOut(predicate);
+		return matching.isEmpty() ? null : matching.get(0);
+	}
+
+	/**
+	 * Finds all animals matching the specified predicate, filtering the shards in parallel.
+	 *
+	 * @param predicate The condition to match.
+	 * @return A mutable list of the matching animals, in shard order.
+	 */
+	@Override
+	public List<Animal> filter(Predicate<? super Animal> predicate) {
+		return fanOut(predicate);
+	}
+
+	/**
+	 * Streams the animals of all shards, in shard order.
+	 *
+	 * @return A sequential stream of the animals.
+	 */
+	@Override
+	public Stream<Animal> scan() {
+		return findAll().stream();
+	}
+
+	/**
+	 * Gets the number of animals in all shards.
+	 *
+	 * @return The number of animals.
+	 */
+	@Override
+	public int size() {
+		ensureLoaded();
+		lock.readLock().lock();
+		try {
+			return shardOf.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Inserts a new animal, appending it to the shard of its shelter. An animal whose identifier is
+	 * already in the store is replaced as by {@link #save(Animal)}.
+	 *
+	 * @param animal The animal to insert.
+	 */
+	@Override
+	public void insert(Animal animal) {
+		ensureLoaded();
+		lock.writeLock().lock();
+		try {
+			String shard = shardKey(animal);
+			if (shardOf.containsKey(animal.getId()) || !JsonConverter.append(animal, shardPath(shard))) {
+				Map<String, Map<UUID, Animal>> touched = new HashMap<>();
+				put(animal, touched);
+				persist(touched);
+			} else {
+				shardOf.put(animal.getId(), shard);
+				shards.add(shard);
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Inserts or replaces an animal, rewriting its shard.
+	 *
+	 * @param animal The animal to save.
+	 */
+	@Override
+	public void save(Animal animal) {
+		saveAll(List.of(animal));
+	}
+
+	/**
+	 * Inserts or replaces several animals, rewriting each touched shard once. An animal moved to
+	 * another shelter is moved to the shard of that shelter.
+	 *
+	 * @param updated The animals to save.
+	 */
+	@Override
+	public void saveAll(Collection<? extends Animal> updated) {
+		ensureLoaded();
+		lock.writeLock().lock();
+		try {
+			Map<String, Map<UUID, Animal>> touched = new HashMap<>();
+			for (Animal animal : updated) {
+				put(animal, touched);
+			}
+			persist(touched);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Deletes the animal with the specified identifier, rewriting its shard.
+	 *
+	 * @param id The identifier of the animal to delete.
+	 * @return true if an animal was deleted, false otherwise.
+	 */
+	@Override
+	public boolean delete(UUID id) {
+		return deleteAll(List.of(id)) > 0;
+	}
+
+	/**
+	 * Deletes the animals with the specified identifiers, rewriting each touched shard once.
+	 *
+	 * @param ids The identifiers of the animals to delete.
+	 * @return The number of animals deleted.
+	 */
+	@Override
+	public int deleteAll(Collection<UUID> ids) {
+		ensureLoaded();
+		lock.writeLock().lock();
+		try {
+			Map<String, Map<UUID, Animal>> touched = new HashMap<>();
+			int deleted = 0;
+			for (UUID id : ids) {
+				if (remove(id, touched)) {
+					deleted++;
+				}
+			}
+			persist(touched);
+			return deleted;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Deletes all animals matching the specified predicate.
+	 *
+	 * @param predicate The condition for the animals to delete.
+	 * @return true if any animal was deleted, false otherwise.
+	 */
+	@Override
+	public boolean deleteIf(Predicate<? super Animal> predicate) {
+		List<UUID> matching = fanOut(predicate).stream().map(Entity::getId).toList();
+		return !matching.isEmpty() && deleteAll(matching) > 0;
+	}
+
+	/**
+	 * Gets the lock guarding the shards against concurrent mutation.
+	 *
+	 * @return The write lock of the store.
+	 */
+	@Override
+	Lock writeLock() {
+		return lock.writeLock();
+	}
+
+	/**
+	 * Applies mutations whose commit is already durable elsewhere, rewriting each touched shard once.
+	 *
+	 * @param mutations The mutations to apply, in order.
+	 * @param records   The encoded mutations, unused by this store.
+	 */
+	@Override
+	void applyCommitted(List<Mutation> mutations, List<String> records) {
+		ensureLoaded();
+		lock.writeLock().lock();
+		try {
+			Map<String, Map<UUID, Animal>> touched = new HashMap<>();
+			for (Mutation mutation : mutations) {
+				if (mutation.isDelete()) {
+					remove(mutation.id(), touched);
+				} else {
+					put((Animal) mutation.entity(), touched);
+				}
+			}
+			persist(touched);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Reads the shards the first time the store is used, splitting {@code animal.json} into shards if
+	 * none exist yet.
+	 */
+	@Override
+	void ensureLoaded() {
+		if (loaded) {
+			return;
+		}
+		for (JsonPaths dependency : ReferenceResolver.dependencies(jsonPaths)) {
+			Repositories.storeOf(dependency, dependency.getEntityClass()).ensureLoaded();
+		}
+		lock.writeLock().lock();
+		try {
+			if (!loaded) {
+				List<String> existing = listShards();
+				if (existing.isEmpty()) {
+					migrate();
+				} else {
+					shards.addAll(existing);
+					List<List<Animal>> contents = readShards(existing);
+					for (int i = 0; i < existing.size(); i++) {
+						for (Animal animal : contents.get(i)) {
+							shardOf.put(animal.getId(), existing.get(i));
+						}
+					}
+				}
+				loaded = true;
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Reads all shards in parallel under the read lock, then resolves the shelters of the animals and
+	 * filters them in parallel outside of it.
+	 *
+	 * @param predicate The condition to match, or null to keep all animals.
+	 * @return A mutable list of the matching animals, in shard order.
+	 */
+	private List<Animal> fanOut(Predicate<? super Animal> predicate) {
+		ensureLoaded();
+		List<List<Animal>> contents;
+		lock.readLock().lock();
+		try {
+			contents = readShards(new ArrayList<>(shards));
+		} finally {
+			lock.readLock().unlock();
+		}
+
+		List<Animal> animals = new ArrayList<>();
+		contents.forEach(animals::addAll);
+		ReferenceResolver.resolveAll(animals);
+		if (predicate == null) {
+			return animals;
+		}
+		return pool.submit(() -> animals.parallelStream().filter(predicate)
+		    .collect(Collectors.toCollection(ArrayList::new))).join();
+	}
+
+	/**
+	 * Reads shards in parallel. Must be called under the read or the write lock.
+	 *
+	 * @param keys The keys of the shards.
+	 * @return The animals of each shard, in the order of the keys.
+	 */
+	private List<List<Animal>> readShards(List<String> keys) {
+		return pool.submit(() -> keys.parallelStream()
+		    .map(key -> {
+			    JsonConverter.recoverAppend(shardPath(key));
+			    return JsonConverter.deserialization(shardPath(key), Animal.class);
+		    })
+		    .toList()).join();
+	}
+
+	/**
+	 * Splits the animals of {@code animal.json}, with its journal replayed on top, into shards and
+	 * discards the journal. The shards are written to a staging directory first, whatever an earlier
+	 * interrupted migration left there is discarded, and the staging directory becomes the shard
+	 * directory in a single atomic rename. Must be called under the write lock.
+	 *
+	 * @throws SerializationException If the shards cannot be written or renamed into place.
+	 */
+	private void migrate() {
+		JsonConverter.recoverAppend(jsonPaths);
+		Map<UUID, Animal> animals = new LinkedHashMap<>();
+		for (Animal animal : JsonConverter.deserialization(jsonPaths, Animal.class)) {
+			animals.put(animal.getId(), animal);
+		}
+		Journal<Animal> journal = new Journal<>(jsonPaths, Animal.class);
+		journal.replay(animals);
+
+		Map<String, Map<UUID, Animal>> touched = new LinkedHashMap<>();
+		for (Animal animal : animals.values()) {
+			touched.computeIfAbsent(shardKey(animal), key -> new LinkedHashMap<>()).put(animal.getId(), animal);
+			shardOf.put(animal.getId(), shardKey(animal));
+		}
+
+		deleteRecursively(STAGING_DIRECTORY);
+		touched.forEach((shard, contents) -> {
+			Path staged = STAGING_DIRECTORY.resolve(shard).resolve(SHARD_FILE);
+			JsonConverter.serialization(new ArrayList<>(contents.values()), staged, Animal.class);
+			JsonConverter.forget(staged);
+		});
+		try {
+			Files.createDirectories(STAGING_DIRECTORY);
+			Files.deleteIfExists(SHARD_DIRECTORY);
+			Files.move(STAGING_DIRECTORY, SHARD_DIRECTORY, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			throw new SerializationException("Error committing animal shards: " + e.getMessage(), e);
+		}
+		shards.addAll(touched.keySet());
+		journal.discardHead(journal.size(), 0);
+	}
+
+	/**
+	 * Deletes a directory with everything in it, if it exists.
+	 *
+	 * @param directory The directory to delete.
+	 * @throws SerializationException If the directory cannot be deleted.
+	 */
+	private static void deleteRecursively(Path directory) {
+		if (!Files.exists(directory)) {
+			return;
+		}
+		try (Stream<Path> paths = Files.walk(directory)) {
+			for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+				Files.delete(path);
+			}
+		} catch (IOException e) {
+			throw new SerializationException("Error deleting " + directory + ": " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Lists the keys of the existing shards.
+	 *
+	 * @return The shard keys, sorted.
+	 */
+	private static List<String> listShards() {
+		if (!Files.isDirectory(SHARD_DIRECTORY)) {
+			return List.of();
+		}
+		try (Stream<Path> directories = Files.list(SHARD_DIRECTORY)) {
+			return directories.filter(directory -> Files.isRegularFile(directory.resolve(SHARD_FILE)))
+			    .map(directory -> directory.getFileName().toString())
+			    .sorted()
+			    .toList();
+		} catch (IOException e) {
+			throw new DeserializationException("Error listing animal shards: " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Inserts or replaces an animal in the contents of its shard, removing it from its previous shard
+	 * if it moved. Must be called under the write lock.
+	 *
+	 * @param animal  The animal to save.
+	 * @param touched The contents of the shards changed so far, keyed by shard.
+	 */
+	private void put(Animal animal, Map<String, Map<UUID, Animal>> touched) {
+		String shard = shardKey(animal);
+		String previous = shardOf.put(animal.getId(), shard);
+		if (previous != null && !previous.equals(shard)) {
+			contents(previous, touched).remove(animal.getId());
+		}
+		contents(shard, touched).put(animal.getId(), animal);
+		shards.add(shard);
+	}
+
+	/**
+	 * Removes an animal from the contents of its shard. Must be called under the write lock.
+	 *
+	 * @param id      The identifier of the animal.
+	 * @param touched The contents of the shards changed so far, keyed by shard.
+	 * @return true if the animal was in the store.
+	 */
+	private boolean remove(UUID id, Map<String, Map<UUID, Animal>> touched) {
+		String shard = shardOf.remove(id);
+		if (shard == null) {
+			return false;
+		}
+		contents(shard, touched).remove(id);
+		return true;
+	}
+
+	/**
+	 * Gets the contents of a shard being changed, reading the shard on first access.
+	 *
+	 * @param shard   The key of the shard.
+	 * @param touched The contents of the shards changed so far, keyed by shard.
+	 * @return The animals of the shard, keyed by identifier.
+	 */
+	private Map<UUID, Animal> contents(String shard, Map<String, Map<UUID, Animal>> touched) {
+		return touched.computeIfAbsent(shard, key -> {
+			Map<UUID, Animal> animals = new LinkedHashMap<>();
+			if (Files.exists(shardPath(key))) {
+				for (Animal animal : JsonConverter.deserialization(shardPath(key), Animal.class)) {
+					animals.put(animal.getId(), animal);
+				}
+			}
+			return animals;
+		});
+	}
+
+	/**
+	 * Writes the changed shards back. Must be called under the write lock.
+	 *
+	 * @param touched The contents of the changed shards, keyed by shard.
+	 */
+	private void persist(Map<String, Map<UUID, Animal>> touched) {
+		touched.forEach((shard, animals) ->
+		    JsonConverter.serialization(new ArrayList<>(animals.values()), shardPath(shard), Animal.class));
+	}
+
+	/**
+	 * Gets the key of the shard an animal belongs to.
+	 *
+	 * @param animal The animal.
+	 * @return The identifier of its shelter, or {@code unassigned} if it has none.
+	 */
+	private static String shardKey(Animal animal) {
+		return animal.getShelter() != null && animal.getShelter().getId() != null
+		    ? animal.getShelter().getId().toString() : UNASSIGNED;
+	}
+
+	/**
+	 * Gets the path of the file of a shard.
+	 *
+	 * @param shard The key of the shard.
+	 * @return The path to the shard file.
+	 */
+	private static Path shardPath(String shard) {
+		return SHARD_DIRECTORY.resolve(shard).resolve(SHARD_FILE);
+	}
+}
@@ -0,0 +1,25 @@
+package com.zoi4erom.animalnetworkbook.persistence.store;
+
+/**
+ * The persistence backends a {@link Repository} can be served from, selected with the
+ * {@code storage.backend} configuration key.
+ */
+public enum StorageBackend {
+	/**
+	 * All entities are held in memory by an {@link EntityStore} and persisted to the JSON files.
+	 */
+	RESIDENT,
+	/**
+	 * Entities are read from and written to the JSON files on every access by a {@link JsonFileStore}.
+	 */
+	JSON,
+	/**
+	 * Entities are seeded from the JSON files into an {@link InMemoryStore} and never written back.
+	 */
+	MEMORY,
+	/**
+	 * Entities are kept in binary, memory-mapped record files by a {@link MappedRecordStore} and read
+	 * on demand.
+	 */
+	MAPPED
+}
@@ -0,0 +1,209 @@
+package com.zoi4erom.animalnetworkbook.persistence.store;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * Storage settings read from the {@code storage.*} keys of the application configuration file.
+ * <p>
+ * Every setting has a default, so the storage layer works without any of these keys being present.
+ */
+public final class StorageConfig {
+
+	private static final String CONFIG_FILE = "config.properties";
+	private static final Properties properties = loadProperties();
+
+	private StorageConfig() {
+	}
+
+	/**
+	 * Loads the configuration properties, falling back to an empty set if the file is not on the
+	 * classpath.
+	 *
+	 * @return properties loaded from the configuration file
+	 */
+	private static Properties loadProperties() {
+		Properties props = new Properties();
+		try (InputStream input = StorageConfig.class.getClassLoader().getResourceAsStream(CONFIG_FILE)) {
+			if (input != null) {
+				props.load(input);
+			}
+		} catch (IOException e) {
+			throw new RuntimeException("Failed to load configuration file " + CONFIG_FILE, e);
+		}
+		return props;
+	}
+
+	/**
+	 * Gets the backend serving the repositories.
+	 *
+	 * @return the configured backend, or {@link StorageBackend#RESIDENT} if none or an unknown one is set
+	 */
+	public static StorageBackend backend() {
+		String value = getString("storage.backend", StorageBackend.RESIDENT.name());
+		for (StorageBackend backend : StorageBackend.values()) {
+			if (backend.name().equalsIgnoreCase(value)) {
+				return backend;
+			}
+		}
+		return StorageBackend.RESIDENT;
+	}
+
+	/**
+	 * Checks whether every mutation of a memory-mapped record store is forced to disk before it returns.
+	 *
+	 * @return true if mapped record writes are synchronous
+	 */
+	public static boolean mappedSync() {
+		return getBoolean("storage.mapped.sync", true);
+	}
+
+	/**
+	 * Checks whether the JSON backend keeps the animals of each shelter in a separate file.
+	 *
+	 * @return true if animal files are sharded by shelter
+	 */
+	public static boolean jsonSharded() {
+		return getBoolean("storage.json.sharded", false);
+	}
+
+	/**
+	 * Checks whether mutations are recorded in a write-ahead journal instead of rewriting the data files.
+	 *
+	 * @return true if the journal is enabled
+	 */
+	public static boolean journalEnabled() {
+		return getBoolean("storage.journal.enabled", true);
+	}
+
+	/**
+	 * Checks whether every journal record is forced to disk before the mutation returns.
+	 *
+	 * @return true if journal appends are synchronous
+	 */
+	public static boolean journalSync() {
+		return getBoolean("storage.journal.sync", true);
+	}
+
+	/**
+	 * Gets the journal size, in bytes, at which it is folded into a new snapshot.
+	 *
+	 * @return the compaction size threshold
+	 */
+	public static long compactionBytes() {
+		return getLong("storage.journal.compaction.bytes", 1024 * 1024);
+	}
+
+	/**
+	 * Gets the ratio of journal records to stored entities at which the journal is folded into a new
+	 * snapshot.
+	 *
+	 * @return the compaction ratio threshold
+	 */
+	public static double compactionRatio() {
+		return getDouble("storage.journal.compaction.ratio", 0.5);
+	}
+
+	/**
+	 * Gets the number of journal records below which the ratio threshold is not applied.
+	 *
+	 * @return the minimal number of records for a ratio-triggered compaction
+	 */
+	public static int compactionMinRecords() {
+		return (int) getLong("storage.journal.compaction.minRecords", 64);
+	}
+
+	/**
+	 * Checks whether mutations are buffered and coalesced before they are written to the backend. Off
+	 * unless enabled, since mutations still buffered when the process crashes are lost.
+	 *
+	 * @return true if writes are deferred to a write-behind buffer
+	 */
+	public static boolean writeBehindEnabled() {
+		return getBoolean("storage.writeBehind.enabled", false);
+	}
+
+	/**
+	 * Gets the longest time a mutation stays in the write-behind buffer.
+	 *
+	 * @return the flush delay in milliseconds
+	 */
+	public static long writeBehindDelay() {
+		return getLong("storage.writeBehind.delayMs", 50);
+	}
+
+	/**
+	 * Gets the number of buffered entities at which the write-behind buffer is flushed at once.
+	 *
+	 * @return the maximal number of buffered entities
+	 */
+	public static int writeBehindMaxOps() {
+		return (int) getLong("storage.writeBehind.maxOps", 1000);
+	}
+
+	/**
+	 * Checks whether a binary copy of each snapshot is kept for faster loading.
+	 *
+	 * @return true if binary snapshots are enabled
+	 */
+	public static boolean binarySnapshotEnabled() {
+		return getBoolean("storage.snapshot.binary", true);
+	}
+
+	/**
+	 * Gets a boolean property.
+	 *
+	 * @param key          the property key
+	 * @param defaultValue the value used when the key is missing
+	 * @return the property value
+	 */
+	static boolean getBoolean(String key, boolean defaultValue) {
+		String value = properties.getProperty(key);
+		return value != null ? Boolean.parseBoolean(value.trim()) : defaultValue;
+	}
+
+	/**
+	 * Gets a long property.
+	 *
+	 * @param key          the property key
+	 * @param defaultValue the value used when the key is missing or malformed
+	 * @return the property value
+	 */
+	static long getLong(String key, long defaultValue) {
+		String value = properties.getProperty(key);
+		try {
+			return value != null ? Long.parseLong(value.trim()) : defaultValue;
+		} catch (NumberFormatException e) {
+			return defaultValue;
+		}
+	}
+
+	/**
+	 * Gets a double property.
+	 *
+	 * @param key          the property key
+	 * @param defaultValue the value used when the key is missing or malformed
+	 * @return the property value
+	 */
+	static double getDouble(String key, double defaultValue) {
+		String value = properties.getProperty(key);
+		try {
+			return value != null ? Double.parseDouble(value.trim()) : defaultValue;
+		} catch (NumberFormatException e) {
+			return defaultValue;
+		}
+	}
+
+	/**
+	 * Gets a string property.
+	 *
+	 * @param key          the property key
+	 * @param defaultValue the value used when the key is missing
+	 * @return the property value
+	 */
+	static String getString(String key, String defaultValue) {
+		String value = properties.getProperty(key);
+		return value != null ? value.trim() : defaultValue;
+	}
+}
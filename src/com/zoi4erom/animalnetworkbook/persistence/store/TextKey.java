@@ -0,0 +1,30 @@
+package com.zoi4erom.animalnetworkbook.persistence.store;
+
+import java.text.Normalizer;
+import java.util.Locale;
+
+/**
+ * Normalization of text values into index keys, so that values differing only in letter case or in
+ * Unicode composition, such as "Кіт", "КІТ" and "Кїт"-style decomposed forms, share a key.
+ */
+public final class TextKey {
+
+	private TextKey() {
+	}
+
+	/**
+	 * Folds a text value into its index key: the value is normalized to Unicode NFC, then case-folded
+	 * by mapping it to upper case and back to lower case, which also folds characters whose lower
+	 * and upper case forms do not map back to each other.
+	 *
+	 * @param text The text value, possibly null.
+	 * @return The index key, or null for a null value.
+	 */
+	public static String fold(String text) {
+		if (text == null) {
+			return null;
+		}
+		String normalized = Normalizer.normalize(text, Normalizer.Form.NFC);
+		return Normalizer.normalize(normalized.toUpperCase(Locale.ROOT).toLowerCase(Locale.ROOT), Normalizer.Form.NFC);
+	}
+}
@@ -0,0 +1,113 @@
+package com.zoi4erom.animalnetworkbook.persistence.store;
+
+import com.zoi4erom.animalnetworkbook.persistence.entity.Entity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A set of mutations across one or more {@link Repository Repositories} that is committed atomically.
+ * <p>
+ * On {@link #commit()}, all mutations are first written to a single redo intent file and forced to
+ * disk; only then are they applied to the stores. A crash after that point is repaired at the next
+ * startup by replaying the intent, so either every mutation of the transaction survives or none does.
+ * Transactions committed concurrently are grouped, paying one intent write and one force per store
+ * for the whole group.
+ */
+public final class Transaction {
+
+	private final List<Change> changes = new ArrayList<>();
+	private final CompletableFuture<Void> completion = new CompletableFuture<>();
+	private boolean committed;
+
+	/**
+	 * Adds the insertion or replacement of an entity to the transaction.
+	 *
+	 * @param repository The repository of the entity.
+	 * @param entity     The entity to save.
+	 * @param <T>        The type of the entity.
+	 * @return This transaction.
+	 */
+	public <T extends Entity> Transaction save(Repository<T> repository, T entity) {
+		checkNotCommitted();
+		changes.add(new Change(store(repository), Mutation.upsert(entity)));
+		return this;
+	}
+
+	/**
+	 * Adds the deletion of an entity to the transaction.
+	 *
+	 * @param repository The repository of the entity.
+	 * @param id         The identifier of the entity to delete.
+	 * @return This transaction.
+	 */
+	public Transaction delete(Repository<?> repository, UUID id) {
+		checkNotCommitted();
+		changes.add(new Change(store(repository), Mutation.delete(id)));
+		return this;
+	}
+
+	/**
+	 * Commits the transaction, returning once all of its mutations are durable and applied.
+	 */
+	public void commit() {
+		checkNotCommitted();
+		committed = true;
+		if (changes.isEmpty()) {
+			return;
+		}
+		GroupCommitter.commit(this);
+	}
+
+	/**
+	 * Gets the mutations of the transaction, in the order they were added.
+	 *
+	 * @return The changes of the transaction.
+	 */
+	List<Change> changes() {
+		return changes;
+	}
+
+	/**
+	 * Gets the future completed once the transaction is committed.
+	 *
+	 * @return The completion of the transaction.
+	 */
+	CompletableFuture<Void> completion() {
+		return completion;
+	}
+
+	/**
+	 * Ensures that the transaction can still be modified or committed.
+	 */
+	private void checkNotCommitted() {
+		if (committed) {
+			throw new IllegalStateException("Transaction is already committed");
+		}
+	}
+
+	/**
+	 * Gets the store behind a repository.
+	 *
+	 * @param repository The repository obtained from {@link Repositories}.
+	 * @return The store implementing the repository.
+	 */
+	private static AbstractStore<?> store(Repository<?> repository) {
+		if (repository instanceof AbstractStore<?> store) {
+			return store;
+		}
+		throw new IllegalArgumentException("Repository %s does not support transactions"
+		    .formatted(repository.getClass().getName()));
+	}
+
+	/**
+	 * A mutation of one store.
+	 *
+	 * @param store    The store to mutate.
+	 * @param mutation The mutation.
+	 */
+	record Change(AbstractStore<?> store, Mutation mutation) {
+	}
+}
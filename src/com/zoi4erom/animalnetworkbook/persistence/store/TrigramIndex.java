@@ -0,0 +1,351 @@
+package com.zoi4erom.animalnetworkbook.persistence.store;
+
+import com.zoi4erom.animalnetworkbook.persistence.entity.Entity;
+import com.zoi4erom.animalnetworkbook.persistence.jsonhandler.JsonPaths;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Full-text index of entities over several text fields, with ranked, prefix and fuzzy matching.
+ * <p>
+ * The fields are split into words, folded as by {@link TextKey} with apostrophes dropped, so that
+ * "Мар'яна" and "марʼяна" are the same word. Every word is broken into trigrams, padded in front so
+ * that the first trigrams of a word are also the trigrams of its prefixes, and each trigram maps to
+ * the entities having a word with it. A query word is matched against the words of the entities
+ * sharing at least one of its trigrams: an exact match ranks above a prefix match, which ranks above a
+ * match within a Levenshtein distance bounded by the length of the query word. Every query word must
+ * match some word of an entity, and the scores of the query words, weighted by the field they match
+ * in, add up to the rank of the entity.
+ *
+ * @param <T> The type of indexed entities.
+ */
+public final class TrigramIndex<T extends Entity> extends EntityIndex<T> {
+
+	private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+	private static final Pattern APOSTROPHES = Pattern.compile("['’ʼ`]");
+	private static final String PADDING = "$$";
+	private static final double EXACT_SCORE = 3;
+	private static final double PREFIX_SCORE = 2;
+	private static final double FUZZY_SCORE = 1.5;
+
+	private final List<Field<T>> fields;
+	private final Map<String, Set<UUID>> idsByTrigram = new HashMap<>();
+	private final Map<UUID, String[][]> wordsById = new HashMap<>();
+
+	/**
+	 * Constructs a full-text index of the entities of a JSON file over several text fields.
+	 *
+	 * @param jsonPaths The JSON file the indexed entities belong to.
+	 * @param fields    The fields to index, with their weights in the rank.
+	 */
+	TrigramIndex(JsonPaths jsonPaths, List<Field<T>> fields) {
+		super(jsonPaths);
+		this.fields = List.copyOf(fields);
+	}
+
+	/**
+	 * Searches the entities matching every word of a query, exactly, by prefix, or within a small
+	 * edit distance.
+	 *
+	 * @param query The words to search for.
+	 * @param limit The maximal number of results.
+	 * @return The identifiers of the matching entities, best match first.
+	 */
+	public List<UUID> search(String query, int limit) {
+		List<String> queryWords = words(query);
+		if (queryWords.isEmpty() || limit <= 0) {
+			return List.of();
+		}
+		return read(() -> {
+			Set<UUID> candidates = null;
+			for (String word : queryWords) {
+				Set<UUID> wordCandidates = candidates(word);
+				if (candidates == null || wordCandidates.size() < candidates.size()) {
+					candidates = wordCandidates;
+				}
+			}
+
+			PriorityQueue<Match> best = new PriorityQueue<>(Comparator.comparingDouble(Match::score));
+			for (UUID id : candidates) {
+				double score = score(queryWords, wordsById.get(id));
+				if (score > 0 && (best.size() < limit || score > best.peek().score())) {
+					best.add(new Match(id, score));
+					if (best.size() > limit) {
+						best.poll();
+					}
+				}
+			}
+			List<Match> matches = new ArrayList<>(best);
+			matches.sort(Comparator.comparingDouble(Match::score).reversed());
+			return matches.stream().map(Match::id).toList();
+		});
+	}
+
+	/**
+	 * Adds the words of the fields of an entity under their trigrams.
+	 *
+	 * @param entity The entity to add.
+	 */
+	@Override
+	void index(T entity) {
+		String[][] words = new String[fields.size()][];
+		for (int i = 0; i < fields.size(); i++) {
+			words[i] = words(fields.get(i).text().apply(entity)).toArray(String[]::new);
+			for (String word : words[i]) {
+				for (String trigram : trigrams(word)) {
+					idsByTrigram.computeIfAbsent(trigram, t -> new HashSet<>()).add(entity.getId());
+				}
+			}
+		}
+		wordsById.put(entity.getId(), words);
+	}
+
+	/**
+	 * Removes an entity from the trigrams of the words it was added with.
+	 *
+	 * @param id The identifier of the entity to remove.
+	 */
+	@Override
+	void unindex(UUID id) {
+		String[][] words = wordsById.remove(id);
+		if (words == null) {
+			return;
+		}
+		for (String[] fieldWords : words) {
+			for (String word : fieldWords) {
+				for (String trigram : trigrams(word)) {
+					Set<UUID> ids = idsByTrigram.get(trigram);
+					if (ids != null) {
+						ids.remove(id);
+						if (ids.isEmpty()) {
+							idsByTrigram.remove(trigram);
+						}
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Removes all trigrams.
+	 */
+	@Override
+	void reset() {
+		idsByTrigram.clear();
+		wordsById.clear();
+	}
+
+	/**
+	 * Collects the entities that may match a query word. A word within the allowed edit distance of
+	 * the query word shares all but {@code 3 * distance} of its trigrams, and a word it is a prefix of
+	 * shares all but its last trigram, so a match must have at least one of the rarest trigrams left
+	 * once that many are set aside, and must have as many trigrams in common overall. Must be called
+	 * under the read lock.
+	 *
+	 * @param word The folded query word.
+	 * @return The candidate entities, to be verified by {@link #score(List, String[][])}.
+	 */
+	private Set<UUID> candidates(String word) {
+		List<Set<UUID>> postings = new ArrayList<>();
+		for (String trigram : trigrams(word)) {
+			postings.add(idsByTrigram.getOrDefault(trigram, Set.of()));
+		}
+		postings.sort(Comparator.comparingInt(Set::size));
+		int mayMiss = Math.max(1, Math.min(3 * maxDistance(word), postings.size() - 1));
+		Set<UUID> candidates = new HashSet<>();
+		for (Set<UUID> posting : postings.subList(0, mayMiss + 1)) {
+			for (UUID id : posting) {
+				if (!candidates.contains(id) && sharedTrigrams(id, postings) >= postings.size() - mayMiss) {
+					candidates.add(id);
+				}
+			}
+		}
+		return candidates;
+	}
+
+	/**
+	 * Counts the trigrams of a query word an entity has.
+	 *
+	 * @param id       The identifier of the entity.
+	 * @param postings The entities having each trigram of the query word.
+	 * @return The number of trigrams of the query word the entity has.
+	 */
+	private static int sharedTrigrams(UUID id, List<Set<UUID>> postings) {
+		int shared = 0;
+		for (Set<UUID> posting : postings) {
+			if (posting.contains(id)) {
+				shared++;
+			}
+		}
+		return shared;
+	}
+
+	/**
+	 * Ranks an entity against the words of a query.
+	 *
+	 * @param queryWords The folded words of the query.
+	 * @param words      The folded words of each field of the entity.
+	 * @return The sum over the query words of their best weighted score, or 0 if a query word matches
+	 *         no word of the entity.
+	 */
+	private double score(List<String> queryWords, String[][] words) {
+		double total = 0;
+		for (String queryWord : queryWords) {
+			double best = 0;
+			for (int i = 0; i < words.length; i++) {
+				for (String word : words[i]) {
+					best = Math.max(best, fields.get(i).weight() * score(queryWord, word));
+				}
+			}
+			if (best == 0) {
+				return 0;
+			}
+			total += best;
+		}
+		return total;
+	}
+
+	/**
+	 * Scores a word against a query word: exact matches score highest, then prefix matches, favoring
+	 * words the query covers more of, then matches within the edit distance allowed for the query word.
+	 *
+	 * @param queryWord The folded query word.
+	 * @param word      The folded indexed word.
+	 * @return The score, or 0 if the word does not match.
+	 */
+	private static double score(String queryWord, String word) {
+		if (word.equals(queryWord)) {
+			return EXACT_SCORE;
+		}
+		if (word.startsWith(queryWord)) {
+			return PREFIX_SCORE * (1 + (double) queryWord.length() / word.length()) / 2;
+		}
+		int maxDistance = maxDistance(queryWord);
+		int distance = levenshtein(queryWord, word, maxDistance);
+		return distance <= maxDistance && maxDistance > 0 ? FUZZY_SCORE / (distance + 1) : 0;
+	}
+
+	/**
+	 * Gets the edit distance tolerated for a query word: none for words of up to two letters, one typo
+	 * for words of up to seven letters, and two beyond.
+	 *
+	 * @param queryWord The folded query word.
+	 * @return The maximal Levenshtein distance of a fuzzy match.
+	 */
+	private static int maxDistance(String queryWord) {
+		return queryWord.length() <= 2 ? 0 : queryWord.length() <= 7 ? 1 : 2;
+	}
+
+	/**
+	 * Computes the Levenshtein distance between two words, giving up once it exceeds a bound.
+	 *
+	 * @param a   The first word.
+	 * @param b   The second word.
+	 * @param max The bound on the distance.
+	 * @return The distance, or {@code max + 1} if it exceeds the bound.
+	 */
+	static int levenshtein(String a, String b, int max) {
+		if (Math.abs(a.length() - b.length()) > max) {
+			return max + 1;
+		}
+		int[] previous = new int[b.length() + 1];
+		int[] current = new int[b.length() + 1];
+		for (int j = 0; j <= b.length(); j++) {
+			previous[j] = j;
+		}
+		for (int i = 1; i <= a.length(); i++) {
+			current[0] = i;
+			int rowMinimum = current[0];
+			for (int j = 1; j <= b.length(); j++) {
+				int substitution = previous[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+				current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+				rowMinimum = Math.min(rowMinimum, current[j]);
+			}
+			if (rowMinimum > max) {
+				return max + 1;
+			}
+			int[] swap = previous;
+			previous = current;
+			current = swap;
+		}
+		return Math.min(previous[b.length()], max + 1);
+	}
+
+	/**
+	 * Splits a text into folded words, dropping apostrophes within words.
+	 *
+	 * @param text The text, possibly null.
+	 * @return The non-empty folded words of the text.
+	 */
+	private static List<String> words(String text) {
+		if (text == null) {
+			return List.of();
+		}
+		String folded = APOSTROPHES.matcher(TextKey.fold(text)).replaceAll("");
+		List<String> words = new ArrayList<>();
+		for (String word : WORD_SEPARATOR.split(folded)) {
+			if (!word.isEmpty()) {
+				words.add(word);
+			}
+		}
+		return words;
+	}
+
+	/**
+	 * Breaks a word into trigrams, padded so that a prefix of the word yields the leading trigrams of
+	 * the word, and its last letters form a trigram of their own.
+	 *
+	 * @param word The folded word.
+	 * @return The distinct trigrams of the word.
+	 */
+	private static Set<String> trigrams(String word) {
+		String padded = PADDING + word + "$";
+		Set<String> trigrams = new LinkedHashSet<>();
+		for (int i = 0; i + 3 <= padded.length(); i++) {
+			trigrams.add(padded.substring(i, i + 3));
+		}
+		return trigrams;
+	}
+
+	/**
+	 * Creates an indexed text field.
+	 *
+	 * @param text   The function reading the text of the field.
+	 * @param weight The weight of matches in the field.
+	 * @param <T>    The type of indexed entities.
+	 * @return The field.
+	 */
+	static <T extends Entity> Field<T> field(Function<? super T, String> text, double weight) {
+		return new Field<>(text, weight);
+	}
+
+	/**
+	 * An indexed text field.
+	 *
+	 * @param text   The function reading the text of the field.
+	 * @param weight The weight of matches in the field.
+	 * @param <T>    The type of indexed entities.
+	 */
+	record Field<T extends Entity>(Function<? super T, String> text, double weight) {
+	}
+
+	/**
+	 * A matching entity and its rank.
+	 *
+	 * @param id    The identifier of the entity.
+	 * @param score The rank of the entity.
+	 */
+	private record Match(UUID id, double score) {
+	}
+}
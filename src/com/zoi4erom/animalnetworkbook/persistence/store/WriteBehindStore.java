@@ -0,0 +1,461 @@
+package com.zoi4erom.animalnetworkbook.persistence.store;
+
+import com.zoi4erom.animalnetworkbook.persistence.entity.Entity;
+import com.zoi4erom.animalnetworkbook.persistence.jsonhandler.JsonPaths;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Write-behind buffer in front of the store of one {@link JsonPaths} file.
+ * <p>
+ * Mutations are buffered and coalesced per entity, so that an entity saved several times in a row is
+ * written once, and the buffer is flushed to the underlying store as a single batch at most
+ * {@link StorageConfig#writeBehindDelay()} milliseconds after its first mutation, or as soon as it
+ * holds {@link StorageConfig#writeBehindMaxOps()} entities. Insertions of new entities are not
+ * buffered but passed straight to the underlying store, which can append them to its file. Reads see
+ * buffered mutations. The buffers are flushed before a transaction is applied, and at shutdown, so
+ * buffered mutations are lost if the process crashes; callers that need a mutation to be durable
+ * before going on call {@link #flush()}.
+ *
+ * @param <T> The type of entities kept in the store.
+ */
+public final class WriteBehindStore<T extends Entity> extends AbstractStore<T> {
+
+	private static final Map<JsonPaths, WriteBehindStore<?>> stores = new EnumMap<>(JsonPaths.class);
+	private static final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "write-behind");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private final AbstractStore<T> delegate;
+	private final long delay;
+	private final int maxOps;
+	private final Map<UUID, Mutation> pending = new LinkedHashMap<>();
+	private final Map<UUID, Mutation> inFlight = new LinkedHashMap<>();
+	private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+	private WriteBehindStore(AbstractStore<T> delegate) {
+		super(delegate.jsonPaths, delegate.entityClass);
+		this.delegate = delegate;
+		this.delay = StorageConfig.writeBehindDelay();
+		this.maxOps = StorageConfig.writeBehindMaxOps();
+	}
+
+	/**
+	 * Gets the write-behind buffer in front of the specified store, creating it on first use. The
+	 * shutdown hook flushing the buffers is registered along with the first buffer.
+	 *
+	 * @param delegate The store the buffered mutations are flushed to.
+	 * @param <T>      The type of entities.
+	 * @return The process-wide buffer for the JSON file of the store.
+	 */
+	@SuppressWarnings("unchecked")
+	static <T extends Entity> WriteBehindStore<T> of(AbstractStore<T> delegate) {
+		synchronized (stores) {
+			if (stores.isEmpty()) {
+				Runtime.getRuntime().addShutdownHook(new Thread(WriteBehindStore::flushAll, "write-behind-flush"));
+			}
+			return (WriteBehindStore<T>) stores.computeIfAbsent(delegate.jsonPaths,
+			    path -> new WriteBehindStore<>(delegate));
+		}
+	}
+
+	/**
+	 * Flushes the buffers of all stores. Called at shutdown, and before the stores are closed.
+	 */
+	static void flushAll() {
+		List<WriteBehindStore<?>> buffered;
+		synchronized (stores) {
+			buffered = new ArrayList<>(stores.values());
+		}
+		for (WriteBehindStore<?> store : buffered) {
+			try {
+				store.flush();
+			} catch (RuntimeException e) {
+				System.err.println("Flushing %s failed: %s".formatted(store.jsonPaths.getPath(), e.getMessage()));
+			}
+		}
+	}
+
+	/**
+	 * Retrieves all entities, with the buffered mutations applied.
+	 *
+	 * @return A mutable list of all entities.
+	 */
+	@Override
+	public List<T> findAll() {
+		Map<UUID, Mutation> overlay = overlay();
+		List<T> entities = delegate.findAll();
+		if (overlay.isEmpty()) {
+			return entities;
+		}
+		Map<UUID, T> merged = new LinkedHashMap<>();
+		for (T entity : entities) {
+			merged.put(entity.getId(), entity);
+		}
+		for (Mutation mutation : overlay.values()) {
+			if (mutation.isDelete()) {
+				merged.remove(mutation.id());
+			} else {
+				merged.put(mutation.id(), entityClass.cast(mutation.entity()));
+			}
+		}
+		return new ArrayList<>(merged.values());
+	}
+
+	/**
+	 * Finds an entity by its identifier, in the buffer first.
+	 *
+	 * @param id The identifier of the entity.
+	 * @return The entity with the specified identifier, or null if not found.
+	 */
+	@Override
+	public T findById(UUID id) {
+		Mutation mutation = buffered(id);
+		if (mutation == null) {
+			return delegate.findById(id);
+		}
+		return mutation.isDelete() ? null : entityClass.cast(mutation.entity());
+	}
+
+	/**
+	 * Finds the entities with the specified identifiers, in the buffer first, and looks the others up
+	 * in the underlying store as a batch.
+	 *
+	 * @param ids The identifiers of the entities.
+	 * @return A mutable list of the entities found, in the order of the identifiers.
+	 */
+	@Override
+	public List<T> findAllById(Collection<UUID> ids) {
+		Map<UUID, Mutation> overlay = overlay();
+		if (overlay.isEmpty()) {
+			return delegate.findAllById(ids);
+		}
+		List<UUID> missing = new ArrayList<>();
+		for (UUID id : ids) {
+			if (!overlay.containsKey(id)) {
+				missing.add(id);
+			}
+		}
+		Map<UUID, T> found = new LinkedHashMap<>();
+		for (T entity : delegate.findAllById(missing)) {
+			found.put(entity.getId(), entity);
+		}
+		List<T> result = new ArrayList<>(ids.size());
+		for (UUID id : ids) {
+			Mutation mutation = overlay.get(id);
+			T entity = mutation == null ? found.get(id)
+			    : mutation.isDelete() ? null : entityClass.cast(mutation.entity());
+			if (entity != null) {
+				result.add(entity);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Finds the first entity matching the specified predicate.
+	 *
+	 * @param predicate The condition to match.
+	 * @return The first matching entity, or null if none matches.
+	 */
+	@Override
+	public T findFirst(Predicate<? super T> predicate) {
+		if (isEmpty()) {
+			return delegate.findFirst(predicate);
+		}
+		return findAll().stream().filter(predicate).findFirst().orElse(null);
+	}
+
+	/**
+	 * Finds all entities matching the specified predicate.
+	 *
+	 * @param predicate The condition to match.
+	 * @return A mutable list of the matching entities.
+	 */
+	@Override
+	public List<T> filter(Predicate<? super T> predicate) {
+		if (isEmpty()) {
+			return delegate.filter(predicate);
+		}
+		List<T> result = findAll();
+		result.removeIf(predicate.negate());
+		return result;
+	}
+
+	/**
+	 * Streams the entities, with the buffered mutations applied.
+	 *
+	 * @return A sequential stream of the entities, which the caller must close.
+	 */
+	@Override
+	public Stream<T> scan() {
+		if (isEmpty()) {
+			return delegate.scan();
+		}
+		return findAll().stream();
+	}
+
+	/**
+	 * Gets the number of entities, flushing the buffer first.
+	 *
+	 * @return The number of entities.
+	 */
+	@Override
+	public int size() {
+		flush();
+		return delegate.size();
+	}
+
+	/**
+	 * Inserts a new entity into the underlying store, after flushing the buffer if it holds a mutation
+	 * of the same entity.
+	 *
+	 * @param entity The entity to insert.
+	 */
+	@Override
+	public void insert(T entity) {
+		Lock lock = delegate.writeLock();
+		lock.lock();
+		try {
+			if (buffered(entity.getId()) != null) {
+				flush();
+			}
+			delegate.insert(entity);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Buffers the insertion or replacement of an entity.
+	 *
+	 * @param entity The entity to save.
+	 */
+	@Override
+	public void save(T entity) {
+		buffer(List.of(Mutation.upsert(entity)));
+	}
+
+	/**
+	 * Buffers the insertion or replacement of several entities.
+	 *
+	 * @param updated The entities to save.
+	 */
+	@Override
+	public void saveAll(Collection<? extends T> updated) {
+		List<Mutation> mutations = new ArrayList<>(updated.size());
+		for (T entity : updated) {
+			mutations.add(Mutation.upsert(entity));
+		}
+		buffer(mutations);
+	}
+
+	/**
+	 * Buffers the deletion of the entity with the specified identifier.
+	 *
+	 * @param id The identifier of the entity to delete.
+	 * @return true if an entity was deleted, false otherwise.
+	 */
+	@Override
+	public boolean delete(UUID id) {
+		return deleteAll(List.of(id)) > 0;
+	}
+
+	/**
+	 * Buffers the deletion of the entities with the specified identifiers.
+	 *
+	 * @param ids The identifiers of the entities to delete.
+	 * @return The number of entities deleted.
+	 */
+	@Override
+	public int deleteAll(Collection<UUID> ids) {
+		List<Mutation> mutations = new ArrayList<>(ids.size());
+		for (T entity : findAllById(ids)) {
+			mutations.add(Mutation.delete(entity.getId()));
+		}
+		buffer(mutations);
+		return mutations.size();
+	}
+
+	/**
+	 * Flushes the buffer, then deletes all entities matching the specified predicate.
+	 *
+	 * @param predicate The condition for the entities to delete.
+	 * @return true if any entity was deleted, false otherwise.
+	 */
+	@Override
+	public boolean deleteIf(Predicate<? super T> predicate) {
+		flush();
+		return delegate.deleteIf(predicate);
+	}
+
+	/**
+	 * Writes the buffered mutations to the underlying store as a single batch, and returns once they
+	 * are as durable as the underlying store makes them.
+	 */
+	public void flush() {
+		Lock lock = delegate.writeLock();
+		lock.lock();
+		try {
+			List<Mutation> mutations;
+			synchronized (pending) {
+				if (pending.isEmpty()) {
+					return;
+				}
+				inFlight.putAll(pending);
+				pending.clear();
+				mutations = new ArrayList<>(inFlight.values());
+			}
+			List<String> records = new ArrayList<>(mutations.size());
+			for (Mutation mutation : mutations) {
+				records.add(delegate.encode(mutation));
+			}
+			try {
+				delegate.applyCommitted(mutations, records);
+			} catch (RuntimeException e) {
+				synchronized (pending) {
+					Map<UUID, Mutation> newer = new LinkedHashMap<>(pending);
+					pending.clear();
+					pending.putAll(inFlight);
+					pending.putAll(newer);
+					inFlight.clear();
+				}
+				throw e;
+			}
+			synchronized (pending) {
+				inFlight.clear();
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Gets the lock guarding the underlying store against concurrent mutation.
+	 *
+	 * @return The write lock of the underlying store.
+	 */
+	@Override
+	Lock writeLock() {
+		return delegate.writeLock();
+	}
+
+	/**
+	 * Flushes the buffer, then applies the mutations of a committed transaction to the underlying
+	 * store, so that they are applied after the mutations buffered before them.
+	 *
+	 * @param mutations The mutations to apply, in order.
+	 * @param records   The encoded mutations, in the same order.
+	 */
+	@Override
+	void applyCommitted(List<Mutation> mutations, List<String> records) {
+		Lock lock = delegate.writeLock();
+		lock.lock();
+		try {
+			flush();
+			delegate.applyCommitted(mutations, records);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Opens or loads the underlying store if that has not happened yet.
+	 */
+	@Override
+	void ensureLoaded() {
+		delegate.ensureLoaded();
+	}
+
+	/**
+	 * Adds mutations to the buffer, replacing earlier buffered mutations of the same entities, and
+	 * flushes the buffer once it is full or schedules its flush if it was empty.
+	 *
+	 * @param mutations The mutations to buffer.
+	 */
+	private void buffer(List<Mutation> mutations) {
+		if (mutations.isEmpty()) {
+			return;
+		}
+		delegate.ensureLoaded();
+		boolean full;
+		synchronized (pending) {
+			for (Mutation mutation : mutations) {
+				pending.remove(mutation.id());
+				pending.put(mutation.id(), mutation);
+			}
+			full = pending.size() >= maxOps;
+		}
+		if (full) {
+			flush();
+		} else if (flushScheduled.compareAndSet(false, true)) {
+			flusher.schedule(this::scheduledFlush, delay, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * Flushes the buffer on the flusher thread. A failed flush keeps the mutations buffered and is
+	 * retried after the next mutation.
+	 */
+	private void scheduledFlush() {
+		flushScheduled.set(false);
+		try {
+			flush();
+		} catch (RuntimeException e) {
+			System.err.println("Flushing %s failed: %s".formatted(jsonPaths.getPath(), e.getMessage()));
+		}
+	}
+
+	/**
+	 * Gets the buffered mutation of an entity, including one being flushed.
+	 *
+	 * @param id The identifier of the entity.
+	 * @return The latest buffered mutation of the entity, or null if none is buffered.
+	 */
+	private Mutation buffered(UUID id) {
+		synchronized (pending) {
+			Mutation mutation = pending.get(id);
+			return mutation != null ? mutation : inFlight.get(id);
+		}
+	}
+
+	/**
+	 * Copies the buffered mutations, including those being flushed. The copy must be taken before the
+	 * underlying store is read, so that no mutation is missed by a flush completing in between.
+	 *
+	 * @return The latest buffered mutation of each entity.
+	 */
+	private Map<UUID, Mutation> overlay() {
+		synchronized (pending) {
+			Map<UUID, Mutation> overlay = new LinkedHashMap<>(inFlight);
+			overlay.putAll(pending);
+			return overlay;
+		}
+	}
+
+	/**
+	 * Checks whether no mutation is buffered or being flushed.
+	 *
+	 * @return true if the buffer is empty.
+	 */
+	private boolean isEmpty() {
+		synchronized (pending) {
+			return pending.isEmpty() && inFlight.isEmpty();
+		}
+	}
+}